@@ -0,0 +1,76 @@
+package br.edu.senac.boraroleta.benchmark;
+
+import br.edu.senac.boraroleta.dto.LoginDTO;
+import br.edu.senac.boraroleta.dto.LoginResponseDTO;
+import br.edu.senac.boraroleta.dto.UsuarioDTO;
+import br.edu.senac.boraroleta.service.UsuarioService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code UsuarioService.autenticar} com diferentes custos de BCrypt
+ * ({@code seguranca.bcrypt.forca}). O custo dobra a cada ponto de força.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AutenticacaoBenchmark {
+
+    private static final String SENHA = "senha-do-benchmark";
+
+    @Param({"4", "10", "12"})
+    public int forca;
+
+    private ConfigurableApplicationContext contexto;
+    private UsuarioService service;
+    private LoginDTO loginValido;
+    private LoginDTO loginInvalido;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = ContextoBenchmark.iniciar("seguranca.bcrypt.forca=" + forca);
+        service = contexto.getBean(UsuarioService.class);
+        service.criar(new UsuarioDTO("Usuário Benchmark", "bench@exemplo.com", "123.456.789-09", null, SENHA));
+
+        loginValido = new LoginDTO();
+        loginValido.setEmail("bench@exemplo.com");
+        loginValido.setSenha(SENHA);
+
+        loginInvalido = new LoginDTO();
+        loginInvalido.setEmail("bench@exemplo.com");
+        loginInvalido.setSenha("errada");
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public LoginResponseDTO senhaCorreta() {
+        return service.autenticar(loginValido).join();
+    }
+
+    @Benchmark
+    public Throwable senhaIncorreta() {
+        // a senha errada também paga o BCrypt inteiro antes de falhar
+        return service.autenticar(loginInvalido).handle((r, ex) -> ex).join();
+    }
+}
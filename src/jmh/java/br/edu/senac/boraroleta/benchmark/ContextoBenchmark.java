@@ -0,0 +1,34 @@
+package br.edu.senac.boraroleta.benchmark;
+
+import br.edu.senac.boraroleta.BoraRoletaApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sobe a aplicação completa no perfil {@code test} (H2 em memória, Places stub)
+ * para os benchmarks que passam pelos services e repositórios reais.
+ */
+final class ContextoBenchmark {
+
+    private ContextoBenchmark() {
+    }
+
+    /**
+     * @param propriedades propriedades extras no formato {@code chave=valor}
+     */
+    static ConfigurableApplicationContext iniciar(String... propriedades) {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.profiles.active=test",
+                "--server.port=0",
+                "--spring.jpa.show-sql=false",
+                "--spring.h2.console.enabled=false",
+                "--logging.level.root=WARN"));
+        for (String p : propriedades) {
+            args.add("--" + p);
+        }
+        return new SpringApplication(BoraRoletaApplication.class).run(args.toArray(String[]::new));
+    }
+}
@@ -0,0 +1,57 @@
+package br.edu.senac.boraroleta.benchmark;
+
+import java.util.Random;
+
+/**
+ * Gerador determinístico de nomes, emails e CPFs para popular o H2.
+ * Mesma semente, mesmos dados: os resultados são comparáveis entre execuções.
+ */
+final class DadosSinteticos {
+
+    static final String[] NOMES = {
+            "Ana", "Bruno", "Carla", "Diego", "Elisa", "Fábio", "Gabriela", "Heitor", "Isabela", "João",
+            "Karina", "Lucas", "Mariana", "Nicolas", "Olívia", "Paulo", "Renata", "Sérgio", "Tatiane", "Vinícius"};
+
+    static final String[] SOBRENOMES = {
+            "Silva", "Santos", "Oliveira", "Souza", "Rodrigues", "Ferreira", "Alves", "Pereira", "Lima", "Gomes",
+            "Costa", "Ribeiro", "Martins", "Carvalho", "Almeida", "Lopes", "Soares", "Fernandes", "Vieira", "Barbosa"};
+
+    static final String[] PREFIXOS_LUGAR = {"Bar do", "Adega", "Boteco", "Pagode do", "Espaço", "Cantinho do"};
+
+    static final String[] CATEGORIAS = {"Adegas", "Pagodes", "Barzinhos", "Eventos"};
+
+    private final Random random = new Random(42);
+
+    String nome(int i) {
+        return NOMES[random.nextInt(NOMES.length)] + " " + SOBRENOMES[random.nextInt(SOBRENOMES.length)]
+                + " " + SOBRENOMES[i % SOBRENOMES.length];
+    }
+
+    static String email(String nome, int i) {
+        return nome.toLowerCase().replace(' ', '.') + i + "@exemplo.com";
+    }
+
+    /** CPF formatado (XXX.XXX.XXX-XX) único para cada i. */
+    static String cpf(int i) {
+        String d = String.format("%011d", (long) i * 7919L % 100_000_000_000L);
+        return d.substring(0, 3) + "." + d.substring(3, 6) + "." + d.substring(6, 9) + "-" + d.substring(9);
+    }
+
+    String nomeLugar(int i) {
+        return PREFIXOS_LUGAR[random.nextInt(PREFIXOS_LUGAR.length)] + " "
+                + NOMES[random.nextInt(NOMES.length)] + " " + i;
+    }
+
+    String categoria() {
+        return CATEGORIAS[random.nextInt(CATEGORIAS.length)];
+    }
+
+    /** Coordenada aleatória dentro de um quadrado de ~20 km na cidade de São Paulo. */
+    double latitude() {
+        return -23.65 + random.nextDouble() * 0.18;
+    }
+
+    double longitude() {
+        return -46.75 + random.nextDouble() * 0.2;
+    }
+}
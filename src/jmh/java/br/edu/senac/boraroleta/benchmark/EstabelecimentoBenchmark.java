@@ -0,0 +1,113 @@
+package br.edu.senac.boraroleta.benchmark;
+
+import br.edu.senac.boraroleta.dto.EstabelecimentoBuscaDTO;
+import br.edu.senac.boraroleta.dto.EstabelecimentoDTO;
+import br.edu.senac.boraroleta.dto.EstabelecimentoProximoDTO;
+import br.edu.senac.boraroleta.dto.EstabelecimentoRespostaDTO;
+import br.edu.senac.boraroleta.model.Estabelecimento;
+import br.edu.senac.boraroleta.repository.EstabelecimentoRepository;
+import br.edu.senac.boraroleta.service.EstabelecimentoService;
+import br.edu.senac.boraroleta.service.busca.EstabelecimentoNomeIndex;
+import br.edu.senac.boraroleta.service.geo.EstabelecimentoGeoIndex;
+import br.edu.senac.boraroleta.service.importacao.EstabelecimentoImportService;
+import br.edu.senac.boraroleta.service.importacao.LinhaImportacao;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Leituras de estabelecimentos: índices em memória, cache por categoria e a
+ * consulta ao banco com projeção versus entidade gerenciada.
+ * <p>
+ * Rodar com {@code -prof gc} para comparar a alocação por operação de
+ * {@link #categoriaEntidades()} e {@link #categoriaProjecao()}.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EstabelecimentoBenchmark {
+
+    @Param({"20000"})
+    public int estabelecimentos;
+
+    private ConfigurableApplicationContext contexto;
+    private EstabelecimentoService service;
+    private EstabelecimentoRepository repository;
+    private EntityManager entityManager;
+    private TransactionTemplate transactionTemplate;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = ContextoBenchmark.iniciar();
+        service = contexto.getBean(EstabelecimentoService.class);
+        repository = contexto.getBean(EstabelecimentoRepository.class);
+        entityManager = contexto.getBean(EntityManager.class);
+        transactionTemplate = contexto.getBean(TransactionTemplate.class);
+
+        DadosSinteticos dados = new DadosSinteticos();
+        List<LinhaImportacao> linhas = new ArrayList<>(estabelecimentos);
+        for (int i = 0; i < estabelecimentos; i++) {
+            EstabelecimentoDTO dto = new EstabelecimentoDTO(dados.nomeLugar(i), dados.categoria(),
+                    "Rua " + i + ", São Paulo - SP", dados.latitude(), dados.longitude());
+            linhas.add(new LinhaImportacao(i + 1, dto, null));
+        }
+        contexto.getBean(EstabelecimentoImportService.class).importar(linhas.iterator(), p -> { });
+        // o import já alimenta os índices, mas a carga completa é o caminho da subida da aplicação
+        contexto.getBean(EstabelecimentoNomeIndex.class).carregar();
+        contexto.getBean(EstabelecimentoGeoIndex.class).carregar();
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public List<EstabelecimentoBuscaDTO> buscaPorNome() {
+        return service.buscarPorNome("boteco joao", 20);
+    }
+
+    @Benchmark
+    public List<EstabelecimentoProximoDTO> buscaProximos() {
+        return service.buscarProximos(-23.5505, -46.6333, 2000, null, 50);
+    }
+
+    @Benchmark
+    public List<EstabelecimentoRespostaDTO> categoriaCache() {
+        return service.buscarPorCategoria("Pagodes");
+    }
+
+    @Benchmark
+    public List<EstabelecimentoRespostaDTO> categoriaProjecao() {
+        return repository.listarPorCategoria("Pagodes");
+    }
+
+    @Benchmark
+    public List<Estabelecimento> categoriaEntidades() {
+        return transactionTemplate.execute(status -> entityManager
+                .createQuery("SELECT e FROM Estabelecimento e WHERE e.categoria = :categoria", Estabelecimento.class)
+                .setParameter("categoria", "Pagodes")
+                .getResultList());
+    }
+}
@@ -0,0 +1,148 @@
+package br.edu.senac.boraroleta.benchmark;
+
+import br.edu.senac.boraroleta.config.FormatoBinario;
+import br.edu.senac.boraroleta.dto.EstabelecimentoMapaDTO;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * JSON contra {@link FormatoBinario} na lista de marcadores do mapa:
+ * tempo de codificação e de leitura. Os tamanhos (com e sem gzip) são
+ * impressos no setup. Não sobe o contexto Spring.
+ * <p>
+ * A leitura binária é uma cópia em Java de {@code js/formatoBinario.js}; a
+ * leitura JSON é o {@code readTree}, o equivalente do {@code JSON.parse}.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FormatoBinarioBenchmark {
+
+    @Param({"100", "10000"})
+    public int tamanho;
+
+    private final ObjectMapper mapper = JsonMapper.builder().findAndAddModules().build();
+
+    private List<EstabelecimentoMapaDTO> mapa;
+    private byte[] json;
+    private byte[] binario;
+
+    @Setup(Level.Trial)
+    public void iniciar() throws IOException {
+        DadosSinteticos dados = new DadosSinteticos();
+        mapa = new ArrayList<>(tamanho);
+        for (int i = 0; i < tamanho; i++) {
+            mapa.add(new EstabelecimentoMapaDTO((long) i + 1, dados.nomeLugar(i), dados.categoria(),
+                    dados.latitude(), dados.longitude()));
+        }
+        json = mapper.writeValueAsBytes(mapa);
+        binario = FormatoBinario.codificar(mapa);
+        System.out.printf("%n[tamanho=%d] JSON %d bytes (gzip %d), binário %d bytes (gzip %d)%n",
+                tamanho, json.length, gzip(json), binario.length, gzip(binario));
+    }
+
+    @Benchmark
+    public byte[] codificarJson() throws IOException {
+        return mapper.writeValueAsBytes(mapa);
+    }
+
+    @Benchmark
+    public byte[] codificarBinario() {
+        return FormatoBinario.codificar(mapa);
+    }
+
+    @Benchmark
+    public JsonNode lerJson() throws IOException {
+        return mapper.readTree(json);
+    }
+
+    @Benchmark
+    public List<EstabelecimentoMapaDTO> lerBinario() {
+        return decodificarMapa(binario);
+    }
+
+    private static int gzip(byte[] dados) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+            gz.write(dados);
+        }
+        return out.size();
+    }
+
+    /** Leitura do tipo 1 (mapa), na mesma ordem do decodificador JS. */
+    private static List<EstabelecimentoMapaDTO> decodificarMapa(byte[] bytes) {
+        int[] pos = {4};
+        if (bytes[3] == 0) {
+            return List.of();
+        }
+        int n = (int) varint(bytes, pos);
+        String[] categorias = new String[n + 1];
+        for (int i = 1; i <= n; i++) {
+            categorias[i] = texto(bytes, pos);
+        }
+        int total = (int) varint(bytes, pos);
+        List<EstabelecimentoMapaDTO> itens = new ArrayList<>(total);
+        long id = 0;
+        long lat = 0;
+        long lng = 0;
+        for (int i = 0; i < total; i++) {
+            id += zigzag(varint(bytes, pos));
+            String categoria = categorias[(int) varint(bytes, pos)];
+            lat += zigzag(varint(bytes, pos));
+            lng += zigzag(varint(bytes, pos));
+            itens.add(new EstabelecimentoMapaDTO(id, texto(bytes, pos), categoria, lat / 1e6, lng / 1e6));
+        }
+        return itens;
+    }
+
+    private static long varint(byte[] bytes, int[] pos) {
+        long valor = 0;
+        int deslocamento = 0;
+        byte b;
+        do {
+            b = bytes[pos[0]++];
+            valor |= (long) (b & 0x7F) << deslocamento;
+            deslocamento += 7;
+        } while (b < 0);
+        return valor;
+    }
+
+    private static long zigzag(long n) {
+        return (n >>> 1) ^ -(n & 1);
+    }
+
+    private static String texto(byte[] bytes, int[] pos) {
+        int tamanho = (int) varint(bytes, pos);
+        if (tamanho == 0) {
+            return null;
+        }
+        String texto = new String(bytes, pos[0], tamanho - 1, StandardCharsets.UTF_8);
+        pos[0] += tamanho - 1;
+        return texto;
+    }
+}
@@ -0,0 +1,85 @@
+package br.edu.senac.boraroleta.benchmark;
+
+import br.edu.senac.boraroleta.dto.EstabelecimentoMapaDTO;
+import br.edu.senac.boraroleta.dto.EstabelecimentoRespostaDTO;
+import br.edu.senac.boraroleta.model.Estabelecimento;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialização JSON da lista de estabelecimentos: entidade, DTO completo e
+ * DTO do mapa. Não sobe o contexto Spring.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializacaoBenchmark {
+
+    @Param({"100", "10000"})
+    public int tamanho;
+
+    private final ObjectMapper mapper = JsonMapper.builder().findAndAddModules().build();
+
+    private List<Estabelecimento> entidades;
+    private List<EstabelecimentoRespostaDTO> respostas;
+    private List<EstabelecimentoMapaDTO> mapa;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        DadosSinteticos dados = new DadosSinteticos();
+        entidades = new ArrayList<>(tamanho);
+        respostas = new ArrayList<>(tamanho);
+        mapa = new ArrayList<>(tamanho);
+        for (int i = 0; i < tamanho; i++) {
+            Estabelecimento e = new Estabelecimento();
+            e.setId((long) i + 1);
+            e.setNome(dados.nomeLugar(i));
+            e.setCategoria(dados.categoria());
+            e.setEndereco("Rua " + i + ", São Paulo - SP");
+            e.setLatitude(dados.latitude());
+            e.setLongitude(dados.longitude());
+            e.setTelefone("(11) 99999-0000");
+            e.setAvaliacaoMedia(4.2);
+            e.setGooglePlaceId("place-" + i);
+            entidades.add(e);
+            respostas.add(EstabelecimentoRespostaDTO.de(e));
+            mapa.add(new EstabelecimentoMapaDTO(e.getId(), e.getNome(), e.getCategoria(),
+                    e.getLatitude(), e.getLongitude()));
+        }
+    }
+
+    @Benchmark
+    public byte[] entidades() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(entidades);
+    }
+
+    @Benchmark
+    public byte[] respostas() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(respostas);
+    }
+
+    @Benchmark
+    public byte[] mapa() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(mapa);
+    }
+}
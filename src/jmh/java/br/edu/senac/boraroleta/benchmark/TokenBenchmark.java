@@ -0,0 +1,52 @@
+package br.edu.senac.boraroleta.benchmark;
+
+import br.edu.senac.boraroleta.service.seguranca.SessaoToken;
+import br.edu.senac.boraroleta.service.seguranca.TokenService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validação do token de sessão, executada em toda requisição autenticada.
+ * Não sobe o contexto Spring.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenBenchmark {
+
+    private TokenService service;
+    private String valido;
+    private String adulterado;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        service = new TokenService("segredo-do-benchmark", 720);
+        valido = service.assinar(service.emitir(42L, false));
+        adulterado = valido.substring(0, valido.length() - 2) + "xx";
+    }
+
+    @Benchmark
+    public Optional<SessaoToken> tokenValido() {
+        return service.validar(valido);
+    }
+
+    @Benchmark
+    public Optional<SessaoToken> assinaturaInvalida() {
+        return service.validar(adulterado);
+    }
+}
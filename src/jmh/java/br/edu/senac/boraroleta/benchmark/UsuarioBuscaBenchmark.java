@@ -0,0 +1,144 @@
+package br.edu.senac.boraroleta.benchmark;
+
+import br.edu.senac.boraroleta.dto.UsuarioRespostaDTO;
+import br.edu.senac.boraroleta.service.UsuarioService;
+import br.edu.senac.boraroleta.service.busca.TextoBusca;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code UsuarioService.buscar} (busca do Admin) sobre usuários gerados no H2.
+ * <p>
+ * Com {@code -p usuarios=1000000} reproduz o cenário de 1 milhão de linhas
+ * usado para avaliar a consulta ranqueada.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UsuarioBuscaBenchmark {
+
+    private static final String INSERT = """
+            INSERT INTO usuarios (id, nome, email, cpf, senha, is_admin, created_at,
+                                  cpf_normalizado, email_normalizado, nome_normalizado)
+            VALUES (?, ?, ?, ?, ?, FALSE, ?, ?, ?, ?)
+            """;
+
+    private static final String INSERT_SUFIXO =
+            "INSERT INTO usuarios_nome_sufixos (usuario_id, sufixo) VALUES (?, ?)";
+
+    @Param({"10000"})
+    public int usuarios;
+
+    private ConfigurableApplicationContext contexto;
+    private UsuarioService service;
+
+    private String emailExistente;
+    private String cpfExistente;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = ContextoBenchmark.iniciar();
+        service = contexto.getBean(UsuarioService.class);
+        popular(contexto.getBean(JdbcTemplate.class));
+        conferir();
+    }
+
+    /**
+     * Insere direto por JDBC, com as colunas normalizadas e os sufixos do nome
+     * calculados pelo mesmo {@link TextoBusca} que a entidade usa (e que o
+     * {@code UsuarioBuscaBackfill} aplica às linhas antigas).
+     */
+    private void popular(JdbcTemplate jdbc) {
+        DadosSinteticos dados = new DadosSinteticos();
+        Timestamp agora = Timestamp.valueOf(LocalDateTime.now());
+        long primeiroId = jdbc.queryForObject("SELECT COALESCE(MAX(id), 0) FROM usuarios", Long.class) + 1;
+        List<Object[]> lote = new ArrayList<>(5000);
+        List<Object[]> sufixos = new ArrayList<>(15000);
+        for (int i = 0; i < usuarios; i++) {
+            long id = primeiroId + i;
+            String nome = dados.nome(i);
+            String email = DadosSinteticos.email(nome, i);
+            String cpf = DadosSinteticos.cpf(i);
+            lote.add(new Object[] {id, nome, email, cpf, "x", agora,
+                    cpf.replaceAll("[^0-9]", ""), email, TextoBusca.dobrar(nome)});
+            for (String sufixo : TextoBusca.sufixosPorPalavra(nome)) {
+                sufixos.add(new Object[] {id, sufixo});
+            }
+            if (i == usuarios / 2) {
+                emailExistente = email;
+                cpfExistente = cpf;
+            }
+            if (lote.size() == 5000) {
+                jdbc.batchUpdate(INSERT, lote);
+                jdbc.batchUpdate(INSERT_SUFIXO, sufixos);
+                lote.clear();
+                sufixos.clear();
+            }
+        }
+        if (!lote.isEmpty()) {
+            jdbc.batchUpdate(INSERT, lote);
+            jdbc.batchUpdate(INSERT_SUFIXO, sufixos);
+        }
+    }
+
+    /** Cada cenário precisa achar alguém; uma busca vazia mediria só o índice. */
+    private void conferir() {
+        if (textoLivreNome().isEmpty() || prefixoNome().isEmpty() || prefixoEmail().isEmpty()
+                || emailExato().isEmpty() || cpfExato().isEmpty()) {
+            throw new IllegalStateException("Dados sintéticos não casam com todas as buscas do benchmark");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public List<UsuarioRespostaDTO> textoLivreNome() {
+        return service.buscar("mariana sou", null, null, null, 50);
+    }
+
+    @Benchmark
+    public List<UsuarioRespostaDTO> prefixoNome() {
+        return service.buscar(null, "ana", null, null, 50);
+    }
+
+    @Benchmark
+    public List<UsuarioRespostaDTO> prefixoEmail() {
+        return service.buscar(null, null, "lucas.", null, 50);
+    }
+
+    @Benchmark
+    public List<UsuarioRespostaDTO> emailExato() {
+        return service.buscar(null, null, emailExistente, null, 50);
+    }
+
+    @Benchmark
+    public List<UsuarioRespostaDTO> cpfExato() {
+        return service.buscar(null, null, null, cpfExistente, 50);
+    }
+}
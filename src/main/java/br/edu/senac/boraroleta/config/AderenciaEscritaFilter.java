@@ -0,0 +1,94 @@
+package br.edu.senac.boraroleta.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Leitura das próprias escritas quando há réplica configurada.
+ * <p>
+ * Ao confirmar uma transação de escrita, a thread passa a ler do primário
+ * pelos próximos {@code banco.replica.aderencia-ms} e a resposta recebe o
+ * cookie {@value #COOKIE} com o instante da escrita. Nas requisições
+ * seguintes do mesmo cliente o cookie é lido aqui e as leituras continuam no
+ * primário até a janela passar, cobrindo o atraso de replicação (ex.:
+ * cadastro seguido de login).
+ * </p>
+ *
+ * @author Equipe Bora Roleta - SENAC
+ * @version 1.0
+ */
+@Component
+@ConditionalOnExpression("!'${banco.replica.url:}'.isBlank() and ${banco.replica.aderencia-ms:2000} > 0")
+public class AderenciaEscritaFilter extends OncePerRequestFilter implements TransactionExecutionListener {
+
+    static final String COOKIE = "BR_ESCRITA";
+
+    @Value("${banco.replica.aderencia-ms:2000}")
+    private long aderenciaMs;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Long escrita = lerCookie(request);
+        if (escrita != null) {
+            RoteamentoDataSource.registrarEscrita(escrita, aderenciaMs);
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RoteamentoDataSource.limparEscrita();
+        }
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        if (transaction.isReadOnly() || commitFailure != null) {
+            return;
+        }
+        long agora = System.currentTimeMillis();
+        RoteamentoDataSource.registrarEscrita(agora, aderenciaMs);
+
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes atributos) {
+            HttpServletResponse response = atributos.getResponse();
+            if (response != null && !response.isCommitted()) {
+                Cookie cookie = new Cookie(COOKIE, Long.toString(agora));
+                cookie.setPath("/");
+                cookie.setHttpOnly(true);
+                cookie.setMaxAge((int) Math.max(1, (aderenciaMs + 999) / 1000));
+                response.addCookie(cookie);
+            }
+        }
+    }
+
+    private Long lerCookie(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return null;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE.equals(cookie.getName())) {
+                try {
+                    long instante = Long.parseLong(cookie.getValue());
+                    // o cliente não pode estender a janela com um valor no futuro
+                    return Math.min(instante, System.currentTimeMillis());
+                } catch (NumberFormatException ex) {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -1,47 +1,112 @@
 package br.edu.senac.boraroleta.config;
 
+import br.edu.senac.boraroleta.service.seguranca.TokenService;
 import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
 import javax.sql.DataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 @Configuration
 public class DataSourceConfig {
 
+    /** JDBC URL da réplica de leitura; vazio desliga o roteamento */
+    @Value("${banco.replica.url:}")
+    private String replicaUrl;
+
+    @Value("${banco.replica.username:}")
+    private String replicaUsuario;
+
+    @Value("${banco.replica.password:}")
+    private String replicaSenha;
+
+    @Value("${banco.replica.verificacao-ms:5000}")
+    private long verificacaoMs;
+
+    @Value("${banco.replica.timeout-conexao-ms:1000}")
+    private long timeoutConexaoMs;
+
     @Bean
     @Profile("prod")
-    public DataSource prodDataSource(DataSourceProperties props) {
-        return props.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    public DataSource prodDataSource(DataSourceProperties props, ObjectProvider<MeterRegistry> registry) {
+        HikariDataSource primario = props.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        return comReplica(primario, registry);
     }
 
     @Bean
     @Profile("test")
-    public DataSource testDataSource() {
-        HikariDataSource ds = new HikariDataSource();
-        ds.setJdbcUrl("jdbc:h2:mem:testdb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE");
-        ds.setUsername("sa");
-        ds.setPassword("");
-        ds.setDriverClassName("org.h2.Driver");
-        return ds;
+    public DataSource testDataSource(DataSourceProperties props, ObjectProvider<MeterRegistry> registry) {
+        // URL do application-test.properties; os testes de migração trocam por um H2 em modo MySQL
+        HikariDataSource ds = props.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        return comReplica(ds, registry);
+    }
+
+    /**
+     * Sem {@code banco.replica.url} devolve o próprio pool primário. Com ela,
+     * cria o pool da réplica e devolve o {@link RoteamentoDataSource}, que
+     * manda as transações readOnly para a réplica.
+     */
+    private DataSource comReplica(HikariDataSource primario, ObjectProvider<MeterRegistry> registry) {
+        if (replicaUrl == null || replicaUrl.isBlank()) {
+            return primario;
+        }
+        HikariDataSource replica = new HikariDataSource();
+        replica.setJdbcUrl(replicaUrl);
+        replica.setUsername(replicaUsuario.isBlank() ? primario.getUsername() : replicaUsuario);
+        replica.setPassword(replicaUsuario.isBlank() ? primario.getPassword() : replicaSenha);
+        replica.setDriverClassName(primario.getDriverClassName());
+        replica.setReadOnly(true);
+        // uma réplica fora do ar não pode segurar a leitura pelos 30 s padrão do Hikari
+        replica.setConnectionTimeout(timeoutConexaoMs);
+        replica.setPoolName("replica");
+        primario.setPoolName("primario");
+
+        // O binder do Actuator só enxerga o DataSource do contexto, então as métricas
+        // hikaricp.* dos dois pools são ligadas aqui (tag pool=primario|replica)
+        MeterRegistry meterRegistry = registry.getIfAvailable();
+        if (meterRegistry != null) {
+            primario.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        }
+        return new RoteamentoDataSource(primario, replica, verificacaoMs);
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder(){
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${seguranca.bcrypt.forca:10}") int forca){
+        return new BCryptPasswordEncoder(forca);
     }
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, TokenService tokenService) throws Exception {
         http
                 .csrf(csrf -> csrf.disable()) // libera POST no Postman
+                .sessionManagement(s -> s.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .addFilterBefore(new TokenAutenticacaoFilter(tokenService), UsernamePasswordAuthenticationFilter.class)
+                .exceptionHandling(e -> e.authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
                 .authorizeHttpRequests(auth -> auth
-                        .anyRequest().permitAll()  // libera todos os endpoints
+                        // cadastro é público; o resto de /api/usuarios é administração
+                        .requestMatchers(HttpMethod.POST, "/api/usuarios").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/usuarios/disponibilidade").permitAll()
+                        .requestMatchers("/api/usuarios/**").hasRole("ADMIN")
+                        .requestMatchers("/api/admin/**").hasRole("ADMIN")
+                        // carga em massa do catálogo
+                        .requestMatchers(HttpMethod.POST, "/api/estabelecimentos/import").hasRole("ADMIN")
+                        .requestMatchers("/api/auth/logout").authenticated()
+                        .anyRequest().permitAll()  // libera os demais endpoints
                 );
 
         return http.build();
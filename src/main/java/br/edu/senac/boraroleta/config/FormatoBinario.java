@@ -0,0 +1,242 @@
+package br.edu.senac.boraroleta.config;
+
+import br.edu.senac.boraroleta.dto.EstabelecimentoClusterDTO;
+import br.edu.senac.boraroleta.dto.EstabelecimentoMapaDTO;
+import br.edu.senac.boraroleta.dto.EstabelecimentoProximoDTO;
+import br.edu.senac.boraroleta.dto.EstabelecimentoRespostaDTO;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Representação binária compacta das listas de estabelecimentos do mapa
+ * ({@value #MEDIA_TYPE_VALUE}), decodificada no navegador por
+ * {@code js/formatoBinario.js}.
+ * <p>
+ * Layout (versão 1):
+ * </p>
+ * <pre>
+ * 'B' 'R' versão tipo
+ * varint n, n × texto              dicionário de categorias
+ * varint m, m × item               campos do tipo, na ordem abaixo
+ *
+ * 1 mapa:      id, categoria, lat, lng, nome
+ * 2 resposta:  id, categoria, lat, lng, nome, endereco, telefone, avaliacao, googlePlaceId, createdAt
+ * 3 próximos:  id, categoria, lat, lng, nome, endereco, avaliacao, distanciaMetros
+ * 4 clusters:  categoria, lat, lng, quantidade, id opcional
+ * </pre>
+ * <ul>
+ *   <li>{@code id}: varint zigzag da diferença para o ID anterior (listas por
+ *       ID viram sequências de 1 byte);</li>
+ *   <li>{@code lat}/{@code lng}: ponto fixo em milionésimos de grau (~11 cm),
+ *       varint zigzag da diferença para o item anterior;</li>
+ *   <li>{@code categoria}: índice no dicionário + 1 (0 = null);</li>
+ *   <li>texto: varint do tamanho em bytes + 1 (0 = null) e o UTF-8;</li>
+ *   <li>{@code avaliacao}: centésimos + 1 (0 = null); {@code createdAt}:
+ *       varint zigzag de milissegundos desde a época, lido como UTC, + 1
+ *       (0 = null); {@code id} opcional: ID + 1 (0 = null).</li>
+ * </ul>
+ * <p>
+ * Tipo 0 é a lista vazia, sem dicionário nem itens.
+ * </p>
+ *
+ * @author Equipe Bora Roleta - SENAC
+ * @version 1.0
+ */
+public final class FormatoBinario {
+
+    public static final String MEDIA_TYPE_VALUE = "application/x-boraroleta-bin";
+
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(MEDIA_TYPE_VALUE);
+
+    static final int VERSAO = 1;
+
+    static final int TIPO_VAZIA = 0;
+    static final int TIPO_MAPA = 1;
+    static final int TIPO_RESPOSTA = 2;
+    static final int TIPO_PROXIMOS = 3;
+    static final int TIPO_CLUSTERS = 4;
+
+    private static final double ESCALA_COORDENADA = 1e6;
+
+    private FormatoBinario() {
+    }
+
+    /** Se a classe dos itens tem representação binária. */
+    public static boolean suporta(Class<?> classe) {
+        return classe == EstabelecimentoMapaDTO.class
+                || classe == EstabelecimentoRespostaDTO.class
+                || classe == EstabelecimentoProximoDTO.class
+                || classe == EstabelecimentoClusterDTO.class;
+    }
+
+    /**
+     * Codifica a lista. Todos os itens devem ser da mesma classe suportada.
+     *
+     * @throws IllegalArgumentException se a classe dos itens não for suportada
+     */
+    public static byte[] codificar(List<?> itens) {
+        Escritor out = new Escritor(Math.max(16, itens.size() * 24));
+        out.write('B');
+        out.write('R');
+        out.write(VERSAO);
+        if (itens.isEmpty()) {
+            out.write(TIPO_VAZIA);
+            return out.toByteArray();
+        }
+
+        Object primeiro = itens.get(0);
+        if (primeiro instanceof EstabelecimentoMapaDTO) {
+            out.write(TIPO_MAPA);
+            Dicionario categorias = Dicionario.de(itens, i -> ((EstabelecimentoMapaDTO) i).getCategoria(), out);
+            out.varint(itens.size());
+            for (Object item : itens) {
+                EstabelecimentoMapaDTO e = (EstabelecimentoMapaDTO) item;
+                out.id(e.getId());
+                out.varint(categorias.indice(e.getCategoria()));
+                out.coordenadas(e.getLat(), e.getLng());
+                out.texto(e.getNome());
+            }
+        } else if (primeiro instanceof EstabelecimentoRespostaDTO) {
+            out.write(TIPO_RESPOSTA);
+            Dicionario categorias = Dicionario.de(itens, i -> ((EstabelecimentoRespostaDTO) i).getCategoria(), out);
+            out.varint(itens.size());
+            for (Object item : itens) {
+                EstabelecimentoRespostaDTO e = (EstabelecimentoRespostaDTO) item;
+                out.id(e.getId());
+                out.varint(categorias.indice(e.getCategoria()));
+                out.coordenadas(e.getLatitude(), e.getLongitude());
+                out.texto(e.getNome());
+                out.texto(e.getEndereco());
+                out.texto(e.getTelefone());
+                out.avaliacao(e.getAvaliacaoMedia());
+                out.texto(e.getGooglePlaceId());
+                out.instante(e.getCreatedAt());
+            }
+        } else if (primeiro instanceof EstabelecimentoProximoDTO) {
+            out.write(TIPO_PROXIMOS);
+            Dicionario categorias = Dicionario.de(itens, i -> ((EstabelecimentoProximoDTO) i).getCategoria(), out);
+            out.varint(itens.size());
+            for (Object item : itens) {
+                EstabelecimentoProximoDTO e = (EstabelecimentoProximoDTO) item;
+                out.id(e.getId());
+                out.varint(categorias.indice(e.getCategoria()));
+                out.coordenadas(e.getLatitude(), e.getLongitude());
+                out.texto(e.getNome());
+                out.texto(e.getEndereco());
+                out.avaliacao(e.getAvaliacaoMedia());
+                out.varint(e.getDistanciaMetros());
+            }
+        } else if (primeiro instanceof EstabelecimentoClusterDTO) {
+            out.write(TIPO_CLUSTERS);
+            Dicionario categorias = Dicionario.de(itens, i -> ((EstabelecimentoClusterDTO) i).getCategoria(), out);
+            out.varint(itens.size());
+            for (Object item : itens) {
+                EstabelecimentoClusterDTO c = (EstabelecimentoClusterDTO) item;
+                out.varint(categorias.indice(c.getCategoria()));
+                out.coordenadas(c.getLat(), c.getLng());
+                out.varint(c.getQuantidade());
+                out.varint(c.getId() == null ? 0 : c.getId() + 1);
+            }
+        } else {
+            throw new IllegalArgumentException("Sem formato binário para " + primeiro.getClass().getName());
+        }
+        return out.toByteArray();
+    }
+
+    /** Categorias distintas na ordem em que aparecem, já escritas no cabeçalho. */
+    private static final class Dicionario {
+
+        private final Map<String, Integer> indices = new HashMap<>();
+
+        static Dicionario de(List<?> itens, Function<Object, String> categoria, Escritor out) {
+            Dicionario dicionario = new Dicionario();
+            List<String> ordem = new ArrayList<>();
+            for (Object item : itens) {
+                String c = categoria.apply(item);
+                if (c != null && dicionario.indices.putIfAbsent(c, ordem.size() + 1) == null) {
+                    ordem.add(c);
+                }
+            }
+            out.varint(ordem.size());
+            for (String c : ordem) {
+                out.texto(c);
+            }
+            return dicionario;
+        }
+
+        int indice(String categoria) {
+            return categoria == null ? 0 : indices.get(categoria);
+        }
+    }
+
+    /** Buffer com as primitivas do formato e o estado dos campos em delta. */
+    private static final class Escritor extends ByteArrayOutputStream {
+
+        private long idAnterior;
+        private long latAnterior;
+        private long lngAnterior;
+
+        Escritor(int capacidade) {
+            super(capacidade);
+        }
+
+        void varint(long valor) {
+            while ((valor & ~0x7FL) != 0) {
+                write((int) ((valor & 0x7F) | 0x80));
+                valor >>>= 7;
+            }
+            write((int) valor);
+        }
+
+        void zigzag(long valor) {
+            varint((valor << 1) ^ (valor >> 63));
+        }
+
+        void id(Long id) {
+            long atual = id == null ? 0 : id;
+            zigzag(atual - idAnterior);
+            idAnterior = atual;
+        }
+
+        void coordenadas(Double latitude, Double longitude) {
+            long lat = Math.round((latitude == null ? 0 : latitude) * ESCALA_COORDENADA);
+            long lng = Math.round((longitude == null ? 0 : longitude) * ESCALA_COORDENADA);
+            zigzag(lat - latAnterior);
+            zigzag(lng - lngAnterior);
+            latAnterior = lat;
+            lngAnterior = lng;
+        }
+
+        void texto(String texto) {
+            if (texto == null) {
+                varint(0);
+                return;
+            }
+            byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+            varint(bytes.length + 1L);
+            write(bytes, 0, bytes.length);
+        }
+
+        void avaliacao(Double avaliacao) {
+            varint(avaliacao == null ? 0 : Math.round(avaliacao * 100) + 1);
+        }
+
+        void instante(LocalDateTime instante) {
+            if (instante == null) {
+                varint(0);
+                return;
+            }
+            long ms = instante.toInstant(ZoneOffset.UTC).toEpochMilli();
+            varint(((ms << 1) ^ (ms >> 63)) + 1);
+        }
+    }
+}
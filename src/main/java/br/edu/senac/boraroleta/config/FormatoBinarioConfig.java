@@ -0,0 +1,47 @@
+package br.edu.senac.boraroleta.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Registra o {@link FormatoBinarioHttpMessageConverter} depois dos conversores
+ * padrão: com um {@code Accept} genérico (ou sem Accept) a resposta continua
+ * JSON, e só quem pede {@value FormatoBinario#MEDIA_TYPE_VALUE} recebe binário.
+ * <p>
+ * Como a mesma URL agora tem duas representações, as leituras de
+ * estabelecimentos respondem com {@code Vary: Accept} para que navegador e
+ * proxies não entreguem uma no lugar da outra.
+ * </p>
+ *
+ * @author Equipe Bora Roleta - SENAC
+ * @version 1.0
+ */
+@Configuration
+public class FormatoBinarioConfig implements WebMvcConfigurer {
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new FormatoBinarioHttpMessageConverter());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+                return true;
+            }
+        }).addPathPatterns("/api/estabelecimentos", "/api/estabelecimentos/mapa",
+                "/api/estabelecimentos/categoria/*", "/api/estabelecimentos/proximos",
+                "/api/estabelecimentos/clusters");
+    }
+}
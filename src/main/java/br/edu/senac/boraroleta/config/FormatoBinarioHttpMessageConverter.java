@@ -0,0 +1,76 @@
+package br.edu.senac.boraroleta.config;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Escreve listas de DTOs do mapa em {@link FormatoBinario} quando o cliente
+ * pede {@value FormatoBinario#MEDIA_TYPE_VALUE} no {@code Accept}.
+ * <p>
+ * Só escrita: a API não aceita o formato no corpo das requisições. A decisão
+ * usa o tipo genérico do retorno do controller, então uma lista vazia também
+ * sai em binário.
+ * </p>
+ *
+ * @author Equipe Bora Roleta - SENAC
+ * @version 1.0
+ */
+public class FormatoBinarioHttpMessageConverter extends AbstractGenericHttpMessageConverter<List<?>> {
+
+    public FormatoBinarioHttpMessageConverter() {
+        super(FormatoBinario.MEDIA_TYPE);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return List.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        if (!canWrite(mediaType) || !supports(clazz)) {
+            return false;
+        }
+        Class<?> elemento = ResolvableType.forType(type != null ? type : clazz).asCollection().resolveGeneric();
+        return elemento != null && FormatoBinario.suporta(elemento);
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        // sem o tipo genérico não há como saber o tipo dos itens
+        return false;
+    }
+
+    @Override
+    protected void writeInternal(List<?> itens, Type type, HttpOutputMessage outputMessage) throws IOException {
+        outputMessage.getBody().write(FormatoBinario.codificar(itens));
+    }
+
+    @Override
+    public List<?> read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Formato binário é só de saída", inputMessage);
+    }
+
+    @Override
+    protected List<?> readInternal(Class<? extends List<?>> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Formato binário é só de saída", inputMessage);
+    }
+}
@@ -0,0 +1,49 @@
+package br.edu.senac.boraroleta.config;
+
+import java.util.function.Supplier;
+
+/**
+ * Janela depois de uma escrita em que as leituras de um conjunto de dados vão
+ * ao primário, seja qual for a thread que as faça.
+ * <p>
+ * A aderência do {@link AderenciaEscritaFilter} só protege quem escreveu. Os
+ * caches e o snapshot são recarregados por qualquer thread logo depois da
+ * invalidação, já sob a versão (e o ETag) nova; lidos de uma réplica
+ * atrasada, guardariam a linha antiga até o TTL ou até a próxima escrita.
+ * Quem recarrega passa a consulta por {@link #ler}, que a manda ao primário
+ * até {@code banco.replica.aderencia-ms} depois da última escrita registrada.
+ * Sem réplica configurada a janela não muda nada.
+ * </p>
+ *
+ * @author Equipe Bora Roleta - SENAC
+ * @version 1.0
+ */
+public class JanelaReplicacao {
+
+    private final long aderenciaMs;
+
+    /** Até quando (epoch ms) as leituras vão ao primário */
+    private volatile long primarioAte;
+
+    public JanelaReplicacao(long aderenciaMs) {
+        this.aderenciaMs = aderenciaMs;
+    }
+
+    /** Abre (ou estende) a janela a partir de agora. */
+    public void registrarEscrita() {
+        long ate = System.currentTimeMillis() + aderenciaMs;
+        if (ate > primarioAte) {
+            primarioAte = ate;
+        }
+    }
+
+    /** Se uma escrita recente ainda manda as leituras ao primário. */
+    public boolean aberta() {
+        return System.currentTimeMillis() <= primarioAte;
+    }
+
+    /** Executa a leitura no primário enquanto a janela estiver aberta. */
+    public <T> T ler(Supplier<T> leitura) {
+        return aberta() ? RoteamentoDataSource.noPrimario(leitura) : leitura.get();
+    }
+}
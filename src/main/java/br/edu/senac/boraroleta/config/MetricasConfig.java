@@ -0,0 +1,52 @@
+package br.edu.senac.boraroleta.config;
+
+import io.micrometer.common.KeyValues;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.http.server.observation.ServerRequestObservationConvention;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Métricas da aplicação além das registradas automaticamente pelo Actuator.
+ * <p>
+ * {@code http.server.requests} ganha as tags {@code controller} e
+ * {@code metodo} com o método do controller que atendeu a requisição, para
+ * que a latência possa ser lida por endpoint (ex.: {@code AuthController.login})
+ * e não só por URI. Requisições sem controller (arquivos estáticos, 404)
+ * recebem {@code none} nas duas tags.
+ * </p>
+ * <p>
+ * As demais séries vêm do Actuator e dos próprios serviços:
+ * {@code spring.data.repository.invocations} (tempo por método de
+ * repositório), {@code hikaricp.connections.*} (uso e espera do pool) e
+ * {@code boraroleta.senha.hash} (BCrypt). Os histogramas são ligados no
+ * {@code application.properties}.
+ * </p>
+ *
+ * @author Equipe Bora Roleta - SENAC
+ * @version 1.0
+ */
+@Configuration
+public class MetricasConfig {
+
+    private static final String NENHUM = "none";
+
+    @Bean
+    public ServerRequestObservationConvention requisicaoPorControllerConvention() {
+        return new DefaultServerRequestObservationConvention() {
+            @Override
+            public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+                KeyValues valores = super.getLowCardinalityKeyValues(context);
+                Object handler = context.getCarrier().getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+                if (handler instanceof HandlerMethod metodo) {
+                    return valores.and("controller", metodo.getBeanType().getSimpleName(),
+                            "metodo", metodo.getMethod().getName());
+                }
+                return valores.and("controller", NENHUM, "metodo", NENHUM);
+            }
+        };
+    }
+}
@@ -0,0 +1,67 @@
+package br.edu.senac.boraroleta.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Cache HTTP das páginas Thymeleaf e dos arquivos estáticos.
+ * <p>
+ * Em produção o resource chain do Spring adiciona o hash MD5 do conteúdo ao
+ * nome de CSS e JS ({@code /js/main-<hash>.js}) nos links gerados com
+ * {@code @{...}}. Essas URLs mudam sempre que o arquivo muda, então podem ficar
+ * um ano em cache sem revalidação. As URLs sem hash (usadas pelas páginas
+ * estáticas em {@code /views}) recebem {@code no-cache} e são revalidadas pelo
+ * {@code Last-Modified}.
+ * </p>
+ * <p>
+ * As páginas montadas no servidor ({@code /} e {@code /planos}) passam pelo
+ * {@link ShallowEtagHeaderFilter}: o navegador recebe 304 enquanto o HTML
+ * renderizado for o mesmo.
+ * </p>
+ *
+ * @author Equipe Bora Roleta - SENAC
+ * @version 1.0
+ */
+@Configuration
+public class RecursosEstaticosConfig implements WebMvcConfigurer {
+
+    /** Sufixo que o {@code ContentVersionStrategy} adiciona ao nome do arquivo */
+    private static final Pattern VERSAO_CONTEUDO = Pattern.compile("-[0-9a-f]{32}\\.[^/]+$");
+
+    private static final String CACHE_VERSIONADO = CacheControl.maxAge(365, TimeUnit.DAYS)
+            .cachePublic().immutable().getHeaderValue();
+
+    private static final String CACHE_REVALIDAR = CacheControl.noCache().getHeaderValue();
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                boolean versionado = VERSAO_CONTEUDO.matcher(request.getRequestURI()).find();
+                response.setHeader(HttpHeaders.CACHE_CONTROL, versionado ? CACHE_VERSIONADO : CACHE_REVALIDAR);
+                return true;
+            }
+        }).addPathPatterns("/css/**", "/js/**");
+    }
+
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> etagPaginasFilter() {
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registro =
+                new FilterRegistrationBean<>(new ShallowEtagHeaderFilter());
+        registro.addUrlPatterns("/", "/planos");
+        return registro;
+    }
+}
@@ -0,0 +1,181 @@
+package br.edu.senac.boraroleta.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * DataSource que manda transações {@code readOnly} para a réplica e todo o
+ * resto para o primário.
+ * <p>
+ * A escolha é feita quando a conexão física é realmente pedida, e não quando a
+ * transação começa: o {@link LazyConnectionDataSourceProxy} adia o
+ * {@code getConnection} até o primeiro comando, momento em que o
+ * {@link TransactionSynchronizationManager} já sabe se a transação é só
+ * leitura. Leituras fora de transação (raras, já que os repositórios do Spring
+ * Data abrem transações readOnly) também vão para o primário.
+ * </p>
+ * <p>
+ * A réplica é abandonada e as leituras voltam ao primário quando uma conexão
+ * com ela falha ou quando a verificação periódica ({@code isValid}) não
+ * responde; a mesma verificação a devolve ao rodízio quando ela se recupera.
+ * Para ler o que acabou de escrever, uma thread que confirmou uma escrita
+ * também lê do primário até o fim da janela de aderência (ver
+ * {@link AderenciaEscritaFilter}, que estende isso às requisições seguintes do
+ * mesmo cliente). A marca expira sozinha: threads fora de requisição
+ * (inicialização, executores, importação) não ficam presas ao primário.
+ * </p>
+ *
+ * @author Equipe Bora Roleta - SENAC
+ * @version 1.0
+ */
+public class RoteamentoDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(RoteamentoDataSource.class);
+
+    /** Até quando (epoch ms) esta thread lê do primário por causa de uma escrita confirmada */
+    private static final ThreadLocal<Long> PRIMARIO_ATE = new ThreadLocal<>();
+
+    private final HikariDataSource primario;
+    private final HikariDataSource replica;
+    private final ScheduledExecutorService verificador;
+
+    private volatile boolean replicaSaudavel = true;
+
+    public RoteamentoDataSource(HikariDataSource primario, HikariDataSource replica,
+                                long verificacaoMs) {
+        this.primario = primario;
+        this.replica = replica;
+        setTargetDataSource(new AbstractDataSource() {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return conectar();
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                return conectar();
+            }
+        });
+
+        this.verificador = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "replica-verificacao");
+            t.setDaemon(true);
+            return t;
+        });
+        verificador.scheduleWithFixedDelay(this::verificarReplica, verificacaoMs, verificacaoMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Registra que a thread atual confirmou uma escrita no instante informado;
+     * ela lê do primário pelos {@code aderenciaMs} seguintes.
+     */
+    public static void registrarEscrita(long instante, long aderenciaMs) {
+        long ate = instante + aderenciaMs;
+        Long anterior = PRIMARIO_ATE.get();
+        if (anterior == null || anterior < ate) {
+            PRIMARIO_ATE.set(ate);
+        }
+    }
+
+    /** Esquece as escritas registradas na thread atual. */
+    public static void limparEscrita() {
+        PRIMARIO_ATE.remove();
+    }
+
+    /**
+     * Executa a leitura no primário, mesmo dentro de uma transação readOnly.
+     * Usado por quem recarrega dados logo depois de uma escrita feita por
+     * outra thread (ver {@link JanelaReplicacao}).
+     */
+    public static <T> T noPrimario(Supplier<T> leitura) {
+        Long anterior = PRIMARIO_ATE.get();
+        PRIMARIO_ATE.set(Long.MAX_VALUE);
+        try {
+            return leitura.get();
+        } finally {
+            if (anterior == null) {
+                PRIMARIO_ATE.remove();
+            } else {
+                PRIMARIO_ATE.set(anterior);
+            }
+        }
+    }
+
+    /**
+     * Se a thread atual tem escrita registrada (na requisição ou pelo cookie
+     * do {@link AderenciaEscritaFilter}) ainda dentro da janela de aderência,
+     * e portanto lê do primário. Uma marca vencida é descartada aqui.
+     */
+    public static boolean temEscritaRegistrada() {
+        Long ate = PRIMARIO_ATE.get();
+        if (ate == null) {
+            return false;
+        }
+        if (System.currentTimeMillis() > ate) {
+            PRIMARIO_ATE.remove();
+            return false;
+        }
+        return true;
+    }
+
+    public boolean isReplicaSaudavel() {
+        return replicaSaudavel;
+    }
+
+    private Connection conectar() throws SQLException {
+        if (!lerDaReplica()) {
+            return primario.getConnection();
+        }
+        try {
+            return replica.getConnection();
+        } catch (SQLException ex) {
+            if (replicaSaudavel) {
+                replicaSaudavel = false;
+                log.warn("Réplica indisponível, leituras voltam ao primário: {}", ex.getMessage());
+            }
+            return primario.getConnection();
+        }
+    }
+
+    private boolean lerDaReplica() {
+        return replicaSaudavel
+                && TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && !temEscritaRegistrada();
+    }
+
+    private void verificarReplica() {
+        boolean saudavel;
+        try (Connection con = replica.getConnection()) {
+            saudavel = con.isValid(2);
+        } catch (SQLException ex) {
+            saudavel = false;
+        }
+        if (saudavel != replicaSaudavel) {
+            replicaSaudavel = saudavel;
+            if (saudavel) {
+                log.info("Réplica respondendo de novo, leituras readOnly voltam para ela");
+            } else {
+                log.warn("Réplica não passou na verificação, leituras voltam ao primário");
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        verificador.shutdownNow();
+        replica.close();
+        primario.close();
+    }
+}
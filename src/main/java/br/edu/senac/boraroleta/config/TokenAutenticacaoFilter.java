@@ -0,0 +1,56 @@
+package br.edu.senac.boraroleta.config;
+
+import br.edu.senac.boraroleta.service.seguranca.SessaoToken;
+import br.edu.senac.boraroleta.service.seguranca.TokenService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Autentica a requisição a partir do header {@code Authorization: Bearer <token>}.
+ * <p>
+ * A validação é só a conferência HMAC e a consulta ao cache de revogação do
+ * {@link TokenService}: nenhuma ida ao banco e nenhum BCrypt. Token ausente ou
+ * inválido deixa a requisição anônima, e as regras do
+ * {@code SecurityFilterChain} decidem se ela pode seguir.
+ * </p>
+ *
+ * @author Equipe Bora Roleta - SENAC
+ * @version 1.0
+ */
+public class TokenAutenticacaoFilter extends OncePerRequestFilter {
+
+    private static final String PREFIXO = "Bearer ";
+
+    private final TokenService tokenService;
+
+    public TokenAutenticacaoFilter(TokenService tokenService) {
+        this.tokenService = tokenService;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.startsWith(PREFIXO)) {
+            tokenService.validar(header.substring(PREFIXO.length()).trim()).ifPresent(this::autenticar);
+        }
+        chain.doFilter(request, response);
+    }
+
+    private void autenticar(SessaoToken sessao) {
+        var autoridades = sessao.admin()
+                ? AuthorityUtils.createAuthorityList("ROLE_USUARIO", "ROLE_ADMIN")
+                : AuthorityUtils.createAuthorityList("ROLE_USUARIO");
+        var autenticacao = new UsernamePasswordAuthenticationToken(sessao, null, autoridades);
+        SecurityContextHolder.getContext().setAuthentication(autenticacao);
+    }
+}
@@ -0,0 +1,124 @@
+package br.edu.senac.boraroleta.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.metamodel.EntityType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Confere na subida se os índices declarados nas entidades existem no banco.
+ * <p>
+ * O {@code ddl-auto=validate} do Hibernate confere tabelas e colunas, mas não
+ * índices; um índice que falte só aparece como consulta lenta. Aqui cada
+ * {@code @Table(indexes = ...)} é comparado com o {@code getIndexInfo} do
+ * banco e a aplicação não sobe se algum estiver faltando (as migrações em
+ * {@code db/migration} são a fonte desses índices).
+ * </p>
+ * <p>
+ * As {@code @Table(uniqueConstraints = ...)} são conferidas pelas colunas e
+ * não pelo nome, já que o H2 dá ao índice da restrição um nome próprio: basta
+ * existir um índice único exatamente sobre elas. O cadastro depende dessas
+ * restrições para barrar email e CPF repetidos.
+ * </p>
+ *
+ * @author Equipe Bora Roleta - SENAC
+ * @version 1.0
+ */
+@Component
+public class VerificacaoSchema {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Value("${banco.verificar-indices:true}")
+    private boolean ativo;
+
+    @PostConstruct
+    void verificar() throws SQLException {
+        if (!ativo) {
+            return;
+        }
+        List<String> faltando = new ArrayList<>();
+        try (Connection con = dataSource.getConnection()) {
+            DatabaseMetaData meta = con.getMetaData();
+            for (EntityType<?> entidade : entityManagerFactory.getMetamodel().getEntities()) {
+                Table tabela = entidade.getJavaType().getAnnotation(Table.class);
+                if (tabela == null || (tabela.indexes().length == 0 && tabela.uniqueConstraints().length == 0)) {
+                    continue;
+                }
+                Map<String, Set<String>> existentes = indices(meta, con.getCatalog(), con.getSchema(), tabela.name());
+                for (Index indice : tabela.indexes()) {
+                    if (!existentes.containsKey(indice.name().toLowerCase(Locale.ROOT))) {
+                        faltando.add(tabela.name() + "." + indice.name());
+                    }
+                }
+                Map<String, Set<String>> unicos = indices(meta, con.getCatalog(), con.getSchema(), tabela.name(), true);
+                for (UniqueConstraint restricao : tabela.uniqueConstraints()) {
+                    Set<String> colunas = new HashSet<>();
+                    for (String coluna : restricao.columnNames()) {
+                        colunas.add(coluna.toLowerCase(Locale.ROOT));
+                    }
+                    if (!unicos.containsValue(colunas)) {
+                        faltando.add(tabela.name() + "." + restricao.name() + " (única)");
+                    }
+                }
+            }
+        }
+        if (!faltando.isEmpty()) {
+            throw new IllegalStateException("Índices ausentes no banco: " + faltando
+                    + ". Verifique se as migrações do Flyway foram aplicadas.");
+        }
+    }
+
+    private static Map<String, Set<String>> indices(DatabaseMetaData meta, String catalogo, String schema,
+                                                    String tabela) throws SQLException {
+        return indices(meta, catalogo, schema, tabela, false);
+    }
+
+    /** Colunas de cada índice da tabela, por nome (tudo em minúsculas). */
+    private static Map<String, Set<String>> indices(DatabaseMetaData meta, String catalogo, String schema,
+                                                    String tabela, boolean somenteUnicos) throws SQLException {
+        Map<String, Set<String>> indices = new HashMap<>();
+        // H2 guarda os nomes em maiúsculas, o MySQL como foram criados
+        for (String nome : List.of(tabela, tabela.toUpperCase(Locale.ROOT))) {
+            try (ResultSet rs = meta.getIndexInfo(catalogo, schema, nome, somenteUnicos, true)) {
+                while (rs.next()) {
+                    String indice = rs.getString("INDEX_NAME");
+                    String coluna = rs.getString("COLUMN_NAME");
+                    if (indice != null) {
+                        Set<String> colunas = indices.computeIfAbsent(indice.toLowerCase(Locale.ROOT),
+                                k -> new HashSet<>());
+                        if (coluna != null) {
+                            colunas.add(coluna.toLowerCase(Locale.ROOT));
+                        }
+                    }
+                }
+            }
+            if (!indices.isEmpty()) {
+                break;
+            }
+        }
+        return indices;
+    }
+}
@@ -0,0 +1,34 @@
+package br.edu.senac.boraroleta.controller;
+
+import br.edu.senac.boraroleta.dto.EstatisticasDTO;
+import br.edu.senac.boraroleta.service.estatisticas.EstatisticasService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controller REST com os dados agregados do painel Admin.
+ * 
+ * Acesso restrito a administradores (ver {@code SecurityFilterChain}).
+ * 
+ * @author Equipe Bora Roleta - SENAC 2025
+ * @version 1.0
+ */
+@RestController
+@RequestMapping("/api/admin")
+public class AdminController {
+
+    @Autowired
+    private EstatisticasService estatisticasService;
+
+    /**
+     * Estatísticas do catálogo e dos usuários, servidas de contadores em memória.
+     * 
+     * @param dias tamanho da série de cadastros por dia (padrão 30)
+     * @return totais, estabelecimentos por categoria e cadastros por dia
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<EstatisticasDTO> estatisticas(@RequestParam(defaultValue = "30") int dias) {
+        return ResponseEntity.ok(estatisticasService.estatisticas(dias));
+    }
+}
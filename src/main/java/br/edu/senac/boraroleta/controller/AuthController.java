@@ -3,11 +3,16 @@ package br.edu.senac.boraroleta.controller;
 import br.edu.senac.boraroleta.dto.LoginDTO;
 import br.edu.senac.boraroleta.dto.LoginResponseDTO;
 import br.edu.senac.boraroleta.service.UsuarioService;
+import br.edu.senac.boraroleta.service.seguranca.SessaoToken;
+import br.edu.senac.boraroleta.service.seguranca.TokenService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Controller REST para autenticação de usuários.
  * 
@@ -23,19 +28,43 @@ public class AuthController {
     @Autowired
     private UsuarioService usuarioService;
 
+    @Autowired
+    private TokenService tokenService;
+
     /**
      * Autentica um usuário com email/username e senha.
      * 
      * Suporta login de administrador com credenciais hard-coded (admin/admin)
      * e usuários do banco de dados com validação BCrypt.
      * 
+     * A conferência BCrypt roda num pool dedicado e a resposta é concluída
+     * de forma assíncrona, liberando a thread do Tomcat durante o hashing.
+     * A resposta inclui um token de sessão assinado que autentica as chamadas
+     * seguintes sem consultar o banco.
+     * 
      * @param loginDTO DTO contendo email e senha
-     * @return ResponseEntity com dados do usuário autenticado (id, nome, email, isAdmin)
+     * @return future com dados do usuário autenticado (id, nome, email, isAdmin, token)
      * @throws RuntimeException se credenciais forem inválidas
      */
     @PostMapping("/login")
-    public ResponseEntity<LoginResponseDTO> login(@Valid @RequestBody LoginDTO loginDTO) {
-        LoginResponseDTO response = usuarioService.autenticar(loginDTO);
-        return ResponseEntity.ok(response);
+    public CompletableFuture<ResponseEntity<LoginResponseDTO>> login(@Valid @RequestBody LoginDTO loginDTO) {
+        return usuarioService.autenticar(loginDTO).thenApply(resposta -> {
+            SessaoToken sessao = tokenService.emitir(resposta.getId(), resposta.isAdmin());
+            resposta.setToken(tokenService.assinar(sessao));
+            resposta.setExpiraEm(sessao.expiraEm());
+            return ResponseEntity.ok(resposta);
+        });
+    }
+
+    /**
+     * Encerra a sessão revogando o token usado na requisição.
+     * 
+     * @param sessao sessão autenticada pelo token
+     * @return 204 No Content
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@AuthenticationPrincipal SessaoToken sessao) {
+        tokenService.revogar(sessao);
+        return ResponseEntity.noContent().build();
     }
 }
@@ -1,14 +1,39 @@
 package br.edu.senac.boraroleta.controller;
 
+import br.edu.senac.boraroleta.config.FormatoBinario;
+import br.edu.senac.boraroleta.dto.AlteracoesCatalogoDTO;
+import br.edu.senac.boraroleta.dto.EstabelecimentoBuscaDTO;
+import br.edu.senac.boraroleta.dto.EstabelecimentoClusterDTO;
 import br.edu.senac.boraroleta.dto.EstabelecimentoDTO;
-import br.edu.senac.boraroleta.model.Estabelecimento;
+import br.edu.senac.boraroleta.dto.EstabelecimentoMapaDTO;
+import br.edu.senac.boraroleta.dto.EstabelecimentoProximoDTO;
+import br.edu.senac.boraroleta.dto.EstabelecimentoRespostaDTO;
+import br.edu.senac.boraroleta.exception.ServicoSobrecarregadoException;
 import br.edu.senac.boraroleta.service.EstabelecimentoService;
+import br.edu.senac.boraroleta.service.Paginacao;
+import br.edu.senac.boraroleta.service.geo.Retangulo;
+import br.edu.senac.boraroleta.service.importacao.EstabelecimentoImportService;
+import br.edu.senac.boraroleta.service.importacao.LeitorImportacao;
+import br.edu.senac.boraroleta.service.importacao.LinhaImportacao;
+import br.edu.senac.boraroleta.service.snapshot.CatalogoSnapshot;
+import br.edu.senac.boraroleta.service.stream.CatalogoStream;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
 import java.util.List;
 
 @RestController
@@ -18,40 +43,200 @@ public class EstabelecimentoController {
     @Autowired
     private EstabelecimentoService service;
 
+    @Autowired
+    private EstabelecimentoImportService importService;
+
+    @Autowired
+    private CatalogoSnapshot catalogoSnapshot;
+
+    @Autowired
+    private CatalogoStream catalogoStream;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Página do catálogo por cursor ({@code after} = último id recebido).
+     * <p>
+     * Esta rota continua passando pelo serviço em vez de sair do
+     * {@link CatalogoSnapshot}: o snapshot é o catálogo inteiro num único
+     * corpo, e aqui cada combinação de {@code after}, {@code limit} e formato
+     * (JSON ou NDJSON) é uma resposta diferente. Servir as páginas dos bytes
+     * prontos exigiria guardar uma cópia por página. Quem precisa do catálogo
+     * inteiro deve usar {@code /snapshot}.
+     * </p>
+     */
     @GetMapping
-    public ResponseEntity<List<Estabelecimento>> listarTodos() {
-        List<Estabelecimento> estabelecimentos = service.listarTodos();
-        return ResponseEntity.ok(estabelecimentos);
+    public ResponseEntity<List<EstabelecimentoRespostaDTO>> listar(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "" + Paginacao.LIMITE_PADRAO) int limit,
+            HttpServletRequest request) {
+        return RespostaCondicional.seModificado(request, etagLista(request), () ->
+                NdjsonStream.pagina(service.listarPagina(after, limit), limit, EstabelecimentoRespostaDTO::getId));
+    }
+
+    @GetMapping(value = "/exportar", produces = NdjsonStream.NDJSON)
+    public ResponseEntity<StreamingResponseBody> exportar(@RequestParam(required = false) Long after) {
+        return NdjsonStream.exportar(objectMapper, after, service::listarPagina, EstabelecimentoRespostaDTO::getId);
+    }
+
+    /**
+     * Catálogo completo num único JSON, servido dos bytes já prontos do
+     * {@link CatalogoSnapshot} (em gzip quando o cliente aceita).
+     */
+    @GetMapping("/snapshot")
+    public ResponseEntity<byte[]> snapshot(HttpServletRequest request) {
+        CatalogoSnapshot.Snapshot snapshot = catalogoSnapshot.atual();
+        if (snapshot == null) {
+            throw new ServicoSobrecarregadoException("Catálogo ainda sendo preparado, tente novamente");
+        }
+        String aceita = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        boolean gzip = aceita != null && aceita.contains("gzip");
+        String etag = gzip ? snapshot.etagGzip() : snapshot.etagJson();
+        if (RespostaCondicional.corresponde(request, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(etag)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .cacheControl(CacheControl.noCache());
+        if (gzip) {
+            return resposta.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(snapshot.gzip());
+        }
+        return resposta.body(snapshot.json());
+    }
+
+    /**
+     * Marcadores do mapa: só id, nome, categoria, lat e lng, paginados por cursor.
+     * Com {@code Accept: application/x-boraroleta-bin} sai em {@link FormatoBinario},
+     * assim como a listagem, {@code /proximos} e {@code /clusters}.
+     */
+    @GetMapping("/mapa")
+    public ResponseEntity<List<EstabelecimentoMapaDTO>> listarMapa(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) String categoria,
+            @RequestParam(defaultValue = "" + Paginacao.LIMITE_MAXIMO) int limit,
+            HttpServletRequest request) {
+        return RespostaCondicional.seModificado(request, etagLista(request), () ->
+                NdjsonStream.pagina(service.listarMapa(after, categoria, limit), limit, EstabelecimentoMapaDTO::getId));
+    }
+
+    /**
+     * Sincronização incremental: o que mudou desde o token da última chamada,
+     * com os IDs excluídos e o novo token. Sem {@code since}, devolve o catálogo
+     * inteiro em páginas (seguir {@code maisPaginas}).
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<AlteracoesCatalogoDTO> listarAlteracoes(
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "" + Paginacao.LIMITE_PADRAO) int limit) {
+        return ResponseEntity.ok(service.listarAlteracoes(since, limit));
+    }
+
+    /**
+     * Feed de alterações do catálogo em Server-Sent Events (ver {@link CatalogoStream}).
+     *
+     * @param categorias categorias acompanhadas, separadas por vírgula; todas se ausente
+     * @param bbox retângulo {@code minLat,minLng,maxLat,maxLng}; qualquer posição se ausente
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestParam(required = false) List<String> categorias,
+                             @RequestParam(required = false) String bbox) {
+        Retangulo retangulo = bbox == null || bbox.isBlank() ? null : Retangulo.de(bbox);
+        return catalogoStream.assinar(categorias, retangulo);
+    }
+
+    /**
+     * Marcadores agrupados por célula para o zoom atual: o tamanho da resposta
+     * depende da área da tela, não da quantidade de estabelecimentos.
+     *
+     * @param bbox área visível {@code minLat,minLng,maxLat,maxLng}
+     * @param zoom zoom do mapa (0 a 22)
+     * @param categoria categoria exigida; todas se ausente
+     */
+    @GetMapping("/clusters")
+    public ResponseEntity<List<EstabelecimentoClusterDTO>> buscarClusters(
+            @RequestParam String bbox,
+            @RequestParam int zoom,
+            @RequestParam(required = false) String categoria) {
+        return ResponseEntity.ok(service.buscarClusters(Retangulo.de(bbox), zoom, categoria));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Estabelecimento> buscarPorId(@PathVariable Long id) {
-        Estabelecimento estabelecimento = service.buscarPorId(id);
-        return ResponseEntity.ok(estabelecimento);
+    public ResponseEntity<EstabelecimentoRespostaDTO> buscarPorId(@PathVariable Long id, HttpServletRequest request) {
+        return RespostaCondicional.seModificado(request, etagCatalogo(), () ->
+                ResponseEntity.ok(service.buscarPorId(id)));
     }
 
     @GetMapping("/categoria/{categoria}")
-    public ResponseEntity<List<Estabelecimento>> buscarPorCategoria(@PathVariable String categoria) {
-        List<Estabelecimento> estabelecimentos = service.buscarPorCategoria(categoria);
-        return ResponseEntity.ok(estabelecimentos);
+    public ResponseEntity<List<EstabelecimentoRespostaDTO>> buscarPorCategoria(@PathVariable String categoria,
+                                                                               HttpServletRequest request) {
+        return RespostaCondicional.seModificado(request, etagLista(request), () ->
+                ResponseEntity.ok(service.buscarPorCategoria(categoria)));
     }
 
     @GetMapping("/buscar")
-    public ResponseEntity<List<Estabelecimento>> buscarPorNome(@RequestParam String nome) {
-        List<Estabelecimento> estabelecimentos = service.buscarPorNome(nome);
+    public ResponseEntity<List<EstabelecimentoBuscaDTO>> buscarPorNome(@RequestParam String nome,
+                                                                       @RequestParam(defaultValue = "20") int limite) {
+        List<EstabelecimentoBuscaDTO> estabelecimentos = service.buscarPorNome(nome, limite);
         return ResponseEntity.ok(estabelecimentos);
     }
 
+    @GetMapping("/proximos")
+    public ResponseEntity<List<EstabelecimentoProximoDTO>> buscarProximos(
+            @RequestParam double lat,
+            @RequestParam double lng,
+            @RequestParam(defaultValue = "2000") double raio,
+            @RequestParam(required = false) String categoria,
+            @RequestParam(defaultValue = "100") int limite) {
+        List<EstabelecimentoProximoDTO> proximos = service.buscarProximos(lat, lng, raio, categoria, limite);
+        return ResponseEntity.ok(proximos);
+    }
+
+    /**
+     * Importa estabelecimentos em massa a partir de CSV ou NDJSON.
+     * <p>
+     * O corpo é lido em streaming; a resposta é NDJSON com uma linha de
+     * progresso por lote gravado e uma linha final com {@code concluido: true}.
+     * </p>
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", NdjsonStream.NDJSON}, produces = NdjsonStream.NDJSON)
+    public ResponseEntity<StreamingResponseBody> importar(HttpServletRequest request) throws IOException {
+        // O cabeçalho do CSV é lido aqui para que erros nele virem 400 antes do streaming
+        Iterator<LinhaImportacao> linhas = MediaType.parseMediaType(request.getContentType())
+                .isCompatibleWith(MediaType.parseMediaType("text/csv"))
+                ? LeitorImportacao.csv(request.getInputStream())
+                : LeitorImportacao.ndjson(request.getInputStream(), objectMapper);
+
+        StreamingResponseBody corpo = out -> {
+            JsonGenerator gen = NdjsonStream.abrir(objectMapper, out);
+            importService.importar(linhas, progresso -> {
+                try {
+                    NdjsonStream.escrever(objectMapper, gen, progresso);
+                    gen.flush();
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        };
+        return NdjsonStream.resposta(corpo);
+    }
+
     @PostMapping
-    public ResponseEntity<Estabelecimento> criar(@Valid @RequestBody EstabelecimentoDTO dto) {
-        Estabelecimento estabelecimento = service.criar(dto);
+    public ResponseEntity<EstabelecimentoRespostaDTO> criar(@Valid @RequestBody EstabelecimentoDTO dto) {
+        EstabelecimentoRespostaDTO estabelecimento = EstabelecimentoRespostaDTO.de(service.criar(dto));
         return ResponseEntity.status(HttpStatus.CREATED).body(estabelecimento);
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Estabelecimento> atualizar(@PathVariable Long id, 
-                                                     @Valid @RequestBody EstabelecimentoDTO dto) {
-        Estabelecimento estabelecimento = service.atualizar(id, dto);
+    public ResponseEntity<EstabelecimentoRespostaDTO> atualizar(@PathVariable Long id, 
+                                                                @Valid @RequestBody EstabelecimentoDTO dto) {
+        EstabelecimentoRespostaDTO estabelecimento = EstabelecimentoRespostaDTO.de(service.atualizar(id, dto));
         return ResponseEntity.ok(estabelecimento);
     }
 
@@ -60,4 +245,15 @@ public class EstabelecimentoController {
         service.deletar(id);
         return ResponseEntity.noContent().build();
     }
+
+    // A versão é lida antes dos dados: no pior caso o cliente recebe dados
+    // mais novos que o ETag e só refaz a leitura na próxima vez.
+    private String etagCatalogo() {
+        return RespostaCondicional.etag('c', service.getVersaoCatalogo());
+    }
+
+    /** ETag das listas que também saem em binário (ver {@link RespostaCondicional#porRepresentacao}). */
+    private String etagLista(HttpServletRequest request) {
+        return RespostaCondicional.porRepresentacao(request, etagCatalogo());
+    }
 }
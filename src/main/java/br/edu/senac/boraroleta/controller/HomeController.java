@@ -7,7 +7,9 @@ import org.springframework.web.bind.annotation.GetMapping;
  * Controller responsável por renderizar as páginas principais da aplicação.
  * <p>
  * Este controller gerencia as rotas para a página inicial e páginas institucionais,
- * retornando os templates Thymeleaf correspondentes.
+ * retornando os templates Thymeleaf correspondentes. Menu, rodapé e conteúdo da
+ * home são incluídos no servidor a partir de {@code templates/fragments}, então a
+ * página chega completa ao navegador, sem requisições extras para montá-la.
  * </p>
  *
  * @author Equipe Bora Roleta - SENAC
@@ -0,0 +1,98 @@
+package br.edu.senac.boraroleta.controller;
+
+import br.edu.senac.boraroleta.service.Paginacao;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Utilitário para os endpoints de listagem paginados por cursor.
+ * <p>
+ * A exportação NDJSON percorre a tabela em lotes de
+ * {@link Paginacao#TAMANHO_LOTE} linhas usando o mesmo cursor por ID das
+ * páginas, escrevendo cada lote direto na resposta. Cada lote roda na sua
+ * própria transação curta, então o uso de memória não depende do tamanho
+ * da tabela.
+ * </p>
+ *
+ * @author Equipe Bora Roleta - SENAC
+ * @version 1.0
+ */
+final class NdjsonStream {
+
+    static final String NDJSON = "application/x-ndjson";
+
+    private NdjsonStream() {
+    }
+
+    /**
+     * Monta a resposta de uma página, anunciando o próximo cursor no header
+     * {@value Paginacao#HEADER_PROXIMO_CURSOR} quando a página veio cheia.
+     */
+    static <T> ResponseEntity<List<T>> pagina(List<T> itens, int limite, Function<T, Long> id) {
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.ok();
+        if (itens.size() == limite) {
+            resposta.header(Paginacao.HEADER_PROXIMO_CURSOR, String.valueOf(id.apply(itens.get(itens.size() - 1))));
+        }
+        return resposta.body(itens);
+    }
+
+    /**
+     * Exporta todas as linhas a partir do cursor como NDJSON (um objeto JSON por linha).
+     *
+     * @param mapper ObjectMapper da aplicação
+     * @param after cursor inicial (null para começar do início)
+     * @param pagina função (cursor, limite) que lê um lote do service
+     * @param id extrai o ID usado como cursor
+     */
+    static <T> ResponseEntity<StreamingResponseBody> exportar(ObjectMapper mapper, Long after,
+                                                              BiFunction<Long, Integer, List<T>> pagina,
+                                                              Function<T, Long> id) {
+        StreamingResponseBody corpo = out -> {
+            JsonGenerator gen = abrir(mapper, out);
+            Long cursor = after;
+            List<T> lote;
+            do {
+                lote = pagina.apply(cursor, Paginacao.TAMANHO_LOTE);
+                for (T item : lote) {
+                    escrever(mapper, gen, item);
+                }
+                gen.flush();
+                if (!lote.isEmpty()) {
+                    cursor = id.apply(lote.get(lote.size() - 1));
+                }
+            } while (lote.size() == Paginacao.TAMANHO_LOTE);
+        };
+        return resposta(corpo);
+    }
+
+    static ResponseEntity<StreamingResponseBody> resposta(StreamingResponseBody corpo) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON))
+                .header(HttpHeaders.CACHE_CONTROL, "no-store")
+                .body(corpo);
+    }
+
+    /** Abre um gerador JSON que não fecha a resposta nem separa valores com espaço. */
+    static JsonGenerator abrir(ObjectMapper mapper, OutputStream out) throws IOException {
+        JsonGenerator gen = mapper.createGenerator(out);
+        gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        gen.setRootValueSeparator(null);
+        return gen;
+    }
+
+    /** Escreve um objeto seguido de quebra de linha. */
+    static void escrever(ObjectMapper mapper, JsonGenerator gen, Object valor) throws IOException {
+        mapper.writeValue(gen, valor);
+        gen.writeRaw('\n');
+    }
+}
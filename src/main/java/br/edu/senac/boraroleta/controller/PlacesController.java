@@ -0,0 +1,41 @@
+package br.edu.senac.boraroleta.controller;
+
+import br.edu.senac.boraroleta.dto.EstabelecimentoProximoDTO;
+import br.edu.senac.boraroleta.service.places.PlacesGateway;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controller REST que expõe a busca de lugares da Places API pelo backend.
+ * 
+ * Substitui as chamadas {@code nearbySearch} feitas diretamente pelo navegador,
+ * permitindo que buscas repetidas na mesma região sejam servidas do cache.
+ * 
+ * @author Equipe Bora Roleta - SENAC 2025
+ * @version 1.0
+ */
+@RestController
+@RequestMapping("/api/places")
+public class PlacesController {
+
+    @Autowired
+    private PlacesGateway gateway;
+
+    /**
+     * Busca lugares de uma categoria próximos à localização do usuário.
+     * 
+     * @param lat latitude do usuário
+     * @param lng longitude do usuário
+     * @param categoria Adegas, Pagodes, Barzinhos ou Eventos
+     * @return lugares encontrados ordenados por distância
+     */
+    @GetMapping("/proximos")
+    public ResponseEntity<List<EstabelecimentoProximoDTO>> buscarProximos(@RequestParam double lat,
+                                                                          @RequestParam double lng,
+                                                                          @RequestParam String categoria) {
+        return ResponseEntity.ok(gateway.buscarProximos(lat, lng, categoria));
+    }
+}
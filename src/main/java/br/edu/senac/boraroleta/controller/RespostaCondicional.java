@@ -0,0 +1,135 @@
+package br.edu.senac.boraroleta.controller;
+
+import br.edu.senac.boraroleta.config.FormatoBinario;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.InvalidMimeTypeException;
+
+import java.util.Enumeration;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * GET condicional com ETags derivados de um contador de versão.
+ * <p>
+ * O ETag é só a versão atual dos dados, que fica em memória; a comparação com
+ * {@code If-None-Match} acontece antes de montar a resposta, então um 304 não
+ * consulta o banco nem serializa nada. Como o ETag identifica o estado de
+ * todos os dados, e não de uma URL, ele vale para qualquer leitura e muda com
+ * qualquer escrita. Leituras de um único registro podem usar a versão dele
+ * ({@link #etag(char, long, long)}) para não mudar com escritas em outros. As listas que também saem em {@link FormatoBinario} usam
+ * {@link #porRepresentacao} para que JSON e binário tenham ETags diferentes.
+ * </p>
+ *
+ * @author Equipe Bora Roleta - SENAC
+ * @version 1.0
+ */
+final class RespostaCondicional {
+
+    private RespostaCondicional() {
+    }
+
+    /** ETag forte no formato {@code "<prefixo><versão em base 36>"}. */
+    static String etag(char prefixo, long versao) {
+        return "\"" + prefixo + Long.toString(versao, 36) + "\"";
+    }
+
+    /** ETag de um único registro: {@code "<prefixo><id>-<versão do registro>"}, em base 36. */
+    static String etag(char prefixo, long id, long versao) {
+        return "\"" + prefixo + Long.toString(id, 36) + "-" + Long.toString(versao, 36) + "\"";
+    }
+
+    /**
+     * ETag da representação que o cliente vai receber: com sufixo {@code -b}
+     * quando o {@code Accept} leva à resposta binária. Um ETag forte identifica
+     * os bytes, então JSON e binário da mesma versão não podem compartilhá-lo.
+     */
+    static String porRepresentacao(HttpServletRequest request, String etag) {
+        return prefereBinario(request) ? etag.substring(0, etag.length() - 1) + "-b\"" : etag;
+    }
+
+    /**
+     * Se o conteúdo negociado para uma lista do mapa será binário: o tipo
+     * binário tem qualidade maior que a do JSON, ou igual e o JSON só casa
+     * por curinga (a negociação do Spring prefere o tipo mais específico).
+     */
+    static boolean prefereBinario(HttpServletRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null || !accept.contains(FormatoBinario.MEDIA_TYPE_VALUE)) {
+            return false;
+        }
+        List<MediaType> aceitos;
+        try {
+            aceitos = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMimeTypeException ex) {
+            return false;
+        }
+        MediaType binario = maisEspecifico(aceitos, FormatoBinario.MEDIA_TYPE);
+        MediaType json = maisEspecifico(aceitos, MediaType.APPLICATION_JSON);
+        if (binario == null || binario.getQualityValue() == 0) {
+            return false;
+        }
+        if (json == null) {
+            return true;
+        }
+        double diferenca = binario.getQualityValue() - json.getQualityValue();
+        return diferenca > 0 || (diferenca == 0 && json.isWildcardSubtype());
+    }
+
+    /** Tipo do Accept mais específico que inclui {@code tipo}, ou null. */
+    private static MediaType maisEspecifico(List<MediaType> aceitos, MediaType tipo) {
+        MediaType escolhido = null;
+        for (MediaType aceito : aceitos) {
+            if (aceito.includes(tipo) && (escolhido == null || escolhido.includes(aceito))) {
+                escolhido = aceito;
+            }
+        }
+        return escolhido;
+    }
+
+    /**
+     * Devolve 304 se o cliente já tem a versão {@code etag}; senão monta a
+     * resposta e anexa o ETag. {@code Cache-Control: no-cache} faz o navegador
+     * revalidar a cada uso em vez de servir uma cópia possivelmente velha.
+     */
+    static <T> ResponseEntity<T> seModificado(HttpServletRequest request, String etag,
+                                              Supplier<ResponseEntity<T>> resposta) {
+        if (corresponde(request, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+        ResponseEntity<T> corpo = resposta.get();
+        return ResponseEntity.status(corpo.getStatusCode())
+                .headers(corpo.getHeaders())
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(corpo.getBody());
+    }
+
+    /** Se algum valor de {@code If-None-Match} casa com o ETag. */
+    static boolean corresponde(HttpServletRequest request, String etag) {
+        // Comparação fraca (RFC 9110, 13.1.2): "W/" é ignorado em If-None-Match
+        Enumeration<String> valores = request.getHeaders(HttpHeaders.IF_NONE_MATCH);
+        if (valores == null) {
+            return false;
+        }
+        while (valores.hasMoreElements()) {
+            for (String candidato : valores.nextElement().split(",")) {
+                String tag = candidato.trim();
+                if (tag.startsWith("W/")) {
+                    tag = tag.substring(2);
+                }
+                if (tag.equals("*") || tag.equals(etag)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
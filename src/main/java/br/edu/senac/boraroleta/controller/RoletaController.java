@@ -0,0 +1,45 @@
+package br.edu.senac.boraroleta.controller;
+
+import br.edu.senac.boraroleta.dto.EstabelecimentoProximoDTO;
+import br.edu.senac.boraroleta.service.roleta.RoletaService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controller REST da roleta: sorteia rolês próximos ao usuário.
+ * 
+ * O sorteio é ponderado pela avaliação média e feito sobre tabelas em memória,
+ * sem consultar o banco a cada giro.
+ * 
+ * @author Equipe Bora Roleta - SENAC 2025
+ * @version 1.0
+ */
+@RestController
+@RequestMapping("/api/roleta")
+public class RoletaController {
+
+    @Autowired
+    private RoletaService roletaService;
+
+    /**
+     * Gira a roleta.
+     * 
+     * @param lat latitude do usuário
+     * @param lng longitude do usuário
+     * @param raio raio em metros (padrão 2000, máximo 10000)
+     * @param categorias categorias aceitas separadas por vírgula; todas se ausente
+     * @param n quantidade de sorteios sem repetição (padrão 1, máximo 10)
+     * @return sorteados na ordem do sorteio, com a distância até o usuário
+     */
+    @GetMapping
+    public ResponseEntity<List<EstabelecimentoProximoDTO>> girar(@RequestParam double lat,
+                                                                 @RequestParam double lng,
+                                                                 @RequestParam(defaultValue = "2000") double raio,
+                                                                 @RequestParam(required = false) List<String> categorias,
+                                                                 @RequestParam(defaultValue = "1") int n) {
+        return ResponseEntity.ok(roletaService.girar(lat, lng, raio, categorias, n));
+    }
+}
@@ -1,14 +1,22 @@
 package br.edu.senac.boraroleta.controller;
 
+import br.edu.senac.boraroleta.dto.DisponibilidadeDTO;
 import br.edu.senac.boraroleta.dto.UsuarioDTO;
-import br.edu.senac.boraroleta.model.Usuario;
+import br.edu.senac.boraroleta.dto.UsuarioRespostaDTO;
 import br.edu.senac.boraroleta.service.UsuarioService;
+import br.edu.senac.boraroleta.service.Paginacao;
+import br.edu.senac.boraroleta.service.disponibilidade.DisponibilidadeService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.List;
 
 @RestController
@@ -18,34 +26,48 @@ public class UsuarioController {
     @Autowired
     private UsuarioService service;
 
+    @Autowired
+    private DisponibilidadeService disponibilidadeService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @GetMapping
-    public ResponseEntity<List<Usuario>> listarTodos() {
-        List<Usuario> usuarios = service.listarTodos();
-        return ResponseEntity.ok(usuarios);
+    public ResponseEntity<List<UsuarioRespostaDTO>> listar(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "" + Paginacao.LIMITE_PADRAO) int limit,
+            HttpServletRequest request) {
+        return RespostaCondicional.seModificado(request, etag(), () ->
+                NdjsonStream.pagina(service.listarPagina(after, limit), limit, UsuarioRespostaDTO::getId));
+    }
+
+    @GetMapping(value = "/exportar", produces = NdjsonStream.NDJSON)
+    public ResponseEntity<StreamingResponseBody> exportar(@RequestParam(required = false) Long after) {
+        return NdjsonStream.exportar(objectMapper, after, service::listarPagina, UsuarioRespostaDTO::getId);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Usuario> buscarPorId(@PathVariable Long id) {
-        Usuario usuario = service.buscarPorId(id);
-        return ResponseEntity.ok(usuario);
+    public ResponseEntity<UsuarioRespostaDTO> buscarPorId(@PathVariable Long id, HttpServletRequest request) {
+        UsuarioRespostaDTO usuario = service.buscarPorId(id);
+        return RespostaCondicional.seModificado(request, etag(usuario), () -> ResponseEntity.ok(usuario));
     }
 
     @GetMapping("/email/{email}")
-    public ResponseEntity<Usuario> buscarPorEmail(@PathVariable String email) {
-        Usuario usuario = service.buscarPorEmail(email);
-        return ResponseEntity.ok(usuario);
+    public ResponseEntity<UsuarioRespostaDTO> buscarPorEmail(@PathVariable String email, HttpServletRequest request) {
+        UsuarioRespostaDTO usuario = service.buscarPorEmail(email);
+        return RespostaCondicional.seModificado(request, etag(usuario), () -> ResponseEntity.ok(usuario));
     }
 
     @PostMapping
-    public ResponseEntity<Usuario> criar(@Valid @RequestBody UsuarioDTO dto) {
-        Usuario usuario = service.criar(dto);
+    public ResponseEntity<UsuarioRespostaDTO> criar(@Valid @RequestBody UsuarioDTO dto) {
+        UsuarioRespostaDTO usuario = UsuarioRespostaDTO.de(service.criar(dto));
         return ResponseEntity.status(HttpStatus.CREATED).body(usuario);
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Usuario> atualizar(@PathVariable Long id, 
-                                             @Valid @RequestBody UsuarioDTO dto) {
-        Usuario usuario = service.atualizar(id, dto);
+    public ResponseEntity<UsuarioRespostaDTO> atualizar(@PathVariable Long id, 
+                                                        @Valid @RequestBody UsuarioDTO dto) {
+        UsuarioRespostaDTO usuario = UsuarioRespostaDTO.de(service.atualizar(id, dto));
         return ResponseEntity.ok(usuario);
     }
 
@@ -56,14 +78,39 @@ public class UsuarioController {
     }
 
     @GetMapping("/search")
-    public ResponseEntity<List<Usuario>> buscar(
+    public ResponseEntity<List<UsuarioRespostaDTO>> buscar(
             @RequestParam(value = "q", required = false) String q,
             @RequestParam(value = "nome", required = false) String nome,
+            @RequestParam(value = "email", required = false) String email,
+            @RequestParam(value = "cpf", required = false) String cpf,
+            @RequestParam(value = "limite", defaultValue = "50") int limite,
+            HttpServletRequest request
+    ) {
+        return RespostaCondicional.seModificado(request, etag(), () ->
+                ResponseEntity.ok(service.buscar(q, nome, email, cpf, limite)));
+    }
+
+    /** Email/CPF livres para cadastro, usado pelo formulário antes do envio (público). */
+    @GetMapping("/disponibilidade")
+    public ResponseEntity<DisponibilidadeDTO> disponibilidade(
             @RequestParam(value = "email", required = false) String email,
             @RequestParam(value = "cpf", required = false) String cpf
     ) {
-        List<Usuario> usuarios = service.buscar(q, nome, email, cpf);
-        return ResponseEntity.ok(usuarios);
+        return ResponseEntity.ok(disponibilidadeService.verificar(email, cpf));
+    }
+
+    // Listas e buscas: versão global, muda com qualquer escrita em usuários
+    private String etag() {
+        return RespostaCondicional.etag('u', service.getVersao());
+    }
+
+    // Um usuário: só muda quando ele mesmo é alterado. A leitura (pelo cache)
+    // vem antes da comparação, mas o 304 ainda dispensa serializar o corpo.
+    private static String etag(UsuarioRespostaDTO usuario) {
+        LocalDateTime alterado = usuario.getUpdatedAt() != null ? usuario.getUpdatedAt() : usuario.getCreatedAt();
+        long micros = alterado == null ? 0
+                : alterado.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + alterado.getNano() / 1_000;
+        return RespostaCondicional.etag('u', usuario.getId(), micros);
     }
     
 }
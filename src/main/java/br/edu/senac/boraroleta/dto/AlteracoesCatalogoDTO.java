@@ -0,0 +1,63 @@
+package br.edu.senac.boraroleta.dto;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object da sincronização incremental do catálogo.
+ * 
+ * Traz o que mudou desde o token enviado pelo cliente e o token a usar na
+ * próxima chamada.
+ * 
+ * @author Equipe Bora Roleta - SENAC 2025
+ * @version 1.0
+ */
+public class AlteracoesCatalogoDTO {
+
+    /** Estabelecimentos criados ou alterados, no estado atual */
+    private final List<EstabelecimentoRespostaDTO> alterados;
+
+    /** IDs dos estabelecimentos excluídos */
+    private final List<Long> removidos;
+
+    /** Token a enviar em {@code since} na próxima chamada */
+    private final String token;
+
+    /** true se há mais alterações além desta página (chamar de novo com o novo token) */
+    private final boolean maisPaginas;
+
+    /**
+     * true se o token enviado não vale mais (expirado ou de outro banco): o
+     * cliente deve descartar a cópia local, já que esta resposta recomeça do zero
+     */
+    private final boolean reiniciar;
+
+    public AlteracoesCatalogoDTO(List<EstabelecimentoRespostaDTO> alterados, List<Long> removidos,
+                                 String token, boolean maisPaginas, boolean reiniciar) {
+        this.alterados = alterados;
+        this.removidos = removidos;
+        this.token = token;
+        this.maisPaginas = maisPaginas;
+        this.reiniciar = reiniciar;
+    }
+
+    // Getters
+    public List<EstabelecimentoRespostaDTO> getAlterados() {
+        return alterados;
+    }
+
+    public List<Long> getRemovidos() {
+        return removidos;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    public boolean isMaisPaginas() {
+        return maisPaginas;
+    }
+
+    public boolean isReiniciar() {
+        return reiniciar;
+    }
+}
@@ -0,0 +1,32 @@
+package br.edu.senac.boraroleta.dto;
+
+/**
+ * Data Transfer Object da verificação de disponibilidade do cadastro.
+ * 
+ * Cada campo é null quando o valor correspondente não foi consultado.
+ * 
+ * @author Equipe Bora Roleta - SENAC 2025
+ * @version 1.0
+ */
+public class DisponibilidadeDTO {
+
+    /** true se nenhum usuário usa o email informado */
+    private final Boolean emailDisponivel;
+
+    /** true se nenhum usuário usa o CPF informado */
+    private final Boolean cpfDisponivel;
+
+    public DisponibilidadeDTO(Boolean emailDisponivel, Boolean cpfDisponivel) {
+        this.emailDisponivel = emailDisponivel;
+        this.cpfDisponivel = cpfDisponivel;
+    }
+
+    // Getters
+    public Boolean getEmailDisponivel() {
+        return emailDisponivel;
+    }
+
+    public Boolean getCpfDisponivel() {
+        return cpfDisponivel;
+    }
+}
@@ -0,0 +1,70 @@
+package br.edu.senac.boraroleta.dto;
+
+/**
+ * Data Transfer Object para resultados da busca por nome.
+ * 
+ * Contém os dados do estabelecimento mantidos no índice de trigramas
+ * e a similaridade entre o nome e o texto buscado.
+ * 
+ * @author Equipe Bora Roleta - SENAC 2025
+ * @version 1.0
+ */
+public class EstabelecimentoBuscaDTO {
+
+    private Long id;
+    private String nome;
+    private String categoria;
+    private String endereco;
+    private Double latitude;
+    private Double longitude;
+    private Double avaliacaoMedia;
+
+    /** Similaridade de trigramas entre 0 e 1 (1 = nomes equivalentes) */
+    private double similaridade;
+
+    public EstabelecimentoBuscaDTO(Long id, String nome, String categoria, String endereco,
+                                   Double latitude, Double longitude, Double avaliacaoMedia,
+                                   double similaridade) {
+        this.id = id;
+        this.nome = nome;
+        this.categoria = categoria;
+        this.endereco = endereco;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.avaliacaoMedia = avaliacaoMedia;
+        this.similaridade = similaridade;
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public String getCategoria() {
+        return categoria;
+    }
+
+    public String getEndereco() {
+        return endereco;
+    }
+
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public Double getAvaliacaoMedia() {
+        return avaliacaoMedia;
+    }
+
+    public double getSimilaridade() {
+        return similaridade;
+    }
+}
@@ -0,0 +1,51 @@
+package br.edu.senac.boraroleta.dto;
+
+/**
+ * Data Transfer Object de um agrupamento de estabelecimentos no mapa.
+ * 
+ * Um marcador por célula da grade: quantidade, centroide e a categoria com
+ * mais estabelecimentos. Quando a célula tem um só estabelecimento, o
+ * {@code id} vem preenchido para abrir os detalhes direto.
+ * 
+ * @author Equipe Bora Roleta - SENAC 2025
+ * @version 1.0
+ */
+public class EstabelecimentoClusterDTO {
+
+    private final double lat;
+    private final double lng;
+    private final int quantidade;
+    private final String categoria;
+    private final Long id;
+
+    public EstabelecimentoClusterDTO(double lat, double lng, int quantidade, String categoria, Long id) {
+        this.lat = lat;
+        this.lng = lng;
+        this.quantidade = quantidade;
+        this.categoria = categoria;
+        this.id = id;
+    }
+
+    // Getters
+    public double getLat() {
+        return lat;
+    }
+
+    public double getLng() {
+        return lng;
+    }
+
+    public int getQuantidade() {
+        return quantidade;
+    }
+
+    /** Categoria predominante na célula */
+    public String getCategoria() {
+        return categoria;
+    }
+
+    /** ID do estabelecimento quando {@code quantidade == 1}; senão null */
+    public Long getId() {
+        return id;
+    }
+}
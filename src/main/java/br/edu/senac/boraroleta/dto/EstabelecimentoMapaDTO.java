@@ -0,0 +1,48 @@
+package br.edu.senac.boraroleta.dto;
+
+/**
+ * Data Transfer Object enxuto para marcadores no mapa.
+ * 
+ * Só o necessário para desenhar o pino; os detalhes são buscados
+ * em {@code /api/estabelecimentos/{id}} quando o usuário abre o lugar.
+ * 
+ * @author Equipe Bora Roleta - SENAC 2025
+ * @version 1.0
+ */
+public class EstabelecimentoMapaDTO {
+
+    private final Long id;
+    private final String nome;
+    private final String categoria;
+    private final Double lat;
+    private final Double lng;
+
+    public EstabelecimentoMapaDTO(Long id, String nome, String categoria, Double lat, Double lng) {
+        this.id = id;
+        this.nome = nome;
+        this.categoria = categoria;
+        this.lat = lat;
+        this.lng = lng;
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public String getCategoria() {
+        return categoria;
+    }
+
+    public Double getLat() {
+        return lat;
+    }
+
+    public Double getLng() {
+        return lng;
+    }
+}
@@ -0,0 +1,70 @@
+package br.edu.senac.boraroleta.dto;
+
+/**
+ * Data Transfer Object para resultados da busca por proximidade.
+ * 
+ * Contém os dados do estabelecimento mantidos no índice geográfico
+ * e a distância até o ponto consultado.
+ * 
+ * @author Equipe Bora Roleta - SENAC 2025
+ * @version 1.0
+ */
+public class EstabelecimentoProximoDTO {
+
+    private Long id;
+    private String nome;
+    private String categoria;
+    private String endereco;
+    private Double latitude;
+    private Double longitude;
+    private Double avaliacaoMedia;
+
+    /** Distância em metros até o ponto consultado */
+    private long distanciaMetros;
+
+    public EstabelecimentoProximoDTO(Long id, String nome, String categoria, String endereco,
+                                     Double latitude, Double longitude, Double avaliacaoMedia,
+                                     long distanciaMetros) {
+        this.id = id;
+        this.nome = nome;
+        this.categoria = categoria;
+        this.endereco = endereco;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.avaliacaoMedia = avaliacaoMedia;
+        this.distanciaMetros = distanciaMetros;
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public String getCategoria() {
+        return categoria;
+    }
+
+    public String getEndereco() {
+        return endereco;
+    }
+
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public Double getAvaliacaoMedia() {
+        return avaliacaoMedia;
+    }
+
+    public long getDistanciaMetros() {
+        return distanciaMetros;
+    }
+}
@@ -0,0 +1,91 @@
+package br.edu.senac.boraroleta.dto;
+
+import br.edu.senac.boraroleta.model.Estabelecimento;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object de leitura de estabelecimentos.
+ * 
+ * Preenchido direto pelas consultas do repositório (projeção por construtor),
+ * sem hidratar nem gerenciar a entidade. Imutável, pode ser guardado em cache.
+ * 
+ * @author Equipe Bora Roleta - SENAC 2025
+ * @version 1.0
+ */
+public class EstabelecimentoRespostaDTO {
+
+    private final Long id;
+    private final String nome;
+    private final String categoria;
+    private final String endereco;
+    private final Double latitude;
+    private final Double longitude;
+    private final String telefone;
+    private final Double avaliacaoMedia;
+    private final String googlePlaceId;
+    private final LocalDateTime createdAt;
+
+    public EstabelecimentoRespostaDTO(Long id, String nome, String categoria, String endereco,
+                                      Double latitude, Double longitude, String telefone,
+                                      Double avaliacaoMedia, String googlePlaceId, LocalDateTime createdAt) {
+        this.id = id;
+        this.nome = nome;
+        this.categoria = categoria;
+        this.endereco = endereco;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.telefone = telefone;
+        this.avaliacaoMedia = avaliacaoMedia;
+        this.googlePlaceId = googlePlaceId;
+        this.createdAt = createdAt;
+    }
+
+    /** Converte a entidade devolvida por uma escrita. */
+    public static EstabelecimentoRespostaDTO de(Estabelecimento e) {
+        return new EstabelecimentoRespostaDTO(e.getId(), e.getNome(), e.getCategoria(), e.getEndereco(),
+                e.getLatitude(), e.getLongitude(), e.getTelefone(), e.getAvaliacaoMedia(),
+                e.getGooglePlaceId(), e.getCreatedAt());
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public String getCategoria() {
+        return categoria;
+    }
+
+    public String getEndereco() {
+        return endereco;
+    }
+
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public String getTelefone() {
+        return telefone;
+    }
+
+    public Double getAvaliacaoMedia() {
+        return avaliacaoMedia;
+    }
+
+    public String getGooglePlaceId() {
+        return googlePlaceId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
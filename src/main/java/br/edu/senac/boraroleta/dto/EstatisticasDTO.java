@@ -0,0 +1,53 @@
+package br.edu.senac.boraroleta.dto;
+
+import java.util.Map;
+
+/**
+ * Data Transfer Object com os números agregados do painel Admin.
+ * 
+ * @author Equipe Bora Roleta - SENAC 2025
+ * @version 1.0
+ */
+public class EstatisticasDTO {
+
+    private long totalEstabelecimentos;
+
+    /** Quantidade de estabelecimentos por categoria, em ordem alfabética */
+    private Map<String, Long> estabelecimentosPorCategoria;
+
+    private long totalUsuarios;
+
+    private long administradores;
+
+    /** Cadastros por dia (yyyy-MM-dd), do mais antigo ao mais recente, incluindo dias sem cadastro */
+    private Map<String, Long> cadastrosPorDia;
+
+    public EstatisticasDTO(long totalEstabelecimentos, Map<String, Long> estabelecimentosPorCategoria,
+                           long totalUsuarios, long administradores, Map<String, Long> cadastrosPorDia) {
+        this.totalEstabelecimentos = totalEstabelecimentos;
+        this.estabelecimentosPorCategoria = estabelecimentosPorCategoria;
+        this.totalUsuarios = totalUsuarios;
+        this.administradores = administradores;
+        this.cadastrosPorDia = cadastrosPorDia;
+    }
+
+    public long getTotalEstabelecimentos() {
+        return totalEstabelecimentos;
+    }
+
+    public Map<String, Long> getEstabelecimentosPorCategoria() {
+        return estabelecimentosPorCategoria;
+    }
+
+    public long getTotalUsuarios() {
+        return totalUsuarios;
+    }
+
+    public long getAdministradores() {
+        return administradores;
+    }
+
+    public Map<String, Long> getCadastrosPorDia() {
+        return cadastrosPorDia;
+    }
+}
@@ -0,0 +1,75 @@
+package br.edu.senac.boraroleta.dto;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object com o progresso de uma importação em lote.
+ * 
+ * Um objeto é emitido ao final de cada lote gravado; o último tem
+ * {@code concluido = true} e traz os totais da importação.
+ * 
+ * @author Equipe Bora Roleta - SENAC 2025
+ * @version 1.0
+ */
+public class ImportacaoProgressoDTO {
+
+    /** Número do lote (começando em 1) */
+    private int lote;
+
+    /** Registros lidos até aqui */
+    private long lidos;
+
+    /** Registros gravados até aqui */
+    private long inseridos;
+
+    /** Registros ignorados por já existirem (mesmo googlePlaceId) */
+    private long duplicados;
+
+    /** Registros recusados por erro de leitura ou validação */
+    private long rejeitados;
+
+    private boolean concluido;
+
+    /** Erros do lote atual (limitados para não crescer com o arquivo) */
+    private List<String> erros;
+
+    public ImportacaoProgressoDTO(int lote, long lidos, long inseridos, long duplicados, long rejeitados,
+                                  boolean concluido, List<String> erros) {
+        this.lote = lote;
+        this.lidos = lidos;
+        this.inseridos = inseridos;
+        this.duplicados = duplicados;
+        this.rejeitados = rejeitados;
+        this.concluido = concluido;
+        this.erros = erros;
+    }
+
+    // Getters
+    public int getLote() {
+        return lote;
+    }
+
+    public long getLidos() {
+        return lidos;
+    }
+
+    public long getInseridos() {
+        return inseridos;
+    }
+
+    public long getDuplicados() {
+        return duplicados;
+    }
+
+    public long getRejeitados() {
+        return rejeitados;
+    }
+
+    public boolean isConcluido() {
+        return concluido;
+    }
+
+    public List<String> getErros() {
+        return erros;
+    }
+}
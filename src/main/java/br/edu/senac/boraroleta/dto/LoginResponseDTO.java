@@ -22,6 +22,12 @@ public class LoginResponseDTO {
     /** Flag indicando se o usuário tem permissões de administrador */
     private boolean isAdmin;
 
+    /** Token de sessão assinado, enviado em {@code Authorization: Bearer} */
+    private String token;
+
+    /** Expiração do token, em milissegundos desde a época */
+    private Long expiraEm;
+
     /**
      * Construtor com todos os campos.
      * 
@@ -69,4 +75,20 @@ public class LoginResponseDTO {
     public void setAdmin(boolean admin) {
         isAdmin = admin;
     }
+
+    public String getToken() {
+        return token;
+    }
+
+    public void setToken(String token) {
+        this.token = token;
+    }
+
+    public Long getExpiraEm() {
+        return expiraEm;
+    }
+
+    public void setExpiraEm(Long expiraEm) {
+        this.expiraEm = expiraEm;
+    }
 }
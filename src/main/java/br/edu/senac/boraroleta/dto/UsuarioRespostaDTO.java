@@ -0,0 +1,77 @@
+package br.edu.senac.boraroleta.dto;
+
+import br.edu.senac.boraroleta.model.Usuario;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object de leitura de usuários.
+ * 
+ * Nunca expõe o hash da senha nem as colunas internas de busca. Preenchido
+ * direto pelas consultas do repositório (projeção por construtor).
+ * 
+ * @author Equipe Bora Roleta - SENAC 2025
+ * @version 1.0
+ */
+public class UsuarioRespostaDTO {
+
+    private final Long id;
+    private final String nome;
+    private final String email;
+    private final String cpf;
+    private final String telefone;
+    private final boolean admin;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+
+    public UsuarioRespostaDTO(Long id, String nome, String email, String cpf, String telefone,
+                              boolean admin, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.nome = nome;
+        this.email = email;
+        this.cpf = cpf;
+        this.telefone = telefone;
+        this.admin = admin;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
+    /** Converte a entidade devolvida por uma escrita. */
+    public static UsuarioRespostaDTO de(Usuario u) {
+        return new UsuarioRespostaDTO(u.getId(), u.getNome(), u.getEmail(), u.getCpf(), u.getTelefone(),
+                u.isAdmin(), u.getCreatedAt(), u.getUpdatedAt());
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getCpf() {
+        return cpf;
+    }
+
+    public String getTelefone() {
+        return telefone;
+    }
+
+    public boolean isAdmin() {
+        return admin;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
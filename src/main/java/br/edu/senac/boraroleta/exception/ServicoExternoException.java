@@ -0,0 +1,17 @@
+package br.edu.senac.boraroleta.exception;
+
+/**
+ * Lançada quando um serviço externo (ex.: a Places API) falha ou não está
+ * configurado. O problema não é da requisição do cliente, então a resposta é
+ * 502 e não 400.
+ */
+public class ServicoExternoException extends RuntimeException {
+
+    public ServicoExternoException(String message) {
+        super(message);
+    }
+
+    public ServicoExternoException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,17 @@
+package br.edu.senac.boraroleta.exception;
+
+/**
+ * Lançada quando um recurso limitado (ex.: o pool de hashing de senhas) está
+ * no limite e a requisição é recusada em vez de esperar indefinidamente.
+ * Respondida com 503 e {@code Retry-After}.
+ */
+public class ServicoSobrecarregadoException extends RuntimeException {
+
+    public ServicoSobrecarregadoException(String message) {
+        super(message);
+    }
+
+    public ServicoSobrecarregadoException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -4,7 +4,11 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "estabelecimentos")
+@Table(name = "estabelecimentos", indexes = {
+        @Index(name = "idx_estabelecimentos_categoria_id", columnList = "categoria, id"),
+        @Index(name = "idx_estabelecimentos_lat_lng", columnList = "latitude, longitude"),
+        @Index(name = "idx_estabelecimentos_versao_alteracao", columnList = "versao_alteracao")
+})
 public class Estabelecimento {
 
     @Id
@@ -38,9 +42,22 @@ public class Estabelecimento {
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Posição na sequência de alterações do catálogo (ver AlteracoesCatalogo)
+    @Column(name = "versao_alteracao", nullable = false)
+    private Long versaoAlteracao;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
+        updatedAt = createdAt;
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
     }
 
     // Getters e Setters
@@ -119,4 +136,16 @@ public class Estabelecimento {
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public Long getVersaoAlteracao() {
+        return versaoAlteracao;
+    }
+
+    public void setVersaoAlteracao(Long versaoAlteracao) {
+        this.versaoAlteracao = versaoAlteracao;
+    }
 }
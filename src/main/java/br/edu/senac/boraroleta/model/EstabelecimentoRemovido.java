@@ -0,0 +1,47 @@
+package br.edu.senac.boraroleta.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Registro de exclusão (tombstone) de um estabelecimento, para que a
+ * sincronização incremental avise os clientes que ainda têm o item.
+ */
+@Entity
+@Table(name = "estabelecimentos_removidos", indexes = {
+        @Index(name = "idx_estabelecimentos_removidos_versao", columnList = "versao")
+})
+public class EstabelecimentoRemovido {
+
+    // Mesmo ID do estabelecimento excluído (IDs não são reaproveitados)
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private Long versao;
+
+    @Column(name = "removido_em", nullable = false)
+    private LocalDateTime removidoEm;
+
+    protected EstabelecimentoRemovido() {
+    }
+
+    public EstabelecimentoRemovido(Long id, Long versao) {
+        this.id = id;
+        this.versao = versao;
+        this.removidoEm = LocalDateTime.now();
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public Long getVersao() {
+        return versao;
+    }
+
+    public LocalDateTime getRemovidoEm() {
+        return removidoEm;
+    }
+}
@@ -0,0 +1,43 @@
+package br.edu.senac.boraroleta.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Linha única com o contador de alterações do catálogo.
+ * <p>
+ * Lida e incrementada por SQL direto em {@code AlteracoesCatalogo}; a entidade
+ * existe para que o esquema seja validado (e criado no perfil de teste).
+ * </p>
+ */
+@Entity
+@Table(name = "catalogo_sequencia")
+public class SequenciaCatalogo {
+
+    public static final int ID = 1;
+
+    @Id
+    private Integer id;
+
+    /** Última versão atribuída a uma alteração confirmada */
+    @Column(nullable = false)
+    private Long valor;
+
+    /** Maior versão de tombstone já expurgada; tokens anteriores exigem recarga completa */
+    @Column(name = "horizonte_removidos", nullable = false)
+    private Long horizonteRemovidos;
+
+    protected SequenciaCatalogo() {
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public Long getValor() {
+        return valor;
+    }
+
+    public Long getHorizonteRemovidos() {
+        return horizonteRemovidos;
+    }
+}
@@ -1,10 +1,21 @@
 package br.edu.senac.boraroleta.model;
 
+import br.edu.senac.boraroleta.service.busca.TextoBusca;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
 
 @Entity
-@Table(name = "usuarios")
+@Table(name = "usuarios", indexes = {
+        @Index(name = "idx_usuarios_cpf", columnList = "cpf"),
+        @Index(name = "idx_usuarios_email_normalizado", columnList = "email_normalizado"),
+        @Index(name = "idx_usuarios_nome_normalizado", columnList = "nome_normalizado")
+}, uniqueConstraints = {
+        // um CPF por conta, com ou sem máscara; o cadastro depende desta restrição
+        @UniqueConstraint(name = "uk_usuarios_cpf_normalizado", columnNames = "cpf_normalizado")
+})
 public class Usuario {
 
     @Id
@@ -35,15 +46,65 @@ public class Usuario {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Colunas derivadas usadas pela busca do Admin (mantidas pelos callbacks abaixo)
+    @Column(name = "cpf_normalizado", length = 11)
+    private String cpfNormalizado;
+
+    @Column(name = "email_normalizado", length = 100)
+    private String emailNormalizado;
+
+    @Column(name = "nome_normalizado", length = 100)
+    private String nomeNormalizado;
+
+    // Nome dobrado a partir de cada palavra, para achar "João da Silva" por "silva"
+    @ElementCollection
+    @CollectionTable(name = "usuarios_nome_sufixos",
+            joinColumns = @JoinColumn(name = "usuario_id"),
+            indexes = @Index(name = "idx_usuarios_nome_sufixos_sufixo", columnList = "sufixo"))
+    @Column(name = "sufixo", nullable = false, length = 100)
+    private Set<String> sufixosNome = new HashSet<>();
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
+        normalizarCamposDeBusca();
     }
 
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
+        normalizarColunasDeBusca();
+    }
+
+    /**
+     * Recalcula as colunas de busca: CPF só com dígitos, email em minúsculas
+     * e nome sem acentos/pontuação, além dos sufixos do nome.
+     */
+    public void normalizarCamposDeBusca() {
+        normalizarColunasDeBusca();
+        atualizarSufixosNome();
+    }
+
+    private void normalizarColunasDeBusca() {
+        cpfNormalizado = cpf == null ? null : cpf.replaceAll("[^0-9]", "");
+        emailNormalizado = normalizarEmail(email);
+        nomeNormalizado = nome == null ? null : TextoBusca.dobrar(nome);
+    }
+
+    /** Email como fica em {@code email_normalizado}: sem espaços nas pontas e em minúsculas. */
+    public static String normalizarEmail(String email) {
+        return email == null ? null : email.trim().toLowerCase();
+    }
+
+    // Fora do @PreUpdate: alterar a coleção durante o flush não é gravado, e
+    // compará-la carregaria os sufixos a cada update. Quem troca o nome é o setter.
+    private void atualizarSufixosNome() {
+        Set<String> novos = TextoBusca.sufixosPorPalavra(nome);
+        if (!sufixosNome.equals(novos)) {
+            sufixosNome.clear();
+            sufixosNome.addAll(novos);
+        }
     }
 
     // Getters e Setters
@@ -60,7 +121,11 @@ public class Usuario {
     }
 
     public void setNome(String nome) {
+        boolean mudou = !Objects.equals(this.nome, nome);
         this.nome = nome;
+        if (mudou) {
+            atualizarSufixosNome();
+        }
     }
 
     public String getEmail() {
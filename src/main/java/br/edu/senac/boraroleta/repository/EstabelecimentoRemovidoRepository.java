@@ -0,0 +1,30 @@
+package br.edu.senac.boraroleta.repository;
+
+import br.edu.senac.boraroleta.model.EstabelecimentoRemovido;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+@Transactional(readOnly = true)
+public interface EstabelecimentoRemovidoRepository extends JpaRepository<EstabelecimentoRemovido, Long> {
+
+    // Tombstones da faixa (desde, ate], em ordem de versão
+    List<EstabelecimentoRemovido> findByVersaoGreaterThanAndVersaoLessThanEqualOrderByVersaoAsc(
+            Long desde, Long ate, Limit limit);
+
+    @Query("SELECT MAX(r.versao) FROM EstabelecimentoRemovido r WHERE r.removidoEm < :limite")
+    Long maiorVersaoRemovidaAntesDe(@Param("limite") LocalDateTime limite);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM EstabelecimentoRemovido r WHERE r.versao <= :versao")
+    int expurgarAte(@Param("versao") Long versao);
+}
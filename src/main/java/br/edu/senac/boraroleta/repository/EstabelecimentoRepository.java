@@ -1,20 +1,72 @@
 package br.edu.senac.boraroleta.repository;
 
+import br.edu.senac.boraroleta.dto.EstabelecimentoMapaDTO;
+import br.edu.senac.boraroleta.dto.EstabelecimentoRespostaDTO;
 import br.edu.senac.boraroleta.model.Estabelecimento;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
+@Transactional(readOnly = true)
 public interface EstabelecimentoRepository extends JpaRepository<Estabelecimento, Long> {
-    
-    List<Estabelecimento> findByCategoria(String categoria);
+
+    /** Projeção de leitura: DTO montado na consulta, sem entidade gerenciada. */
+    String RESPOSTA = "SELECT new br.edu.senac.boraroleta.dto.EstabelecimentoRespostaDTO("
+            + "e.id, e.nome, e.categoria, e.endereco, e.latitude, e.longitude, e.telefone, "
+            + "e.avaliacaoMedia, e.googlePlaceId, e.createdAt) FROM Estabelecimento e ";
+
+    @Query(RESPOSTA + "WHERE e.id = :id")
+    Optional<EstabelecimentoRespostaDTO> buscarRespostaPorId(@Param("id") Long id);
+
+    @Query(RESPOSTA + "WHERE e.categoria = :categoria ORDER BY e.id")
+    List<EstabelecimentoRespostaDTO> listarPorCategoria(@Param("categoria") String categoria);
     
     Optional<Estabelecimento> findByGooglePlaceId(String googlePlaceId);
     
-    List<Estabelecimento> findByNomeContainingIgnoreCase(String nome);
-    
     boolean existsByGooglePlaceId(String googlePlaceId);
+
+    List<Estabelecimento> findByGooglePlaceIdIn(Collection<String> googlePlaceIds);
+
+    @Query("SELECT e.googlePlaceId FROM Estabelecimento e WHERE e.googlePlaceId IN :googlePlaceIds")
+    List<String> findGooglePlaceIdsExistentes(@Param("googlePlaceIds") Collection<String> googlePlaceIds);
+
+    // Paginação por cursor (keyset): sem OFFSET, usa o índice da chave primária
+    @Query(RESPOSTA + "WHERE e.id > :after ORDER BY e.id")
+    List<EstabelecimentoRespostaDTO> listarPagina(@Param("after") Long after, Limit limit);
+
+    // Versão enxuta para o mapa, com a mesma paginação por cursor
+    @Query("""
+            SELECT new br.edu.senac.boraroleta.dto.EstabelecimentoMapaDTO(e.id, e.nome, e.categoria, e.latitude, e.longitude)
+            FROM Estabelecimento e
+            WHERE e.id > :after AND (:categoria IS NULL OR e.categoria = :categoria)
+            ORDER BY e.id
+            """)
+    List<EstabelecimentoMapaDTO> listarMapa(@Param("after") Long after, @Param("categoria") String categoria,
+                                            Limit limit);
+
+    /**
+     * IDs e versões ({@code [Long, Long]}) alterados na faixa {@code (desde, ate]},
+     * em ordem de versão. Só lê o índice de {@code versao_alteracao}, que já carrega o ID.
+     */
+    @Query("""
+            SELECT e.id, e.versaoAlteracao FROM Estabelecimento e
+            WHERE e.versaoAlteracao > :desde AND e.versaoAlteracao <= :ate
+            ORDER BY e.versaoAlteracao
+            """)
+    List<Object[]> listarVersoesAlteradas(@Param("desde") long desde, @Param("ate") long ate, Limit limit);
+
+    @Query(RESPOSTA + "WHERE e.id IN :ids")
+    List<EstabelecimentoRespostaDTO> buscarRespostasPorIds(@Param("ids") Collection<Long> ids);
+
+    /** Contagem por categoria ({@code [String, Long]}), usada para montar as estatísticas. */
+    @Query("SELECT e.categoria, COUNT(e) FROM Estabelecimento e GROUP BY e.categoria")
+    List<Object[]> contarPorCategoria();
 }
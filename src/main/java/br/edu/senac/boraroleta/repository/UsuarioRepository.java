@@ -1,15 +1,32 @@
 package br.edu.senac.boraroleta.repository;
 
+import br.edu.senac.boraroleta.dto.UsuarioRespostaDTO;
 import br.edu.senac.boraroleta.model.Usuario;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
 @Repository
+@Transactional(readOnly = true)
 public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
+
+    /** Projeção de leitura: só as colunas expostas pela API, sem a senha. */
+    String RESPOSTA = "SELECT new br.edu.senac.boraroleta.dto.UsuarioRespostaDTO("
+            + "u.id, u.nome, u.email, u.cpf, u.telefone, u.isAdmin, u.createdAt, u.updatedAt) FROM Usuario u ";
     
     Optional<Usuario> findByEmail(String email);
+
+    @Query(RESPOSTA + "WHERE u.id = :id")
+    Optional<UsuarioRespostaDTO> buscarRespostaPorId(@Param("id") Long id);
+
+    // email já normalizado (Usuario.normalizarEmail), a mesma chave do cache
+    @Query(RESPOSTA + "WHERE u.emailNormalizado = :email")
+    Optional<UsuarioRespostaDTO> buscarRespostaPorEmail(@Param("email") String email);
     
     Optional<Usuario> findByCpf(String cpf);
     
@@ -17,7 +34,74 @@ public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
     
     boolean existsByCpf(String cpf);
 
-    // Suporte a buscas parciais para Admin
-    java.util.List<Usuario> findByNomeContainingIgnoreCase(String nome);
-    java.util.List<Usuario> findByEmailContainingIgnoreCase(String email);
+    // Confirmação dos acertos do filtro de disponibilidade (colunas indexadas)
+    boolean existsByEmailNormalizado(String emailNormalizado);
+
+    boolean existsByCpfNormalizado(String cpfNormalizado);
+
+    /** Email e CPF ({@code [Long, String, String]}) em páginas por cursor, para montar os filtros de disponibilidade. */
+    @Query("SELECT u.id, u.email, u.cpf FROM Usuario u WHERE u.id > :after ORDER BY u.id")
+    java.util.List<Object[]> listarEmailCpf(@Param("after") Long after, Limit limit);
+
+    /*
+     * Busca do Admin: um ramo por coluna, cada um com um único predicado de
+     * igualdade ou prefixo (LIKE 'x%') para que o MySQL use o índice da coluna.
+     * Juntos num OR, os três viravam uma varredura da tabela inteira. O
+     * UsuarioService junta os ramos na ordem do ranking: CPF, email, nome.
+     */
+
+    // CPF só com dígitos (igualdade, índice único)
+    @Query(RESPOSTA + "WHERE u.cpfNormalizado = :cpf")
+    java.util.List<UsuarioRespostaDTO> buscarPorCpfNormalizado(@Param("cpf") String cpf);
+
+    /**
+     * Prefixo do email normalizado; o email exato vem primeiro.
+     *
+     * @param email email em minúsculas (igualdade)
+     * @param prefixoEmail padrão LIKE de prefixo do email, com curingas escapados por '!'
+     */
+    @Query(RESPOSTA + """
+            WHERE u.emailNormalizado LIKE :prefixoEmail ESCAPE '!'
+            ORDER BY CASE WHEN u.emailNormalizado = :email THEN 0 ELSE 1 END, u.nomeNormalizado, u.id
+            """)
+    java.util.List<UsuarioRespostaDTO> buscarPorPrefixoEmail(@Param("email") String email,
+                                                   @Param("prefixoEmail") String prefixoEmail,
+                                                   Limit limit);
+
+    /**
+     * Prefixo do nome a partir de qualquer palavra, pelos sufixos em
+     * {@code usuarios_nome_sufixos}: acha "João da Silva" por "silva" ou
+     * "da sil". Ordem: nome exato, prefixo do nome inteiro, prefixo de outra
+     * palavra.
+     *
+     * @param nome nome dobrado (igualdade)
+     * @param prefixoNome padrão LIKE de prefixo do nome dobrado, com curingas escapados por '!'
+     */
+    @Query(RESPOSTA + """
+            WHERE u.id IN (
+                SELECT s.id FROM Usuario s JOIN s.sufixosNome sufixo
+                WHERE sufixo LIKE :prefixoNome ESCAPE '!')
+            ORDER BY CASE
+                WHEN u.nomeNormalizado = :nome THEN 0
+                WHEN u.nomeNormalizado LIKE :prefixoNome ESCAPE '!' THEN 1
+                ELSE 2
+            END, u.nomeNormalizado, u.id
+            """)
+    java.util.List<UsuarioRespostaDTO> buscarPorPrefixoNome(@Param("nome") String nome,
+                                                  @Param("prefixoNome") String prefixoNome,
+                                                  Limit limit);
+
+    // Backfill das colunas normalizadas em linhas anteriores a elas
+    java.util.List<Usuario> findByIdGreaterThanAndNomeNormalizadoIsNullOrderByIdAsc(Long id, Limit limit);
+
+    // Paginação por cursor (keyset): sem OFFSET, usa o índice da chave primária
+    @Query(RESPOSTA + "WHERE u.id > :after ORDER BY u.id")
+    java.util.List<UsuarioRespostaDTO> listarPagina(@Param("after") Long after, Limit limit);
+
+    /** Contagem de cadastros por dia ({@code [LocalDate, Long]}), usada para montar as estatísticas. */
+    @Query("SELECT EXTRACT(DATE FROM u.createdAt), COUNT(u) FROM Usuario u GROUP BY EXTRACT(DATE FROM u.createdAt)")
+    java.util.List<Object[]> contarCadastrosPorDia();
+
+    @Query("SELECT COUNT(u) FROM Usuario u WHERE u.isAdmin = true")
+    long contarAdministradores();
 }
@@ -0,0 +1,49 @@
+package br.edu.senac.boraroleta.service;
+
+import br.edu.senac.boraroleta.model.Estabelecimento;
+
+/**
+ * Evento publicado pelo {@link EstabelecimentoService} a cada escrita no catálogo.
+ * <p>
+ * Os índices em memória escutam este evento com
+ * {@code @TransactionalEventListener}, de modo que só enxergam alterações
+ * efetivamente confirmadas no banco.
+ * </p>
+ *
+ * @author Equipe Bora Roleta - SENAC
+ * @version 1.0
+ */
+public class EstabelecimentoAlteradoEvent {
+
+    public enum Tipo { CRIADO, ATUALIZADO, REMOVIDO }
+
+    private final Tipo tipo;
+
+    /** Estado após a escrita (para REMOVIDO, o último estado conhecido). */
+    private final Estabelecimento estabelecimento;
+
+    /** Categoria antes da escrita, quando uma atualização a alterou; senão null. */
+    private final String categoriaAnterior;
+
+    public EstabelecimentoAlteradoEvent(Tipo tipo, Estabelecimento estabelecimento) {
+        this(tipo, estabelecimento, null);
+    }
+
+    public EstabelecimentoAlteradoEvent(Tipo tipo, Estabelecimento estabelecimento, String categoriaAnterior) {
+        this.tipo = tipo;
+        this.estabelecimento = estabelecimento;
+        this.categoriaAnterior = categoriaAnterior;
+    }
+
+    public Tipo getTipo() {
+        return tipo;
+    }
+
+    public Estabelecimento getEstabelecimento() {
+        return estabelecimento;
+    }
+
+    public String getCategoriaAnterior() {
+        return categoriaAnterior;
+    }
+}
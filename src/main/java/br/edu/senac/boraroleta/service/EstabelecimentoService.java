@@ -1,41 +1,217 @@
 package br.edu.senac.boraroleta.service;
 
+import br.edu.senac.boraroleta.config.JanelaReplicacao;
+import br.edu.senac.boraroleta.dto.AlteracoesCatalogoDTO;
+import br.edu.senac.boraroleta.dto.EstabelecimentoBuscaDTO;
+import br.edu.senac.boraroleta.dto.EstabelecimentoClusterDTO;
 import br.edu.senac.boraroleta.dto.EstabelecimentoDTO;
+import br.edu.senac.boraroleta.dto.EstabelecimentoMapaDTO;
+import br.edu.senac.boraroleta.dto.EstabelecimentoProximoDTO;
+import br.edu.senac.boraroleta.dto.EstabelecimentoRespostaDTO;
 import br.edu.senac.boraroleta.exception.BusinessException;
 import br.edu.senac.boraroleta.exception.EntityNotFoundException;
 import br.edu.senac.boraroleta.model.Estabelecimento;
 import br.edu.senac.boraroleta.repository.EstabelecimentoRepository;
+import br.edu.senac.boraroleta.service.busca.EstabelecimentoNomeIndex;
+import br.edu.senac.boraroleta.service.cache.CacheLeitura;
+import br.edu.senac.boraroleta.service.cache.LeituraCompartilhada;
+import br.edu.senac.boraroleta.service.geo.EstabelecimentoClusterIndex;
+import br.edu.senac.boraroleta.service.geo.EstabelecimentoGeoIndex;
+import br.edu.senac.boraroleta.service.geo.Retangulo;
+import br.edu.senac.boraroleta.service.places.LugarEncontrado;
+import br.edu.senac.boraroleta.service.sincronizacao.AlteracoesCatalogo;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Service
 public class EstabelecimentoService {
 
+    /** Raio máximo aceito na busca por proximidade, em metros */
+    public static final double RAIO_MAXIMO_METROS = 50_000;
+
+    /** Quantidade máxima de resultados da busca por proximidade */
+    public static final int LIMITE_MAXIMO = 500;
+
+    /** Quantidade máxima de resultados da busca por nome */
+    public static final int LIMITE_MAXIMO_BUSCA = 100;
+
     @Autowired
     private EstabelecimentoRepository repository;
 
-    @Transactional(readOnly = true)
-    public List<Estabelecimento> listarTodos() {
-        return repository.findAll();
+    @Autowired
+    private EstabelecimentoGeoIndex geoIndex;
+
+    @Autowired
+    private EstabelecimentoNomeIndex nomeIndex;
+
+    @Autowired
+    private EstabelecimentoClusterIndex clusterIndex;
+
+    @Autowired
+    private AlteracoesCatalogo alteracoes;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${cache.entidades.tamanho-maximo:10000}")
+    private int cacheTamanhoMaximo;
+
+    @Value("${cache.entidades.ttl-segundos:300}")
+    private long cacheTtlSegundos;
+
+    @Value("${banco.replica.aderencia-ms:2000}")
+    private long aderenciaMs;
+
+    /**
+     * Versão do catálogo, avançada a cada escrita confirmada. Começa no instante
+     * do boot para que ETags emitidos antes de um restart não casem depois dele.
+     */
+    private final AtomicLong versaoCatalogo = new AtomicLong(System.currentTimeMillis());
+
+    private CacheLeitura<Long, EstabelecimentoRespostaDTO> cachePorId;
+    private CacheLeitura<String, List<EstabelecimentoRespostaDTO>> cachePorCategoria;
+
+    // Leituras sem cache cujas chamadas simultâneas idênticas dividem uma
+    // consulta; a chave é a lista dos parâmetros.
+    private LeituraCompartilhada<List<Object>, List<EstabelecimentoRespostaDTO>> leituraPagina;
+    private LeituraCompartilhada<List<Object>, List<EstabelecimentoMapaDTO>> leituraMapa;
+    private LeituraCompartilhada<List<Object>, AlteracoesCatalogoDTO> leituraAlteracoes;
+
+    /** Transação readOnly (réplica) em volta da consulta de uma leitura compartilhada. */
+    private TransactionTemplate somenteLeitura;
+
+    /** Recargas logo depois de uma escrita leem do primário (ver {@link JanelaReplicacao}). */
+    private JanelaReplicacao janelaReplicacao;
+
+    @PostConstruct
+    void iniciarCaches() {
+        cachePorId = new CacheLeitura<Long, EstabelecimentoRespostaDTO>("estabelecimento.id",
+                cacheTamanhoMaximo, cacheTtlSegundos).registrarMetricas(meterRegistry);
+        cachePorCategoria = new CacheLeitura<String, List<EstabelecimentoRespostaDTO>>("estabelecimento.categoria",
+                cacheTamanhoMaximo, cacheTtlSegundos).registrarMetricas(meterRegistry);
+        leituraPagina = new LeituraCompartilhada<List<Object>, List<EstabelecimentoRespostaDTO>>(
+                "estabelecimento.pagina", versaoCatalogo::get).registrarMetricas(meterRegistry);
+        leituraMapa = new LeituraCompartilhada<List<Object>, List<EstabelecimentoMapaDTO>>(
+                "estabelecimento.mapa", versaoCatalogo::get).registrarMetricas(meterRegistry);
+        leituraAlteracoes = new LeituraCompartilhada<List<Object>, AlteracoesCatalogoDTO>(
+                "estabelecimento.alteracoes", versaoCatalogo::get).registrarMetricas(meterRegistry);
+        somenteLeitura = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        somenteLeitura.setReadOnly(true);
+        janelaReplicacao = new JanelaReplicacao(aderenciaMs);
     }
 
-    @Transactional(readOnly = true)
-    public Estabelecimento buscarPorId(Long id) {
-        return repository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException("Estabelecimento", id));
+    /**
+     * Lista uma página ordenada por ID a partir do cursor informado.
+     *
+     * @param after último ID já recebido pelo cliente (null para a primeira página)
+     * @param limite tamanho da página
+     */
+    public List<EstabelecimentoRespostaDTO> listarPagina(Long after, int limite) {
+        validarLimite(limite);
+        long cursor = after == null ? 0L : after;
+        return leituraPagina.executar(Arrays.asList(cursor, limite),
+                chave -> janelaReplicacao.ler(() -> somenteLeitura.execute(status ->
+                        List.copyOf(repository.listarPagina(cursor, Limit.of(limite))))));
+    }
+
+    /**
+     * Página enxuta (id, nome, categoria, lat, lng) para desenhar o mapa.
+     *
+     * @param after último ID já recebido pelo cliente (null para a primeira página)
+     * @param categoria categoria exigida ou null para todas
+     * @param limite tamanho da página
+     */
+    public List<EstabelecimentoMapaDTO> listarMapa(Long after, String categoria, int limite) {
+        validarLimite(limite);
+        long cursor = after == null ? 0L : after;
+        return leituraMapa.executar(Arrays.asList(cursor, categoria, limite),
+                chave -> janelaReplicacao.ler(() -> somenteLeitura.execute(status ->
+                        List.copyOf(repository.listarMapa(cursor, categoria, Limit.of(limite))))));
+    }
+
+    private static void validarLimite(int limite) {
+        if (limite <= 0 || limite > Paginacao.LIMITE_MAXIMO) {
+            throw new BusinessException("Limite deve estar entre 1 e " + Paginacao.LIMITE_MAXIMO);
+        }
+    }
+
+    /** Busca pelo ID através do cache; só uma falta chega ao banco. */
+    public EstabelecimentoRespostaDTO buscarPorId(Long id) {
+        EstabelecimentoRespostaDTO estabelecimento = cachePorId.obter(id,
+                chave -> janelaReplicacao.ler(() -> repository.buscarRespostaPorId(chave).orElse(null)));
+        if (estabelecimento == null) {
+            throw new EntityNotFoundException("Estabelecimento", id);
+        }
+        return estabelecimento;
+    }
+
+    /** Lista da categoria através do cache (lista imutável e compartilhada). */
+    public List<EstabelecimentoRespostaDTO> buscarPorCategoria(String categoria) {
+        return cachePorCategoria.obter(categoria,
+                chave -> janelaReplicacao.ler(() -> List.copyOf(repository.listarPorCategoria(chave))));
     }
 
-    @Transactional(readOnly = true)
-    public List<Estabelecimento> buscarPorCategoria(String categoria) {
-        return repository.findByCategoria(categoria);
+    /**
+     * Busca por nome no índice de trigramas, tolerando acentos e erros de digitação.
+     *
+     * @param nome texto digitado
+     * @param limite quantidade máxima de resultados
+     * @return os nomes mais parecidos, do mais para o menos parecido
+     */
+    public List<EstabelecimentoBuscaDTO> buscarPorNome(String nome, int limite) {
+        if (limite <= 0 || limite > LIMITE_MAXIMO_BUSCA) {
+            throw new BusinessException("Limite deve estar entre 1 e " + LIMITE_MAXIMO_BUSCA);
+        }
+        return nomeIndex.buscar(nome, limite);
+    }
+
+    public List<EstabelecimentoProximoDTO> buscarProximos(double latitude, double longitude, double raioMetros,
+                                                          String categoria, int limite) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new BusinessException("Coordenadas inválidas");
+        }
+        if (raioMetros <= 0 || raioMetros > RAIO_MAXIMO_METROS) {
+            throw new BusinessException("Raio deve estar entre 1 e " + (long) RAIO_MAXIMO_METROS + " metros");
+        }
+        if (limite <= 0 || limite > LIMITE_MAXIMO) {
+            throw new BusinessException("Limite deve estar entre 1 e " + LIMITE_MAXIMO);
+        }
+        String filtro = (categoria == null || categoria.isBlank()) ? null : categoria.trim();
+        return geoIndex.buscar(latitude, longitude, raioMetros, filtro, limite);
     }
 
-    @Transactional(readOnly = true)
-    public List<Estabelecimento> buscarPorNome(String nome) {
-        return repository.findByNomeContainingIgnoreCase(nome);
+    /**
+     * Agrupamentos para desenhar o mapa no zoom informado (ver {@link EstabelecimentoClusterIndex}).
+     *
+     * @param bbox área visível
+     * @param zoom zoom do mapa
+     * @param categoria categoria exigida ou null para todas
+     */
+    public List<EstabelecimentoClusterDTO> buscarClusters(Retangulo bbox, int zoom, String categoria) {
+        String filtro = (categoria == null || categoria.isBlank()) ? null : categoria.trim();
+        return clusterIndex.buscar(bbox, zoom, filtro);
     }
 
     @Transactional
@@ -55,13 +231,16 @@ public class EstabelecimentoService {
         estabelecimento.setTelefone(dto.getTelefone());
         estabelecimento.setAvaliacaoMedia(dto.getAvaliacaoMedia());
         estabelecimento.setGooglePlaceId(dto.getGooglePlaceId());
+        estabelecimento.setVersaoAlteracao(alteracoes.proxima());
 
-        return repository.save(estabelecimento);
+        Estabelecimento salvo = repository.save(estabelecimento);
+        eventPublisher.publishEvent(new EstabelecimentoAlteradoEvent(EstabelecimentoAlteradoEvent.Tipo.CRIADO, salvo));
+        return salvo;
     }
 
     @Transactional
     public Estabelecimento atualizar(Long id, EstabelecimentoDTO dto) {
-        Estabelecimento estabelecimento = buscarPorId(id);
+        Estabelecimento estabelecimento = carregar(id);
 
         // Verifica se Google Place ID foi alterado e se já existe
         if (dto.getGooglePlaceId() != null && 
@@ -70,6 +249,7 @@ public class EstabelecimentoService {
             throw new BusinessException("Estabelecimento com este Google Place ID já cadastrado");
         }
 
+        String categoriaAnterior = estabelecimento.getCategoria();
         estabelecimento.setNome(dto.getNome());
         estabelecimento.setCategoria(dto.getCategoria());
         estabelecimento.setEndereco(dto.getEndereco());
@@ -78,13 +258,139 @@ public class EstabelecimentoService {
         estabelecimento.setTelefone(dto.getTelefone());
         estabelecimento.setAvaliacaoMedia(dto.getAvaliacaoMedia());
         estabelecimento.setGooglePlaceId(dto.getGooglePlaceId());
+        estabelecimento.setVersaoAlteracao(alteracoes.proxima());
 
-        return repository.save(estabelecimento);
+        Estabelecimento salvo = repository.save(estabelecimento);
+        eventPublisher.publishEvent(new EstabelecimentoAlteradoEvent(EstabelecimentoAlteradoEvent.Tipo.ATUALIZADO, salvo,
+                Objects.equals(categoriaAnterior, salvo.getCategoria()) ? null : categoriaAnterior));
+        return salvo;
+    }
+
+    /**
+     * Grava no catálogo os lugares trazidos pela Places API, casando pelo
+     * {@code googlePlaceId}. Lugares novos entram com a categoria informada;
+     * os já existentes mantêm a categoria e têm os demais dados atualizados.
+     *
+     * @return os estabelecimentos correspondentes, na ordem recebida
+     */
+    @Transactional
+    public List<Estabelecimento> sincronizarLugares(List<LugarEncontrado> lugares, String categoria) {
+        Map<String, Estabelecimento> existentes = new HashMap<>();
+        List<String> ids = lugares.stream().map(LugarEncontrado::placeId).toList();
+        for (Estabelecimento e : repository.findByGooglePlaceIdIn(ids)) {
+            existentes.put(e.getGooglePlaceId(), e);
+        }
+
+        List<Estabelecimento> resultado = new ArrayList<>(lugares.size());
+        for (LugarEncontrado lugar : lugares) {
+            Estabelecimento estabelecimento = existentes.get(lugar.placeId());
+            boolean novo = estabelecimento == null;
+            if (novo) {
+                estabelecimento = new Estabelecimento();
+                estabelecimento.setCategoria(categoria);
+                estabelecimento.setGooglePlaceId(lugar.placeId());
+            } else if (!mudou(estabelecimento, lugar)) {
+                resultado.add(estabelecimento);
+                continue;
+            }
+
+            estabelecimento.setNome(nomeDoLugar(lugar));
+            estabelecimento.setEndereco(enderecoDoLugar(lugar));
+            estabelecimento.setLatitude(lugar.latitude());
+            estabelecimento.setLongitude(lugar.longitude());
+            estabelecimento.setAvaliacaoMedia(lugar.avaliacao());
+            estabelecimento.setVersaoAlteracao(alteracoes.proxima());
+
+            Estabelecimento salvo = repository.save(estabelecimento);
+            existentes.put(lugar.placeId(), salvo);
+            eventPublisher.publishEvent(new EstabelecimentoAlteradoEvent(
+                    novo ? EstabelecimentoAlteradoEvent.Tipo.CRIADO : EstabelecimentoAlteradoEvent.Tipo.ATUALIZADO, salvo));
+            resultado.add(salvo);
+        }
+        return resultado;
+    }
+
+    // Compara com os valores já ajustados como são gravados; senão um nome longo
+    // ou um endereço ausente contaria como alteração em toda consulta
+    private static boolean mudou(Estabelecimento e, LugarEncontrado lugar) {
+        return !Objects.equals(e.getNome(), nomeDoLugar(lugar))
+                || !Objects.equals(e.getEndereco(), enderecoDoLugar(lugar))
+                || !Objects.equals(e.getLatitude(), lugar.latitude())
+                || !Objects.equals(e.getLongitude(), lugar.longitude())
+                || !Objects.equals(e.getAvaliacaoMedia(), lugar.avaliacao());
+    }
+
+    private static String nomeDoLugar(LugarEncontrado lugar) {
+        return lugar.nome().length() > 200 ? lugar.nome().substring(0, 200) : lugar.nome();
+    }
+
+    private static String enderecoDoLugar(LugarEncontrado lugar) {
+        return lugar.endereco() != null ? lugar.endereco() : "Endereço não disponível";
     }
 
     @Transactional
     public void deletar(Long id) {
-        Estabelecimento estabelecimento = buscarPorId(id);
+        Estabelecimento estabelecimento = carregar(id);
         repository.delete(estabelecimento);
+        alteracoes.registrarRemocao(id);
+        eventPublisher.publishEvent(new EstabelecimentoAlteradoEvent(EstabelecimentoAlteradoEvent.Tipo.REMOVIDO, estabelecimento));
+    }
+
+    /**
+     * Invalida os caches quando uma escrita é confirmada. O CRUD e a
+     * sincronização com a Places API publicam o evento; a importação publica o
+     * seu próprio, por lote ({@link #aoImportar}).
+     * As listas por categoria são poucas e são descartadas juntas, já que uma
+     * atualização pode ter mudado a categoria.
+     * <p>
+     * A versão do catálogo só avança depois da invalidação: quem ler a versão
+     * nova nunca recebe um valor antigo do cache. A janela de replicação abre
+     * antes de tudo, para que as recargas (e o snapshot) não busquem numa
+     * réplica atrasada a linha de antes da escrita.
+     * </p>
+     */
+    @TransactionalEventListener
+    public void aoAlterar(EstabelecimentoAlteradoEvent event) {
+        janelaReplicacao.registrarEscrita();
+        cachePorId.invalidar(event.getEstabelecimento().getId());
+        cachePorCategoria.invalidarTudo();
+        versaoCatalogo.incrementAndGet();
+    }
+
+    /** Um lote da importação: mesma invalidação, uma vez por lote. */
+    @TransactionalEventListener
+    public void aoImportar(EstabelecimentosImportadosEvent event) {
+        janelaReplicacao.registrarEscrita();
+        for (Estabelecimento e : event.getEstabelecimentos()) {
+            cachePorId.invalidar(e.getId());
+        }
+        cachePorCategoria.invalidarTudo();
+        versaoCatalogo.incrementAndGet();
+    }
+
+    /**
+     * Alterações desde o token da última sincronização (ver {@link AlteracoesCatalogo}).
+     */
+    public AlteracoesCatalogoDTO listarAlteracoes(String token, int limite) {
+        return leituraAlteracoes.executar(Arrays.asList(token, limite), chave -> alteracoes.listar(token, limite));
+    }
+
+    /** Versão atual do catálogo, base dos ETags das leituras. */
+    public long getVersaoCatalogo() {
+        return versaoCatalogo.get();
+    }
+
+    /** Carrega a entidade gerenciada pela transação corrente, sem passar pelo cache. */
+    private Estabelecimento carregar(Long id) {
+        return repository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Estabelecimento", id));
+    }
+
+    public CacheLeitura<Long, EstabelecimentoRespostaDTO> getCachePorId() {
+        return cachePorId;
+    }
+
+    public CacheLeitura<String, List<EstabelecimentoRespostaDTO>> getCachePorCategoria() {
+        return cachePorCategoria;
     }
 }
@@ -0,0 +1,30 @@
+package br.edu.senac.boraroleta.service;
+
+import br.edu.senac.boraroleta.model.Estabelecimento;
+
+import java.util.List;
+
+/**
+ * Evento publicado pela importação em massa, uma vez por lote confirmado.
+ * <p>
+ * Equivale a um {@link EstabelecimentoAlteradoEvent} de criação para cada
+ * item, mas deixa os índices em memória aplicarem o lote inteiro de uma vez
+ * (um lock, uma invalidação de cache, uma remontagem do snapshot).
+ * </p>
+ *
+ * @author Equipe Bora Roleta - SENAC
+ * @version 1.0
+ */
+public class EstabelecimentosImportadosEvent {
+
+    /** Estabelecimentos inseridos no lote, já com ID. */
+    private final List<Estabelecimento> estabelecimentos;
+
+    public EstabelecimentosImportadosEvent(List<Estabelecimento> estabelecimentos) {
+        this.estabelecimentos = List.copyOf(estabelecimentos);
+    }
+
+    public List<Estabelecimento> getEstabelecimentos() {
+        return estabelecimentos;
+    }
+}
@@ -0,0 +1,25 @@
+package br.edu.senac.boraroleta.service;
+
+/**
+ * Limites da paginação por cursor usados pelos endpoints de listagem.
+ *
+ * @author Equipe Bora Roleta - SENAC
+ * @version 1.0
+ */
+public final class Paginacao {
+
+    /** Tamanho da página quando o cliente não informa {@code limit} */
+    public static final int LIMITE_PADRAO = 100;
+
+    /** Maior página aceita numa única requisição */
+    public static final int LIMITE_MAXIMO = 1000;
+
+    /** Quantidade de linhas lidas do banco por vez na exportação NDJSON */
+    public static final int TAMANHO_LOTE = 500;
+
+    /** Header com o cursor da próxima página (ausente na última página) */
+    public static final String HEADER_PROXIMO_CURSOR = "X-Proximo-Cursor";
+
+    private Paginacao() {
+    }
+}
@@ -0,0 +1,113 @@
+package br.edu.senac.boraroleta.service;
+
+import br.edu.senac.boraroleta.exception.ServicoSobrecarregadoException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Executa o hashing BCrypt num pool de threads dedicado e limitado.
+ * <p>
+ * {@code encode} e {@code matches} são puramente CPU; rodá-los nas threads do
+ * Tomcat faz um pico de logins ocupar todas as threads de requisição. Aqui o
+ * trabalho vai para um pool do tamanho do número de núcleos com uma fila
+ * curta: quando a fila enche, a chamada falha na hora com
+ * {@link ServicoSobrecarregadoException} (HTTP 503) em vez de acumular espera.
+ * </p>
+ * <p>
+ * Métricas publicadas: {@code boraroleta.senha.fila} (tarefas aguardando),
+ * {@code boraroleta.senha.ativas}, {@code boraroleta.senha.hash} (timer por
+ * operação) e {@code boraroleta.senha.rejeitadas}.
+ * </p>
+ *
+ * @author Equipe Bora Roleta - SENAC
+ * @version 1.0
+ */
+@Service
+public class SenhaService {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final Timer tempoEncode;
+    private final Timer tempoMatches;
+    private final Counter rejeitadas;
+
+    public SenhaService(PasswordEncoder passwordEncoder,
+                        MeterRegistry registry,
+                        @Value("${seguranca.bcrypt.threads:0}") int threads,
+                        @Value("${seguranca.bcrypt.fila:64}") int fila) {
+        this.passwordEncoder = passwordEncoder;
+        int tamanho = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+
+        AtomicInteger contador = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(tamanho, tamanho, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(fila),
+                r -> {
+                    Thread t = new Thread(r, "bcrypt-" + contador.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.tempoEncode = Timer.builder("boraroleta.senha.hash").tag("operacao", "encode").register(registry);
+        this.tempoMatches = Timer.builder("boraroleta.senha.hash").tag("operacao", "matches").register(registry);
+        this.rejeitadas = Counter.builder("boraroleta.senha.rejeitadas").register(registry);
+        Gauge.builder("boraroleta.senha.fila", executor, e -> e.getQueue().size()).register(registry);
+        Gauge.builder("boraroleta.senha.ativas", executor, ThreadPoolExecutor::getActiveCount).register(registry);
+    }
+
+    /** Gera o hash BCrypt da senha no pool dedicado. */
+    public CompletableFuture<String> codificar(String senha) {
+        return submeter(() -> tempoEncode.record(() -> passwordEncoder.encode(senha)));
+    }
+
+    /** Confere a senha contra o hash BCrypt no pool dedicado. */
+    public CompletableFuture<Boolean> conferir(String senha, String hash) {
+        return submeter(() -> tempoMatches.record(() -> passwordEncoder.matches(senha, hash)));
+    }
+
+    /**
+     * Versão bloqueante de {@link #codificar(String)} para fluxos síncronos:
+     * a thread chamadora espera sem consumir CPU e a concorrência do hashing
+     * continua limitada pelo pool.
+     */
+    public String codificarAguardando(String senha) {
+        try {
+            return codificar(senha).join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw ex;
+        }
+    }
+
+    private <T> CompletableFuture<T> submeter(Supplier<T> tarefa) {
+        try {
+            return CompletableFuture.supplyAsync(tarefa, executor);
+        } catch (RejectedExecutionException ex) {
+            rejeitadas.increment();
+            return CompletableFuture.failedFuture(
+                    new ServicoSobrecarregadoException("Muitas requisições de login no momento, tente novamente", ex));
+        }
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,37 @@
+package br.edu.senac.boraroleta.service;
+
+import br.edu.senac.boraroleta.model.Usuario;
+
+/**
+ * Evento publicado pelo {@link UsuarioService} a cada escrita em usuários.
+ * <p>
+ * O cadastro não roda dentro de uma transação (o BCrypt não deve segurar
+ * conexão), então quem escuta com {@code @TransactionalEventListener} precisa
+ * de {@code fallbackExecution = true} para receber os eventos de criação.
+ * </p>
+ *
+ * @author Equipe Bora Roleta - SENAC
+ * @version 1.0
+ */
+public class UsuarioAlteradoEvent {
+
+    public enum Tipo { CRIADO, ATUALIZADO, REMOVIDO }
+
+    private final Tipo tipo;
+
+    /** Estado após a escrita (para REMOVIDO, o último estado conhecido). */
+    private final Usuario usuario;
+
+    public UsuarioAlteradoEvent(Tipo tipo, Usuario usuario) {
+        this.tipo = tipo;
+        this.usuario = usuario;
+    }
+
+    public Tipo getTipo() {
+        return tipo;
+    }
+
+    public Usuario getUsuario() {
+        return usuario;
+    }
+}
@@ -1,20 +1,38 @@
 package br.edu.senac.boraroleta.service;
 
+import br.edu.senac.boraroleta.config.JanelaReplicacao;
 import br.edu.senac.boraroleta.dto.LoginDTO;
 import br.edu.senac.boraroleta.dto.LoginResponseDTO;
 import br.edu.senac.boraroleta.dto.UsuarioDTO;
+import br.edu.senac.boraroleta.dto.UsuarioRespostaDTO;
 import br.edu.senac.boraroleta.exception.BusinessException;
 import br.edu.senac.boraroleta.exception.EntityNotFoundException;
 import br.edu.senac.boraroleta.model.Usuario;
 import br.edu.senac.boraroleta.repository.UsuarioRepository;
+import br.edu.senac.boraroleta.service.busca.TextoBusca;
+import br.edu.senac.boraroleta.service.cache.CacheLeitura;
+import br.edu.senac.boraroleta.service.cache.LeituraCompartilhada;
+import br.edu.senac.boraroleta.service.seguranca.TokenService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.List;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Service
 public class UsuarioService {
@@ -23,62 +41,171 @@ public class UsuarioService {
     private UsuarioRepository repository;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private SenhaService senhaService;
 
-    @Transactional(readOnly = true)
-    public List<Usuario> listarTodos() {
-        return repository.findAll();
-    }
+    @Autowired
+    private TokenService tokenService;
 
-    @Transactional(readOnly = true)
-    public Usuario buscarPorId(Long id) {
-        return repository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException("Usuario", id));
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${cache.entidades.tamanho-maximo:10000}")
+    private int cacheTamanhoMaximo;
+
+    @Value("${cache.entidades.ttl-segundos:300}")
+    private long cacheTtlSegundos;
+
+    @Value("${banco.replica.aderencia-ms:2000}")
+    private long aderenciaMs;
+
+    /** Login fixo admin/admin, só para desenvolvimento local (perfil test). */
+    @Value("${seguranca.admin-fixo.habilitado:false}")
+    private boolean adminFixoHabilitado;
+
+    /** Versão dos dados de usuários, avançada a cada escrita (base dos ETags). */
+    private final AtomicLong versao = new AtomicLong(System.currentTimeMillis());
+
+    private CacheLeitura<Long, UsuarioRespostaDTO> cachePorId;
+    private CacheLeitura<String, UsuarioRespostaDTO> cachePorEmail;
+
+    // Leituras sem cache cujas chamadas simultâneas idênticas dividem uma
+    // consulta; a chave é a lista dos parâmetros.
+    private LeituraCompartilhada<List<Object>, List<UsuarioRespostaDTO>> leituraPagina;
+    private LeituraCompartilhada<List<Object>, List<UsuarioRespostaDTO>> leituraBusca;
+
+    /** Transação readOnly (réplica) em volta da consulta de uma leitura compartilhada. */
+    private TransactionTemplate somenteLeitura;
+
+    /** Recargas logo depois de uma escrita leem do primário (ver {@link JanelaReplicacao}). */
+    private JanelaReplicacao janelaReplicacao;
+
+    @PostConstruct
+    void iniciarCaches() {
+        cachePorId = new CacheLeitura<Long, UsuarioRespostaDTO>("usuario.id",
+                cacheTamanhoMaximo, cacheTtlSegundos).registrarMetricas(meterRegistry);
+        cachePorEmail = new CacheLeitura<String, UsuarioRespostaDTO>("usuario.email",
+                cacheTamanhoMaximo, cacheTtlSegundos).registrarMetricas(meterRegistry);
+        leituraPagina = new LeituraCompartilhada<List<Object>, List<UsuarioRespostaDTO>>(
+                "usuario.pagina", versao::get).registrarMetricas(meterRegistry);
+        leituraBusca = new LeituraCompartilhada<List<Object>, List<UsuarioRespostaDTO>>(
+                "usuario.busca", versao::get).registrarMetricas(meterRegistry);
+        somenteLeitura = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        somenteLeitura.setReadOnly(true);
+        janelaReplicacao = new JanelaReplicacao(aderenciaMs);
     }
 
-    @Transactional(readOnly = true)
-    public Usuario buscarPorEmail(String email) {
-        return repository.findByEmail(email)
-                .orElseThrow(() -> new EntityNotFoundException("Usuario com email " + email + " não encontrado"));
+    /**
+     * Lista uma página ordenada por ID a partir do cursor informado.
+     *
+     * @param after último ID já recebido pelo cliente (null para a primeira página)
+     * @param limite tamanho da página
+     */
+    public List<UsuarioRespostaDTO> listarPagina(Long after, int limite) {
+        if (limite <= 0 || limite > Paginacao.LIMITE_MAXIMO) {
+            throw new BusinessException("Limite deve estar entre 1 e " + Paginacao.LIMITE_MAXIMO);
+        }
+        long cursor = after == null ? 0L : after;
+        return leituraPagina.executar(Arrays.asList(cursor, limite),
+                chave -> janelaReplicacao.ler(() -> somenteLeitura.execute(status ->
+                        List.copyOf(repository.listarPagina(cursor, Limit.of(limite))))));
     }
 
-    @Transactional
-    public Usuario criar(UsuarioDTO dto) {
-        // Validações de negócio
-        if (repository.existsByEmail(dto.getEmail())) {
-            throw new BusinessException("Email já cadastrado");
+    /** Busca pelo ID através do cache. */
+    public UsuarioRespostaDTO buscarPorId(Long id) {
+        UsuarioRespostaDTO usuario = cachePorId.obter(id,
+                chave -> janelaReplicacao.ler(() -> repository.buscarRespostaPorId(chave).orElse(null)));
+        if (usuario == null) {
+            throw new EntityNotFoundException("Usuario", id);
         }
-        
-        if (repository.existsByCpf(dto.getCpf())) {
-            throw new BusinessException("CPF já cadastrado");
+        return usuario;
+    }
+
+    /** Busca pelo email através do cache; a chave é o email normalizado. */
+    public UsuarioRespostaDTO buscarPorEmail(String email) {
+        UsuarioRespostaDTO usuario =
+                cachePorEmail.obter(Usuario.normalizarEmail(email),
+                        chave -> janelaReplicacao.ler(() -> repository.buscarRespostaPorEmail(chave).orElse(null)));
+        if (usuario == null) {
+            throw new EntityNotFoundException("Usuario com email " + email + " não encontrado");
         }
+        return usuario;
+    }
+
+    // Sem transação no método: o BCrypt não deve segurar uma conexão do pool.
+    // Duplicidade de email/CPF é garantida pelas restrições únicas do banco: o
+    // insert vai direto e só uma violação custa uma consulta extra para saber
+    // qual campo colidiu. O formulário consulta /disponibilidade antes de enviar.
+    public Usuario criar(UsuarioDTO dto) {
+        return gravarNovo(dto, false);
+    }
 
+    /**
+     * Cadastra um administrador pelo mesmo caminho do cadastro comum (eventos,
+     * caches e filtros de disponibilidade). Usado só pelo
+     * {@code AdministradorInicial}; não há rota HTTP que crie administradores.
+     */
+    public Usuario criarAdministrador(UsuarioDTO dto) {
+        return gravarNovo(dto, true);
+    }
+
+    private Usuario gravarNovo(UsuarioDTO dto, boolean admin) {
         // Converte DTO para Entity
         Usuario usuario = new Usuario();
         usuario.setNome(dto.getNome());
         usuario.setEmail(dto.getEmail());
         usuario.setCpf(dto.getCpf());
         usuario.setTelefone(dto.getTelefone());
+        usuario.setAdmin(admin);
 
-        String senhaCriptografada = passwordEncoder.encode(dto.getSenha());
+        String senhaCriptografada = senhaService.codificarAguardando(dto.getSenha());
         usuario.setSenha(senhaCriptografada);
 
-        return repository.save(usuario);
+        Usuario salvo;
+        try {
+            salvo = repository.save(usuario);
+        } catch (DataIntegrityViolationException ex) {
+            if (repository.existsByEmailNormalizado(Usuario.normalizarEmail(dto.getEmail()))) {
+                throw new BusinessException("Email já cadastrado");
+            }
+            if (repository.existsByCpfNormalizado(somenteDigitos(dto.getCpf()))) {
+                throw new BusinessException("CPF já cadastrado");
+            }
+            throw ex;
+        }
+        invalidarCaches(salvo.getId(), salvo.getEmail());
+        eventPublisher.publishEvent(new UsuarioAlteradoEvent(UsuarioAlteradoEvent.Tipo.CRIADO, salvo));
+        return salvo;
 
     }
 
 
-    @Transactional
+    // Sem @Transactional: o BCrypt da nova senha roda antes e a transação só
+    // abre para ler e gravar, sem segurar uma conexão durante o hash.
     public Usuario atualizar(Long id, UsuarioDTO dto) {
-        Usuario usuario = buscarPorId(id);
+        boolean trocaSenha = dto.getSenha() != null && !dto.getSenha().isBlank();
+        String senhaCriptografada = trocaSenha ? senhaService.codificarAguardando(dto.getSenha()) : null;
+        return transactionTemplate.execute(status -> gravarAtualizacao(id, dto, senhaCriptografada));
+    }
+
+    private Usuario gravarAtualizacao(Long id, UsuarioDTO dto, String senhaCriptografada) {
+        Usuario usuario = carregar(id);
+        invalidarCaches(id, usuario.getEmail());
 
         // Verifica se email foi alterado e se já existe
         if (!usuario.getEmail().equals(dto.getEmail()) && repository.existsByEmail(dto.getEmail())) {
             throw new BusinessException("Email já cadastrado");
         }
 
-        // Verifica se CPF foi alterado e se já existe
-        if (!usuario.getCpf().equals(dto.getCpf()) && repository.existsByCpf(dto.getCpf())) {
+        // Verifica se CPF foi alterado e se já existe (com ou sem máscara)
+        String cpfNormalizado = somenteDigitos(dto.getCpf());
+        if (!cpfNormalizado.equals(somenteDigitos(usuario.getCpf()))
+                && repository.existsByCpfNormalizado(cpfNormalizado)) {
             throw new BusinessException("CPF já cadastrado");
         }
 
@@ -87,73 +214,185 @@ public class UsuarioService {
         usuario.setCpf(dto.getCpf());
         usuario.setTelefone(dto.getTelefone());
 
-        if(dto.getSenha() != null && !dto.getSenha().isBlank()){
-            String senhaCriptografada =  passwordEncoder.encode(dto.getSenha());
+        if (senhaCriptografada != null) {
             usuario.setSenha(senhaCriptografada);
+            // troca de senha derruba as sessões abertas, mas só se a nova senha for gravada
+            revogarTokensAposCommit(id);
         }
 
-        return repository.save(usuario);
+        Usuario salvo = repository.save(usuario);
+        invalidarCaches(id, salvo.getEmail());
+        eventPublisher.publishEvent(new UsuarioAlteradoEvent(UsuarioAlteradoEvent.Tipo.ATUALIZADO, salvo));
+        return salvo;
     }
 
     @Transactional
     public void deletar(Long id) {
-        Usuario usuario = buscarPorId(id);
+        Usuario usuario = carregar(id);
         repository.delete(usuario);
+        invalidarCaches(id, usuario.getEmail());
+        revogarTokensAposCommit(id);
+        eventPublisher.publishEvent(new UsuarioAlteradoEvent(UsuarioAlteradoEvent.Tipo.REMOVIDO, usuario));
+    }
+
+    private void revogarTokensAposCommit(Long id) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                tokenService.revogarUsuario(id);
+            }
+        });
+    }
+
+    /** Carrega a entidade gerenciada pela transação corrente, sem passar pelo cache. */
+    private Usuario carregar(Long id) {
+        return repository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Usuario", id));
+    }
+
+    private void invalidarCaches(Long id, String email) {
+        // a janela abre já e de novo no commit, antes de qualquer recarga
+        janelaReplicacao.registrarEscrita();
+        cachePorId.invalidarAposCommit(id);
+        cachePorEmail.invalidarAposCommit(Usuario.normalizarEmail(email));
+        // registrado depois dos caches: a versão só avança com eles já limpos
+        versao.incrementAndGet();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    janelaReplicacao.registrarEscrita();
+                    versao.incrementAndGet();
+                }
+            });
+        }
+    }
+
+    /** Versão atual dos dados de usuários, base dos ETags das leituras. */
+    public long getVersao() {
+        return versao.get();
+    }
+
+    public CacheLeitura<Long, UsuarioRespostaDTO> getCachePorId() {
+        return cachePorId;
     }
 
-    @Transactional(readOnly = true)
-    public List<Usuario> buscar(String q, String nome, String email, String cpf) {
-        // Estratégia: prioriza filtros específicos; se apenas 'q' vier, busca em nome/email e cpf exato
+    public CacheLeitura<String, UsuarioRespostaDTO> getCachePorEmail() {
+        return cachePorEmail;
+    }
+
+    /**
+     * Busca do Admin sobre as colunas normalizadas, uma consulta indexada por
+     * coluna e o ranking montado aqui.
+     * <p>
+     * Filtros específicos (cpf, email, nome) têm prioridade sobre o texto livre
+     * {@code q}, que é comparado ao mesmo tempo com CPF (dígitos), prefixo de
+     * email e prefixo do nome sem acentos.
+     * </p>
+     * <p>
+     * Buscas idênticas simultâneas (vários admins na mesma tela) dividem a
+     * consulta.
+     * </p>
+     */
+    public List<UsuarioRespostaDTO> buscar(String q, String nome, String email, String cpf, int limite) {
+        if (limite <= 0 || limite > Paginacao.LIMITE_MAXIMO) {
+            throw new BusinessException("Limite deve estar entre 1 e " + Paginacao.LIMITE_MAXIMO);
+        }
+        return leituraBusca.executar(Arrays.asList(q, nome, email, cpf, limite),
+                chave -> janelaReplicacao.ler(() -> somenteLeitura.execute(status ->
+                        List.copyOf(buscarNoBanco(q, nome, email, cpf, limite)))));
+    }
+
+    private List<UsuarioRespostaDTO> buscarNoBanco(String q, String nome, String email, String cpf, int limite) {
         if (cpf != null && !cpf.isBlank()) {
-            return repository.findByCpf(cpf).map(java.util.List::of).orElseGet(java.util.List::of);
+            return buscarRanqueado(somenteDigitos(cpf), null, null, limite);
         }
         if (email != null && !email.isBlank()) {
-            return repository.findByEmailContainingIgnoreCase(email);
+            return buscarRanqueado(null, Usuario.normalizarEmail(email), null, limite);
         }
         if (nome != null && !nome.isBlank()) {
-            return repository.findByNomeContainingIgnoreCase(nome);
+            return buscarRanqueado(null, null, TextoBusca.dobrar(nome), limite);
         }
         if (q != null && !q.isBlank()) {
-            // se 'q' parece cpf, tenta cpf
-            var possivelCpf = q.replaceAll("[^0-9]", "");
-            var resultado = new java.util.ArrayList<Usuario>();
-            if (possivelCpf.length() >= 11) {
-                repository.findByCpf(q).ifPresent(resultado::add);
+            // se 'q' parece cpf, também compara com o CPF normalizado
+            String digitos = somenteDigitos(q);
+            String possivelCpf = digitos.length() == 11 ? digitos : null;
+            String n = TextoBusca.dobrar(q);
+            return buscarRanqueado(possivelCpf, Usuario.normalizarEmail(q), n.isEmpty() ? null : n, limite);
+        }
+        // sem filtros, retorna a primeira página
+        return listarPagina(null, limite);
+    }
+
+    /**
+     * Junta os ramos indexados do repositório na ordem do ranking (CPF, email,
+     * nome), sem repetir usuários: quem casa com mais de um ramo fica na
+     * posição do melhor. Os ramos seguintes só rodam se ainda faltar resultado.
+     */
+    private List<UsuarioRespostaDTO> buscarRanqueado(String cpf, String email, String nome, int limite) {
+        Map<Long, UsuarioRespostaDTO> resultado = new LinkedHashMap<>();
+        if (cpf != null) {
+            adicionar(resultado, repository.buscarPorCpfNormalizado(cpf), limite);
+        }
+        if (email != null && resultado.size() < limite) {
+            adicionar(resultado, repository.buscarPorPrefixoEmail(email, prefixo(email), Limit.of(limite)), limite);
+        }
+        if (nome != null && resultado.size() < limite) {
+            adicionar(resultado, repository.buscarPorPrefixoNome(nome, prefixo(nome), Limit.of(limite)), limite);
+        }
+        return new ArrayList<>(resultado.values());
+    }
+
+    private static void adicionar(Map<Long, UsuarioRespostaDTO> resultado, List<UsuarioRespostaDTO> ramo, int limite) {
+        for (UsuarioRespostaDTO u : ramo) {
+            if (resultado.size() == limite) {
+                return;
             }
-            // nome/email parciais
-            resultado.addAll(repository.findByNomeContainingIgnoreCase(q));
-            resultado.addAll(repository.findByEmailContainingIgnoreCase(q));
-            // remover duplicatas preservando ordem
-            Map<Long, Usuario> unique = new LinkedHashMap<>();
-            for (var u : resultado) unique.put(u.getId(), u);
-            return new java.util.ArrayList<>(unique.values());
+            resultado.putIfAbsent(u.getId(), u);
         }
-        // sem filtros, retorna todos
-        return listarTodos();
     }
 
-    @Transactional(readOnly = true)
-    public LoginResponseDTO autenticar(LoginDTO loginDTO) {
-        // Verificar login de admin
-        if ("admin".equals(loginDTO.getEmail()) && "admin".equals(loginDTO.getSenha())) {
-            return new LoginResponseDTO(0L, "ADMIN", "admin", true);
+    private static String somenteDigitos(String valor) {
+        return valor.replaceAll("[^0-9]", "");
+    }
+
+    /** Padrão LIKE de prefixo, escapando os curingas com '!' (ver UsuarioRepository). */
+    private static String prefixo(String valor) {
+        return valor.replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%";
+    }
+
+    /**
+     * Autentica o usuário sem prender a thread da requisição durante o BCrypt.
+     * <p>
+     * A busca por email (indexada) roda na thread chamadora; a conferência da
+     * senha vai para o pool do {@link SenhaService}. Falhas de credencial
+     * completam o future com {@link BusinessException}.
+     * </p>
+     */
+    public CompletableFuture<LoginResponseDTO> autenticar(LoginDTO loginDTO) {
+        // Login de admin fixo: desligado fora do ambiente de desenvolvimento
+        if (adminFixoHabilitado && "admin".equals(loginDTO.getEmail()) && "admin".equals(loginDTO.getSenha())) {
+            return CompletableFuture.completedFuture(new LoginResponseDTO(0L, "ADMIN", "admin", true));
         }
 
         // Buscar usuário por email
-        Usuario usuario = repository.findByEmail(loginDTO.getEmail())
-                .orElseThrow(() -> new BusinessException("Email ou senha inválidos"));
-
-        // Verificar senha
-        if (!passwordEncoder.matches(loginDTO.getSenha(), usuario.getSenha())) {
-            throw new BusinessException("Email ou senha inválidos");
+        Usuario usuario = repository.findByEmail(loginDTO.getEmail()).orElse(null);
+        if (usuario == null) {
+            return CompletableFuture.failedFuture(new BusinessException("Email ou senha inválidos"));
         }
 
-        // Retornar dados do usuário
-        return new LoginResponseDTO(
-                usuario.getId(),
-                usuario.getNome(),
-                usuario.getEmail(),
-                usuario.isAdmin()
-        );
+        // Verificar senha e retornar dados do usuário
+        return senhaService.conferir(loginDTO.getSenha(), usuario.getSenha())
+                .thenApply(valida -> {
+                    if (!valida) {
+                        throw new BusinessException("Email ou senha inválidos");
+                    }
+                    return new LoginResponseDTO(
+                            usuario.getId(),
+                            usuario.getNome(),
+                            usuario.getEmail(),
+                            usuario.isAdmin()
+                    );
+                });
     }
 }
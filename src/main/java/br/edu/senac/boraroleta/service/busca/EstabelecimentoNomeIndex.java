@@ -0,0 +1,270 @@
+package br.edu.senac.boraroleta.service.busca;
+
+import br.edu.senac.boraroleta.dto.EstabelecimentoBuscaDTO;
+import br.edu.senac.boraroleta.model.Estabelecimento;
+import br.edu.senac.boraroleta.repository.EstabelecimentoRepository;
+import br.edu.senac.boraroleta.service.EstabelecimentoAlteradoEvent;
+import br.edu.senac.boraroleta.service.EstabelecimentosImportadosEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice invertido de trigramas sobre {@code Estabelecimento.nome}.
+ * <p>
+ * Cada estabelecimento ocupa um slot inteiro; para cada trigrama do nome
+ * dobrado (ver {@link TextoBusca}) o índice guarda a lista de slots que o
+ * contêm. Uma busca conta, por slot, quantos trigramas da consulta aparecem
+ * no nome e ordena pela fração da consulta coberta, desempatando pela
+ * similaridade de Jaccard. Assim, erros de digitação e acentos custam apenas
+ * alguns trigramas em vez de eliminar o resultado.
+ * </p>
+ * <p>
+ * O índice é carregado quando a aplicação sobe e depois mantido pelos eventos
+ * de escrita do {@code EstabelecimentoService}.
+ * </p>
+ *
+ * @author Equipe Bora Roleta - SENAC
+ * @version 1.0
+ */
+@Component
+public class EstabelecimentoNomeIndex {
+
+    /** Fração mínima dos trigramas da consulta que precisa aparecer no nome. */
+    static final double COBERTURA_MINIMA = 0.3;
+
+    @Autowired
+    private EstabelecimentoRepository repository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, ListaSlots> postings = new HashMap<>();
+    private final Map<Long, Integer> slotPorId = new HashMap<>();
+    private final Deque<Integer> slotsLivres = new ArrayDeque<>();
+    private Documento[] documentos = new Documento[1024];
+    private int proximoSlot = 0;
+
+    /** Contadores por slot reaproveitados entre consultas da mesma thread. */
+    private final ThreadLocal<int[]> contadores = ThreadLocal.withInitial(() -> new int[0]);
+
+    private record Documento(Long id, String nome, String categoria, String endereco,
+                             Double latitude, Double longitude, Double avaliacaoMedia, long[] trigramas) {
+
+        static Documento de(Estabelecimento e) {
+            return new Documento(e.getId(), e.getNome(), e.getCategoria(), e.getEndereco(),
+                    e.getLatitude(), e.getLongitude(), e.getAvaliacaoMedia(), TextoBusca.trigramas(e.getNome()));
+        }
+    }
+
+    private record Resultado(int slot, double cobertura, double jaccard) {
+    }
+
+    /** Lista de slots que contêm um trigrama, sem ordem definida. */
+    private static final class ListaSlots {
+        int[] slots = new int[4];
+        int tamanho;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            slotPorId.clear();
+            slotsLivres.clear();
+            documentos = new Documento[1024];
+            proximoSlot = 0;
+            for (Estabelecimento e : repository.findAll()) {
+                inserir(Documento.de(e));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener
+    public void aoAlterar(EstabelecimentoAlteradoEvent event) {
+        Estabelecimento e = event.getEstabelecimento();
+        if (event.getTipo() == EstabelecimentoAlteradoEvent.Tipo.REMOVIDO) {
+            remover(e.getId());
+        } else {
+            indexar(e);
+        }
+    }
+
+    public void indexar(Estabelecimento e) {
+        if (e.getId() == null) {
+            return;
+        }
+        Documento doc = Documento.de(e);
+        lock.writeLock().lock();
+        try {
+            retirar(e.getId());
+            inserir(doc);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener
+    public void aoImportar(EstabelecimentosImportadosEvent event) {
+        List<Documento> docs = new ArrayList<>(event.getEstabelecimentos().size());
+        for (Estabelecimento e : event.getEstabelecimentos()) {
+            if (e.getId() != null) {
+                docs.add(Documento.de(e));
+            }
+        }
+        lock.writeLock().lock();
+        try {
+            for (Documento doc : docs) {
+                retirar(doc.id());
+                inserir(doc);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remover(Long id) {
+        lock.writeLock().lock();
+        try {
+            retirar(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Busca os nomes mais parecidos com o texto informado.
+     *
+     * @param texto texto digitado pelo usuário
+     * @param limite quantidade máxima de resultados
+     * @return resultados do mais para o menos parecido
+     */
+    public List<EstabelecimentoBuscaDTO> buscar(String texto, int limite) {
+        long[] consulta = TextoBusca.trigramas(texto);
+        if (consulta.length == 0) {
+            return List.of();
+        }
+        int minimo = Math.max(1, (int) Math.ceil(consulta.length * COBERTURA_MINIMA));
+
+        // Min-heap limitado: a raiz é sempre o pior dos melhores resultados
+        PriorityQueue<Resultado> melhores = new PriorityQueue<>(limite + 1,
+                (a, b) -> a.cobertura() != b.cobertura()
+                        ? Double.compare(a.cobertura(), b.cobertura())
+                        : Double.compare(a.jaccard(), b.jaccard()));
+
+        lock.readLock().lock();
+        try {
+            int[] contagem = contadores.get();
+            if (contagem.length < proximoSlot) {
+                contagem = new int[documentos.length];
+                contadores.set(contagem);
+            }
+            int[] tocados = new int[64];
+            int nTocados = 0;
+
+            for (long trigrama : consulta) {
+                ListaSlots lista = postings.get(trigrama);
+                if (lista == null) {
+                    continue;
+                }
+                for (int i = 0; i < lista.tamanho; i++) {
+                    int slot = lista.slots[i];
+                    if (contagem[slot]++ == 0) {
+                        if (nTocados == tocados.length) {
+                            tocados = Arrays.copyOf(tocados, nTocados * 2);
+                        }
+                        tocados[nTocados++] = slot;
+                    }
+                }
+            }
+
+            for (int i = 0; i < nTocados; i++) {
+                int slot = tocados[i];
+                int comuns = contagem[slot];
+                contagem[slot] = 0;
+                if (comuns < minimo) {
+                    continue;
+                }
+                int tamanhoDoc = documentos[slot].trigramas().length;
+                Resultado r = new Resultado(slot, (double) comuns / consulta.length,
+                        (double) comuns / (consulta.length + tamanhoDoc - comuns));
+                melhores.offer(r);
+                if (melhores.size() > limite) {
+                    melhores.poll();
+                }
+            }
+
+            List<EstabelecimentoBuscaDTO> resultado = new ArrayList<>(melhores.size());
+            while (!melhores.isEmpty()) {
+                Resultado r = melhores.poll();
+                Documento d = documentos[r.slot()];
+                resultado.add(new EstabelecimentoBuscaDTO(d.id(), d.nome(), d.categoria(), d.endereco(),
+                        d.latitude(), d.longitude(), d.avaliacaoMedia(),
+                        Math.round(r.jaccard() * 1000) / 1000.0));
+            }
+            // O heap devolve do pior para o melhor
+            Collections.reverse(resultado);
+            return resultado;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Os métodos abaixo exigem o write lock
+    private void inserir(Documento doc) {
+        int slot;
+        if (!slotsLivres.isEmpty()) {
+            slot = slotsLivres.pop();
+        } else {
+            slot = proximoSlot++;
+            if (slot == documentos.length) {
+                documentos = Arrays.copyOf(documentos, documentos.length * 2);
+            }
+        }
+        documentos[slot] = doc;
+        slotPorId.put(doc.id(), slot);
+        for (long trigrama : doc.trigramas()) {
+            ListaSlots lista = postings.computeIfAbsent(trigrama, t -> new ListaSlots());
+            if (lista.tamanho == lista.slots.length) {
+                lista.slots = Arrays.copyOf(lista.slots, lista.tamanho * 2);
+            }
+            lista.slots[lista.tamanho++] = slot;
+        }
+    }
+
+    private void retirar(Long id) {
+        Integer slot = slotPorId.remove(id);
+        if (slot == null) {
+            return;
+        }
+        for (long trigrama : documentos[slot].trigramas()) {
+            ListaSlots lista = postings.get(trigrama);
+            for (int i = 0; i < lista.tamanho; i++) {
+                if (lista.slots[i] == slot) {
+                    // A ordem das listas não importa: troca com o último
+                    lista.slots[i] = lista.slots[--lista.tamanho];
+                    break;
+                }
+            }
+            if (lista.tamanho == 0) {
+                postings.remove(trigrama);
+            }
+        }
+        documentos[slot] = null;
+        slotsLivres.push(slot);
+    }
+}
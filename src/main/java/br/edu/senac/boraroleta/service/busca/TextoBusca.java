@@ -0,0 +1,106 @@
+package br.edu.senac.boraroleta.service.busca;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Normalização de texto e extração de trigramas para os índices de busca.
+ * <p>
+ * O texto é dobrado (minúsculas, sem acentos, só letras e dígitos) para que
+ * "Bar do Zé" e "bar do ze" produzam os mesmos trigramas. Cada palavra é
+ * delimitada com dois espaços à esquerda e um à direita, como no
+ * {@code pg_trgm}, o que valoriza o início das palavras.
+ * </p>
+ *
+ * @author Equipe Bora Roleta - SENAC
+ * @version 1.0
+ */
+public final class TextoBusca {
+
+    private static final long[] VAZIO = new long[0];
+
+    private TextoBusca() {
+    }
+
+    /**
+     * Remove acentos, converte para minúsculas e troca tudo que não for letra
+     * ou dígito por um único espaço.
+     */
+    public static String dobrar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String decomposto = Normalizer.normalize(texto, Normalizer.Form.NFD);
+        StringBuilder sb = new StringBuilder(decomposto.length());
+        boolean espaco = true;
+        for (int i = 0; i < decomposto.length(); i++) {
+            char c = decomposto.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                sb.append(Character.toLowerCase(c));
+                espaco = false;
+            } else if (!espaco) {
+                sb.append(' ');
+                espaco = true;
+            }
+        }
+        int fim = sb.length();
+        if (fim > 0 && sb.charAt(fim - 1) == ' ') {
+            sb.setLength(fim - 1);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Trechos do texto dobrado que começam em cada palavra e vão até o fim:
+     * "joao da silva" gera "joao da silva", "da silva" e "silva". Um prefixo
+     * de qualquer um deles casa com o nome a partir de qualquer palavra.
+     */
+    public static Set<String> sufixosPorPalavra(String texto) {
+        String dobrado = dobrar(texto);
+        if (dobrado.isEmpty()) {
+            return Set.of();
+        }
+        Set<String> sufixos = new HashSet<>();
+        sufixos.add(dobrado);
+        for (int i = dobrado.indexOf(' '); i >= 0; i = dobrado.indexOf(' ', i + 1)) {
+            sufixos.add(dobrado.substring(i + 1));
+        }
+        return sufixos;
+    }
+
+    /**
+     * Trigramas distintos do texto, já dobrado, codificados como {@code long}
+     * e ordenados.
+     */
+    public static long[] trigramas(String texto) {
+        String dobrado = dobrar(texto);
+        if (dobrado.isEmpty()) {
+            return VAZIO;
+        }
+        long[] buffer = new long[dobrado.length() * 3 + 3];
+        int n = 0;
+        for (String palavra : dobrado.split(" ")) {
+            String p = "  " + palavra + " ";
+            for (int i = 0; i + 3 <= p.length(); i++) {
+                buffer[n++] = codificar(p.charAt(i), p.charAt(i + 1), p.charAt(i + 2));
+            }
+        }
+        Arrays.sort(buffer, 0, n);
+        int distintos = 0;
+        for (int i = 0; i < n; i++) {
+            if (distintos == 0 || buffer[distintos - 1] != buffer[i]) {
+                buffer[distintos++] = buffer[i];
+            }
+        }
+        return Arrays.copyOf(buffer, distintos);
+    }
+
+    private static long codificar(char a, char b, char c) {
+        return ((long) a << 32) | ((long) b << 16) | c;
+    }
+}
@@ -0,0 +1,67 @@
+package br.edu.senac.boraroleta.service.busca;
+
+import br.edu.senac.boraroleta.model.Usuario;
+import br.edu.senac.boraroleta.repository.UsuarioRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Preenche as colunas normalizadas de busca e os sufixos do nome em usuários
+ * gravados antes deles.
+ * <p>
+ * Roda uma vez na subida da aplicação, em lotes com transação própria, e não
+ * faz nada quando todas as linhas já estão preenchidas.
+ * </p>
+ *
+ * @author Equipe Bora Roleta - SENAC
+ * @version 1.0
+ */
+@Component
+public class UsuarioBuscaBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(UsuarioBuscaBackfill.class);
+
+    static final int TAMANHO_LOTE = 500;
+
+    @Autowired
+    private UsuarioRepository repository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void executar() {
+        long total = 0;
+        Long cursor = 0L;
+        while (true) {
+            List<Usuario> lote = preencherLote(cursor);
+            total += lote.size();
+            if (lote.size() < TAMANHO_LOTE) {
+                break;
+            }
+            cursor = lote.get(lote.size() - 1).getId();
+        }
+        if (total > 0) {
+            log.info("Colunas de busca preenchidas para {} usuários", total);
+        }
+    }
+
+    private List<Usuario> preencherLote(Long after) {
+        return transactionTemplate.execute(status -> {
+            List<Usuario> lote = repository.findByIdGreaterThanAndNomeNormalizadoIsNullOrderByIdAsc(
+                    after, Limit.of(TAMANHO_LOTE));
+            for (Usuario u : lote) {
+                u.normalizarCamposDeBusca();
+            }
+            return repository.saveAll(lote);
+        });
+    }
+}
@@ -0,0 +1,222 @@
+package br.edu.senac.boraroleta.service.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Cache read-through em memória, limitado por tamanho (LRU) e por TTL.
+ * <p>
+ * Numa falta, só uma thread por chave executa o carregador; as demais que
+ * pedirem a mesma chave ao mesmo tempo aguardam e recebem o mesmo resultado
+ * (single-flight). Valores {@code null} (registro inexistente) não são
+ * guardados.
+ * </p>
+ * <p>
+ * Cada invalidação avança uma geração. Um carregamento que começou antes de
+ * uma invalidação não grava o resultado, então uma leitura concorrente com
+ * uma escrita nunca deixa o valor antigo no cache. Pelo mesmo motivo, quem
+ * chega depois da invalidação não aguarda esse carregamento: começa outro.
+ * </p>
+ *
+ * @param <K> tipo da chave
+ * @param <V> tipo do valor
+ * @author Equipe Bora Roleta - SENAC
+ * @version 1.0
+ */
+public class CacheLeitura<K, V> {
+
+    private final String nome;
+    private final int tamanhoMaximo;
+    private final long ttlMillis;
+
+    private final Map<K, Entrada<V>> entradas = new LinkedHashMap<>(256, 0.75f, true);
+    private final Map<K, Carga<V>> carregando = new ConcurrentHashMap<>();
+    private final AtomicLong geracao = new AtomicLong();
+
+    private final AtomicLong acertos = new AtomicLong();
+    private final AtomicLong faltas = new AtomicLong();
+    private final AtomicLong compartilhadas = new AtomicLong();
+    private final AtomicLong despejos = new AtomicLong();
+    private final AtomicLong invalidacoes = new AtomicLong();
+
+    private record Entrada<V>(V valor, long expiraEm) {
+    }
+
+    /** Carregamento em andamento e a geração em que começou. */
+    private record Carga<V>(long geracao, CompletableFuture<V> futuro) {
+    }
+
+    public CacheLeitura(String nome, int tamanhoMaximo, long ttlSegundos) {
+        this.nome = nome;
+        this.tamanhoMaximo = tamanhoMaximo;
+        this.ttlMillis = ttlSegundos * 1000;
+    }
+
+    /**
+     * Devolve o valor em cache ou o carrega, uma única vez por chave.
+     *
+     * @param chave chave buscada
+     * @param carregador consulta ao banco; pode devolver null
+     * @return o valor, ou null se o carregador não encontrou nada
+     */
+    public V obter(K chave, Function<K, V> carregador) {
+        V valor = buscar(chave);
+        if (valor != null) {
+            acertos.incrementAndGet();
+            return valor;
+        }
+
+        long geracaoInicial = geracao.get();
+        Carga<V> minha = new Carga<>(geracaoInicial, new CompletableFuture<>());
+        // só aguarda um carregamento da mesma geração (ou mais novo); um anterior
+        // a uma invalidação é substituído pelo meu e termina sem gravar nada
+        Carga<V> vigente = carregando.merge(chave, minha,
+                (atual, nova) -> atual.geracao() >= nova.geracao() ? atual : nova);
+        if (vigente != minha) {
+            compartilhadas.incrementAndGet();
+            return aguardar(vigente.futuro());
+        }
+
+        faltas.incrementAndGet();
+        try {
+            valor = carregador.apply(chave);
+            if (valor != null) {
+                guardar(chave, valor, geracaoInicial);
+            }
+            minha.futuro().complete(valor);
+            return valor;
+        } catch (RuntimeException | Error ex) {
+            minha.futuro().completeExceptionally(ex);
+            throw ex;
+        } finally {
+            carregando.remove(chave, minha);
+        }
+    }
+
+    /** Remove a chave imediatamente. */
+    public void invalidar(K chave) {
+        synchronized (this) {
+            geracao.incrementAndGet();
+            entradas.remove(chave);
+        }
+        invalidacoes.incrementAndGet();
+    }
+
+    /** Remove todas as entradas. */
+    public void invalidarTudo() {
+        synchronized (this) {
+            geracao.incrementAndGet();
+            entradas.clear();
+        }
+        invalidacoes.incrementAndGet();
+    }
+
+    /**
+     * Remove a chave agora e, se houver transação ativa, de novo após o commit,
+     * descartando o que outra thread tenha carregado enquanto a escrita ainda
+     * não estava visível.
+     */
+    public void invalidarAposCommit(K chave) {
+        invalidar(chave);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidar(chave);
+                }
+            });
+        }
+    }
+
+    /** Publica acertos, faltas, despejos e tamanho como métricas {@code boraroleta.cache.*}. */
+    public CacheLeitura<K, V> registrarMetricas(MeterRegistry registry) {
+        FunctionCounter.builder("boraroleta.cache.acertos", acertos, AtomicLong::get).tag("cache", nome).register(registry);
+        FunctionCounter.builder("boraroleta.cache.faltas", faltas, AtomicLong::get).tag("cache", nome).register(registry);
+        FunctionCounter.builder("boraroleta.cache.compartilhadas", compartilhadas, AtomicLong::get).tag("cache", nome).register(registry);
+        FunctionCounter.builder("boraroleta.cache.despejos", despejos, AtomicLong::get).tag("cache", nome).register(registry);
+        FunctionCounter.builder("boraroleta.cache.invalidacoes", invalidacoes, AtomicLong::get).tag("cache", nome).register(registry);
+        Gauge.builder("boraroleta.cache.tamanho", this, CacheLeitura::getTamanho).tag("cache", nome).register(registry);
+        return this;
+    }
+
+    private synchronized V buscar(K chave) {
+        Entrada<V> entrada = entradas.get(chave);
+        if (entrada == null) {
+            return null;
+        }
+        if (entrada.expiraEm() < System.currentTimeMillis()) {
+            entradas.remove(chave);
+            despejos.incrementAndGet();
+            return null;
+        }
+        return entrada.valor();
+    }
+
+    private synchronized void guardar(K chave, V valor, long geracaoInicial) {
+        if (geracao.get() != geracaoInicial) {
+            // houve escrita durante o carregamento: o valor pode estar velho
+            return;
+        }
+        entradas.put(chave, new Entrada<>(valor, System.currentTimeMillis() + ttlMillis));
+        Iterator<K> it = entradas.keySet().iterator();
+        while (entradas.size() > tamanhoMaximo && it.hasNext()) {
+            it.next();
+            it.remove();
+            despejos.incrementAndGet();
+        }
+    }
+
+    private static <V> V aguardar(CompletableFuture<V> futuro) {
+        try {
+            return futuro.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            if (ex.getCause() instanceof Error erro) {
+                throw erro;
+            }
+            throw ex;
+        }
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public synchronized int getTamanho() {
+        return entradas.size();
+    }
+
+    public long getAcertos() {
+        return acertos.get();
+    }
+
+    public long getFaltas() {
+        return faltas.get();
+    }
+
+    public long getCompartilhadas() {
+        return compartilhadas.get();
+    }
+
+    public long getDespejos() {
+        return despejos.get();
+    }
+
+    public long getInvalidacoes() {
+        return invalidacoes.get();
+    }
+}
@@ -0,0 +1,130 @@
+package br.edu.senac.boraroleta.service.cache;
+
+import br.edu.senac.boraroleta.config.RoteamentoDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Single-flight sem cache: chamadas idênticas e simultâneas compartilham uma
+ * única consulta em andamento e o seu resultado. Nada é guardado depois que a
+ * consulta termina; para isso existe o {@link CacheLeitura}.
+ * <p>
+ * A chave inclui a versão dos dados lida no início da chamada (a mesma que
+ * gera os ETags). Quem chega depois de uma escrita vê outra versão e não
+ * pega carona numa consulta que começou antes dela, então nunca recebe dados
+ * mais velhos que o ETag que já calculou.
+ * </p>
+ * <p>
+ * Chamadas dentro de uma transação ativa executam direto: elas podem
+ * depender de escritas ainda não confirmadas que as outras threads não veem.
+ * O mesmo vale para quem acabou de escrever e lê do primário (ver
+ * {@link RoteamentoDataSource}), que não pode esperar uma leitura da réplica.
+ * O resultado é entregue a várias threads e não deve ser alterado.
+ * </p>
+ *
+ * @param <K> tipo da chave (deve implementar equals/hashCode)
+ * @param <V> tipo do resultado
+ * @author Equipe Bora Roleta - SENAC
+ * @version 1.0
+ */
+public class LeituraCompartilhada<K, V> {
+
+    private final String nome;
+    private final LongSupplier versao;
+
+    private final Map<Chave<K>, CompletableFuture<V>> emAndamento = new ConcurrentHashMap<>();
+
+    private final AtomicLong executadas = new AtomicLong();
+    private final AtomicLong compartilhadas = new AtomicLong();
+
+    private record Chave<K>(long versao, K chave) {
+    }
+
+    /**
+     * @param nome nome da leitura nas métricas
+     * @param versao versão atual dos dados lidos
+     */
+    public LeituraCompartilhada(String nome, LongSupplier versao) {
+        this.nome = nome;
+        this.versao = versao;
+    }
+
+    /**
+     * Executa a leitura, ou aguarda a idêntica que já estiver em andamento.
+     *
+     * @param chave parâmetros da leitura
+     * @param leitura consulta ao banco
+     * @return o resultado, possivelmente compartilhado com outras threads
+     */
+    public V executar(K chave, Function<K, V> leitura) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                || RoteamentoDataSource.temEscritaRegistrada()) {
+            executadas.incrementAndGet();
+            return leitura.apply(chave);
+        }
+
+        Chave<K> chaveVersao = new Chave<>(versao.getAsLong(), chave);
+        CompletableFuture<V> meu = new CompletableFuture<>();
+        CompletableFuture<V> outro = emAndamento.putIfAbsent(chaveVersao, meu);
+        if (outro != null) {
+            compartilhadas.incrementAndGet();
+            return aguardar(outro);
+        }
+
+        executadas.incrementAndGet();
+        try {
+            V valor = leitura.apply(chave);
+            meu.complete(valor);
+            return valor;
+        } catch (RuntimeException | Error ex) {
+            meu.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            emAndamento.remove(chaveVersao, meu);
+        }
+    }
+
+    /** Publica execuções e chamadas compartilhadas como métricas {@code boraroleta.leitura.*}. */
+    public LeituraCompartilhada<K, V> registrarMetricas(MeterRegistry registry) {
+        FunctionCounter.builder("boraroleta.leitura.executadas", executadas, AtomicLong::get)
+                .tag("leitura", nome).register(registry);
+        FunctionCounter.builder("boraroleta.leitura.compartilhadas", compartilhadas, AtomicLong::get)
+                .tag("leitura", nome).register(registry);
+        return this;
+    }
+
+    private static <V> V aguardar(CompletableFuture<V> futuro) {
+        try {
+            return futuro.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            if (ex.getCause() instanceof Error erro) {
+                throw erro;
+            }
+            throw ex;
+        }
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public long getExecutadas() {
+        return executadas.get();
+    }
+
+    public long getCompartilhadas() {
+        return compartilhadas.get();
+    }
+}
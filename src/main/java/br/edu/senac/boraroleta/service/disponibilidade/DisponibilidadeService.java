@@ -0,0 +1,255 @@
+package br.edu.senac.boraroleta.service.disponibilidade;
+
+import br.edu.senac.boraroleta.dto.DisponibilidadeDTO;
+import br.edu.senac.boraroleta.model.Usuario;
+import br.edu.senac.boraroleta.repository.UsuarioRepository;
+import br.edu.senac.boraroleta.service.UsuarioAlteradoEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Responde se um email ou CPF ainda está livre para cadastro sem ir ao banco
+ * no caso comum.
+ * <p>
+ * Cada campo tem um {@link FiltroBloom} carregado na subida a partir de todos
+ * os usuários e alimentado pelos {@link UsuarioAlteradoEvent}. Se o filtro diz
+ * que o valor não existe, a resposta é definitiva; só um possível acerto é
+ * confirmado com uma consulta às colunas normalizadas. Antes da primeira carga
+ * terminar, todas as consultas vão ao banco.
+ * </p>
+ * <p>
+ * Filtros de Bloom não removem: emails e CPFs trocados ou de usuários
+ * excluídos continuam marcados e só aumentam a taxa de confirmações no banco.
+ * Quando elas passam de um quarto da capacidade, ou quando as inserções passam
+ * da capacidade, os filtros são remontados em segundo plano; durante a
+ * remontagem os eventos alimentam o filtro atual e o novo.
+ * </p>
+ * <p>
+ * Métricas: {@code boraroleta.disponibilidade.consultas} (tags {@code campo} e
+ * {@code origem} = filtro/banco) e {@code boraroleta.disponibilidade.falsos-positivos}.
+ * </p>
+ *
+ * @author Equipe Bora Roleta - SENAC
+ * @version 1.0
+ */
+@Service
+public class DisponibilidadeService {
+
+    private static final Logger log = LoggerFactory.getLogger(DisponibilidadeService.class);
+
+    private static final int TAMANHO_PAGINA = 5000;
+
+    /** Par de filtros de uma geração, com a contagem de valores que deixaram de existir. */
+    private record Filtros(FiltroBloom email, FiltroBloom cpf, AtomicLong obsoletos) {
+
+        Filtros(long capacidade, double taxa) {
+            this(new FiltroBloom(capacidade, taxa), new FiltroBloom(capacidade, taxa), new AtomicLong());
+        }
+
+        void adicionar(String emailNormalizado, String cpfNormalizado) {
+            if (emailNormalizado != null) {
+                email.adicionar(emailNormalizado);
+            }
+            if (cpfNormalizado != null) {
+                cpf.adicionar(cpfNormalizado);
+            }
+        }
+
+        boolean saturados() {
+            long capacidade = email.getCapacidade();
+            return Math.max(email.getInseridos(), cpf.getInseridos()) > capacidade
+                    || obsoletos.get() > capacidade / 4;
+        }
+    }
+
+    @Autowired
+    private UsuarioRepository repository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${disponibilidade.taxa-falso-positivo:0.01}")
+    private double taxaFalsoPositivo;
+
+    @Value("${disponibilidade.capacidade-minima:10000}")
+    private long capacidadeMinima;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "disponibilidade-filtros");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final AtomicBoolean remontando = new AtomicBoolean();
+
+    /** Filtros em uso; null até a primeira carga terminar */
+    private volatile Filtros atual;
+
+    /** Filtros sendo montados, que também recebem os eventos enquanto isso */
+    private volatile Filtros proximo;
+
+    private Counter emailFiltro;
+    private Counter emailBanco;
+    private Counter cpfFiltro;
+    private Counter cpfBanco;
+    private Counter emailFalsoPositivo;
+    private Counter cpfFalsoPositivo;
+
+    @PostConstruct
+    void registrarMetricas() {
+        emailFiltro = contador("boraroleta.disponibilidade.consultas", "email", "filtro");
+        emailBanco = contador("boraroleta.disponibilidade.consultas", "email", "banco");
+        cpfFiltro = contador("boraroleta.disponibilidade.consultas", "cpf", "filtro");
+        cpfBanco = contador("boraroleta.disponibilidade.consultas", "cpf", "banco");
+        emailFalsoPositivo = Counter.builder("boraroleta.disponibilidade.falsos-positivos")
+                .tag("campo", "email").register(meterRegistry);
+        cpfFalsoPositivo = Counter.builder("boraroleta.disponibilidade.falsos-positivos")
+                .tag("campo", "cpf").register(meterRegistry);
+    }
+
+    private Counter contador(String nome, String campo, String origem) {
+        return Counter.builder(nome).tag("campo", campo).tag("origem", origem).register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        agendarRemontagem();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterar(UsuarioAlteradoEvent event) {
+        Usuario usuario = event.getUsuario();
+        Filtros filtros = atual;
+        Filtros emMontagem = proximo;
+        switch (event.getTipo()) {
+            case CRIADO, ATUALIZADO -> {
+                String email = normalizarEmail(usuario.getEmail());
+                String cpf = normalizarCpf(usuario.getCpf());
+                if (filtros != null) {
+                    filtros.adicionar(email, cpf);
+                }
+                if (emMontagem != null) {
+                    emMontagem.adicionar(email, cpf);
+                }
+                // o valor antigo de uma atualização não é conhecido aqui; conta como possível obsoleto
+                if (event.getTipo() == UsuarioAlteradoEvent.Tipo.ATUALIZADO && filtros != null) {
+                    filtros.obsoletos().incrementAndGet();
+                }
+            }
+            case REMOVIDO -> {
+                if (filtros != null) {
+                    filtros.obsoletos().incrementAndGet();
+                }
+            }
+        }
+        if (filtros != null && filtros.saturados()) {
+            agendarRemontagem();
+        }
+    }
+
+    /**
+     * Verifica a disponibilidade de email e/ou CPF.
+     *
+     * @param email email a verificar (null ou vazio para não consultar)
+     * @param cpf CPF com ou sem máscara (null ou vazio para não consultar)
+     */
+    public DisponibilidadeDTO verificar(String email, String cpf) {
+        Filtros filtros = atual;
+        Boolean emailDisponivel = null;
+        Boolean cpfDisponivel = null;
+
+        String e = normalizarEmail(email);
+        if (e != null && !e.isEmpty()) {
+            if (filtros != null && !filtros.email().podeConter(e)) {
+                emailFiltro.increment();
+                emailDisponivel = true;
+            } else {
+                emailBanco.increment();
+                emailDisponivel = !repository.existsByEmailNormalizado(e);
+                if (emailDisponivel && filtros != null) {
+                    emailFalsoPositivo.increment();
+                }
+            }
+        }
+
+        String c = normalizarCpf(cpf);
+        if (c != null && !c.isEmpty()) {
+            if (filtros != null && !filtros.cpf().podeConter(c)) {
+                cpfFiltro.increment();
+                cpfDisponivel = true;
+            } else {
+                cpfBanco.increment();
+                cpfDisponivel = !repository.existsByCpfNormalizado(c);
+                if (cpfDisponivel && filtros != null) {
+                    cpfFalsoPositivo.increment();
+                }
+            }
+        }
+        return new DisponibilidadeDTO(emailDisponivel, cpfDisponivel);
+    }
+
+    private void agendarRemontagem() {
+        if (remontando.compareAndSet(false, true)) {
+            executor.execute(this::remontar);
+        }
+    }
+
+    private void remontar() {
+        try {
+            long total = repository.count();
+            Filtros novos = new Filtros(Math.max(2 * total, capacidadeMinima), taxaFalsoPositivo);
+            // publicado antes da primeira página: nada criado durante a leitura fica de fora
+            proximo = novos;
+
+            long after = 0L;
+            List<Object[]> pagina;
+            do {
+                pagina = repository.listarEmailCpf(after, Limit.of(TAMANHO_PAGINA));
+                for (Object[] linha : pagina) {
+                    after = (Long) linha[0];
+                    novos.adicionar(normalizarEmail((String) linha[1]), normalizarCpf((String) linha[2]));
+                }
+            } while (pagina.size() == TAMANHO_PAGINA);
+
+            atual = novos;
+            log.info("Filtros de disponibilidade montados: {} usuários, capacidade {}",
+                    novos.email().getInseridos(), novos.email().getCapacidade());
+        } catch (Exception ex) {
+            log.error("Falha ao montar os filtros de disponibilidade; mantendo os anteriores", ex);
+        } finally {
+            proximo = null;
+            remontando.set(false);
+        }
+    }
+
+    /** Mesma normalização de {@link Usuario#normalizarCamposDeBusca()}. */
+    private static String normalizarEmail(String email) {
+        return email == null ? null : email.trim().toLowerCase();
+    }
+
+    private static String normalizarCpf(String cpf) {
+        return cpf == null ? null : cpf.replaceAll("[^0-9]", "");
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,90 @@
+package br.edu.senac.boraroleta.service.disponibilidade;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom de strings, seguro para leitura e escrita concorrentes.
+ * <p>
+ * {@link #podeConter(String)} nunca dá falso negativo: se responde
+ * {@code false}, o valor certamente não foi adicionado. {@code true} pode ser
+ * falso positivo, com a taxa escolhida na construção enquanto o número de
+ * inserções não passar da capacidade. Não há remoção.
+ * </p>
+ * <p>
+ * Os bits ficam num {@link AtomicLongArray} e a inserção é um OR atômico por
+ * palavra, sem lock. As {@code k} posições vêm de um hash de 64 bits dividido
+ * em duas metades (hashing duplo de Kirsch-Mitzenmacher).
+ * </p>
+ *
+ * @author Equipe Bora Roleta - SENAC
+ * @version 1.0
+ */
+final class FiltroBloom {
+
+    private final AtomicLongArray palavras;
+    private final long bits;
+    private final int funcoes;
+    private final long capacidade;
+    private final AtomicLong inseridos = new AtomicLong();
+
+    FiltroBloom(long capacidade, double taxaFalsoPositivo) {
+        this.capacidade = Math.max(1, capacidade);
+        double ln2 = Math.log(2);
+        long m = (long) Math.ceil(-this.capacidade * Math.log(taxaFalsoPositivo) / (ln2 * ln2));
+        int palavrasNecessarias = (int) Math.min(Integer.MAX_VALUE - 8, (m + 63) / 64);
+        this.palavras = new AtomicLongArray(Math.max(1, palavrasNecessarias));
+        this.bits = (long) palavras.length() * 64;
+        this.funcoes = Math.max(1, (int) Math.round((double) bits / this.capacidade * ln2));
+    }
+
+    void adicionar(String valor) {
+        long hash = hash(valor);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < funcoes; i++) {
+            long bit = Math.floorMod(h1 + (long) i * h2, bits);
+            int indice = (int) (bit >>> 6);
+            long mascara = 1L << bit;
+            long atual = palavras.get(indice);
+            while ((atual & mascara) == 0 && !palavras.weakCompareAndSetVolatile(indice, atual, atual | mascara)) {
+                atual = palavras.get(indice);
+            }
+        }
+        inseridos.incrementAndGet();
+    }
+
+    boolean podeConter(String valor) {
+        long hash = hash(valor);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < funcoes; i++) {
+            long bit = Math.floorMod(h1 + (long) i * h2, bits);
+            if ((palavras.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    long getInseridos() {
+        return inseridos.get();
+    }
+
+    long getCapacidade() {
+        return capacidade;
+    }
+
+    /** FNV-1a de 64 bits sobre os bytes UTF-8, com a mistura final do SplitMix64. */
+    private static long hash(String valor) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : valor.getBytes(StandardCharsets.UTF_8)) {
+            h ^= (b & 0xff);
+            h *= 0x100000001b3L;
+        }
+        h = (h ^ (h >>> 30)) * 0xbf58476d1ce4e5b9L;
+        h = (h ^ (h >>> 27)) * 0x94d049bb133111ebL;
+        return h ^ (h >>> 31);
+    }
+}
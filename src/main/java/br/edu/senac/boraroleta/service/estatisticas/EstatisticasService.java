@@ -0,0 +1,157 @@
+package br.edu.senac.boraroleta.service.estatisticas;
+
+import br.edu.senac.boraroleta.dto.EstatisticasDTO;
+import br.edu.senac.boraroleta.exception.BusinessException;
+import br.edu.senac.boraroleta.model.Estabelecimento;
+import br.edu.senac.boraroleta.model.Usuario;
+import br.edu.senac.boraroleta.repository.EstabelecimentoRepository;
+import br.edu.senac.boraroleta.repository.UsuarioRepository;
+import br.edu.senac.boraroleta.service.EstabelecimentoAlteradoEvent;
+import br.edu.senac.boraroleta.service.EstabelecimentosImportadosEvent;
+import br.edu.senac.boraroleta.service.UsuarioAlteradoEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Contadores agregados do catálogo e dos usuários para o painel Admin.
+ * <p>
+ * Os números são reconstruídos com consultas {@code GROUP BY} quando a
+ * aplicação sobe e depois mantidos incrementalmente pelos eventos de escrita
+ * do {@code EstabelecimentoService} e do {@code UsuarioService}. Ler as
+ * estatísticas só copia alguns contadores: nenhuma tabela é varrida.
+ * </p>
+ *
+ * @author Equipe Bora Roleta - SENAC
+ * @version 1.0
+ */
+@Service
+public class EstatisticasService {
+
+    /** Janela máxima da série de cadastros por dia */
+    public static final int DIAS_MAXIMO = 366;
+
+    @Autowired
+    private EstabelecimentoRepository estabelecimentoRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    private final Map<String, Long> estabelecimentosPorCategoria = new HashMap<>();
+    private final TreeMap<LocalDate, Long> cadastrosPorDia = new TreeMap<>();
+    private long totalEstabelecimentos;
+    private long totalUsuarios;
+    private long administradores;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void carregar() {
+        estabelecimentosPorCategoria.clear();
+        totalEstabelecimentos = 0;
+        for (Object[] linha : estabelecimentoRepository.contarPorCategoria()) {
+            long quantidade = ((Number) linha[1]).longValue();
+            estabelecimentosPorCategoria.put((String) linha[0], quantidade);
+            totalEstabelecimentos += quantidade;
+        }
+
+        cadastrosPorDia.clear();
+        totalUsuarios = 0;
+        for (Object[] linha : usuarioRepository.contarCadastrosPorDia()) {
+            long quantidade = ((Number) linha[1]).longValue();
+            cadastrosPorDia.put(paraData(linha[0]), quantidade);
+            totalUsuarios += quantidade;
+        }
+        administradores = usuarioRepository.contarAdministradores();
+    }
+
+    @TransactionalEventListener
+    public synchronized void aoAlterarEstabelecimento(EstabelecimentoAlteradoEvent event) {
+        Estabelecimento e = event.getEstabelecimento();
+        switch (event.getTipo()) {
+            case CRIADO -> {
+                totalEstabelecimentos++;
+                somar(estabelecimentosPorCategoria, e.getCategoria(), 1);
+            }
+            case REMOVIDO -> {
+                totalEstabelecimentos--;
+                somar(estabelecimentosPorCategoria, e.getCategoria(), -1);
+            }
+            case ATUALIZADO -> {
+                if (event.getCategoriaAnterior() != null) {
+                    somar(estabelecimentosPorCategoria, event.getCategoriaAnterior(), -1);
+                    somar(estabelecimentosPorCategoria, e.getCategoria(), 1);
+                }
+            }
+        }
+    }
+
+    @TransactionalEventListener
+    public synchronized void aoImportarEstabelecimentos(EstabelecimentosImportadosEvent event) {
+        for (Estabelecimento e : event.getEstabelecimentos()) {
+            totalEstabelecimentos++;
+            somar(estabelecimentosPorCategoria, e.getCategoria(), 1);
+        }
+    }
+
+    // fallbackExecution: o cadastro de usuário não roda dentro de transação
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void aoAlterarUsuario(UsuarioAlteradoEvent event) {
+        Usuario u = event.getUsuario();
+        int delta = switch (event.getTipo()) {
+            case CRIADO -> 1;
+            case REMOVIDO -> -1;
+            case ATUALIZADO -> 0;
+        };
+        if (delta == 0) {
+            return;
+        }
+        totalUsuarios += delta;
+        if (u.isAdmin()) {
+            administradores += delta;
+        }
+        if (u.getCreatedAt() != null) {
+            somar(cadastrosPorDia, u.getCreatedAt().toLocalDate(), delta);
+        }
+    }
+
+    /**
+     * Copia os contadores atuais.
+     *
+     * @param dias tamanho da série de cadastros por dia, terminando hoje
+     */
+    public EstatisticasDTO estatisticas(int dias) {
+        if (dias <= 0 || dias > DIAS_MAXIMO) {
+            throw new BusinessException("Dias deve estar entre 1 e " + DIAS_MAXIMO);
+        }
+        LocalDate hoje = LocalDate.now();
+        LocalDate inicio = hoje.minusDays(dias - 1L);
+        synchronized (this) {
+            Map<String, Long> serie = new LinkedHashMap<>();
+            for (LocalDate dia = inicio; !dia.isAfter(hoje); dia = dia.plusDays(1)) {
+                serie.put(dia.toString(), cadastrosPorDia.getOrDefault(dia, 0L));
+            }
+            return new EstatisticasDTO(totalEstabelecimentos, new TreeMap<>(estabelecimentosPorCategoria),
+                    totalUsuarios, administradores, serie);
+        }
+    }
+
+    private static <K> void somar(Map<K, Long> contadores, K chave, long delta) {
+        if (chave == null) {
+            return;
+        }
+        contadores.merge(chave, delta, (a, b) -> a + b == 0 ? null : a + b);
+    }
+
+    private static LocalDate paraData(Object valor) {
+        // EXTRACT(DATE ...) volta como LocalDate no Hibernate 6; alguns drivers devolvem java.sql.Date
+        return valor instanceof Date data ? data.toLocalDate() : (LocalDate) valor;
+    }
+}
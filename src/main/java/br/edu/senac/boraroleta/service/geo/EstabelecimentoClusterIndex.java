@@ -0,0 +1,356 @@
+package br.edu.senac.boraroleta.service.geo;
+
+import br.edu.senac.boraroleta.dto.EstabelecimentoClusterDTO;
+import br.edu.senac.boraroleta.exception.BusinessException;
+import br.edu.senac.boraroleta.model.Estabelecimento;
+import br.edu.senac.boraroleta.repository.EstabelecimentoRepository;
+import br.edu.senac.boraroleta.service.EstabelecimentoAlteradoEvent;
+import br.edu.senac.boraroleta.service.EstabelecimentosImportadosEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Agrupamento de estabelecimentos para o mapa, pré-calculado por nível de zoom.
+ * <p>
+ * A grade segue os tiles da projeção de Mercator usada pelo Google Maps: no
+ * nível {@code n} o mundo tem {@code 2^n x 2^n} células e cada célula do nível
+ * {@code n} se divide em quatro no nível {@code n + 1}. Cada estabelecimento é
+ * somado em uma célula de cada nível (quantidade, soma das coordenadas e
+ * contagem por categoria), então uma consulta só lê os agregados prontos das
+ * células do retângulo, sem tocar nos pontos.
+ * </p>
+ * <p>
+ * Para o zoom {@code z} usa-se o nível {@code z + 2}: quatro células por tile
+ * de 256 px, ou seja um marcador a cada 64 px no máximo. A quantidade de
+ * células devolvidas depende do tamanho da tela e não da quantidade de dados;
+ * retângulos que cobririam mais de {@value #MAXIMO_CELULAS} células são
+ * recusados.
+ * </p>
+ * <p>
+ * Como o {@link EstabelecimentoGeoIndex}, é carregado quando a aplicação sobe
+ * e mantido pelos eventos de escrita; uma atualização retira o ponto da
+ * posição e categoria antigas antes de somá-lo nas novas.
+ * </p>
+ *
+ * @author Equipe Bora Roleta - SENAC
+ * @version 1.0
+ */
+@Component
+public class EstabelecimentoClusterIndex {
+
+    /** Nível mais fino da grade (células de ~150 m no equador) */
+    static final int NIVEL_MAXIMO = 18;
+
+    /** Níveis acima do zoom: 2 dá células de 64 px num tile de 256 px */
+    static final int NIVEIS_POR_TILE = 2;
+
+    /** Maior zoom aceito (o do Google Maps) */
+    public static final int ZOOM_MAXIMO = 22;
+
+    /** Máximo de células examinadas numa consulta */
+    public static final int MAXIMO_CELULAS = 4096;
+
+    /** Latitude limite da projeção de Mercator */
+    static final double LATITUDE_MAXIMA = 85.05112878;
+
+    @Autowired
+    private EstabelecimentoRepository repository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @SuppressWarnings("unchecked")
+    private final Map<Long, Celula>[] niveis = new Map[NIVEL_MAXIMO + 1];
+
+    private final Map<Long, Ponto> porId = new HashMap<>();
+
+    /** Uma instância por nome de categoria, compartilhada por todas as células */
+    private final Map<String, String> categorias = new HashMap<>();
+
+    public EstabelecimentoClusterIndex() {
+        for (int i = 0; i <= NIVEL_MAXIMO; i++) {
+            niveis[i] = new HashMap<>();
+        }
+    }
+
+    /** Posição na grade do nível máximo; os níveis acima são obtidos por deslocamento. */
+    private record Ponto(long id, double latitude, double longitude, String categoria, int x, int y) {
+    }
+
+    /**
+     * Agregados de uma célula, separados por categoria. Em vetores paralelos e
+     * não num mapa: quase todas as células têm uma ou duas categorias.
+     */
+    private static final class Celula {
+
+        private String[] categorias = new String[1];
+        private int[] quantidades = new int[1];
+        private double[] somaLatitudes = new double[1];
+        private double[] somaLongitudes = new double[1];
+        /** XOR dos IDs: com um único estabelecimento na categoria, é o próprio ID */
+        private long[] xorIds = new long[1];
+        private int tamanho;
+
+        void somar(Ponto p, int sinal) {
+            int i = indice(p.categoria());
+            if (i < 0) {
+                if (sinal < 0) {
+                    return;
+                }
+                if (tamanho == categorias.length) {
+                    int novo = tamanho * 2;
+                    categorias = Arrays.copyOf(categorias, novo);
+                    quantidades = Arrays.copyOf(quantidades, novo);
+                    somaLatitudes = Arrays.copyOf(somaLatitudes, novo);
+                    somaLongitudes = Arrays.copyOf(somaLongitudes, novo);
+                    xorIds = Arrays.copyOf(xorIds, novo);
+                }
+                i = tamanho++;
+                categorias[i] = p.categoria();
+            }
+            quantidades[i] += sinal;
+            somaLatitudes[i] += sinal * p.latitude();
+            somaLongitudes[i] += sinal * p.longitude();
+            xorIds[i] ^= p.id();
+            if (quantidades[i] == 0) {
+                // compacta trocando pela última categoria
+                int ultimo = --tamanho;
+                categorias[i] = categorias[ultimo];
+                quantidades[i] = quantidades[ultimo];
+                somaLatitudes[i] = somaLatitudes[ultimo];
+                somaLongitudes[i] = somaLongitudes[ultimo];
+                xorIds[i] = xorIds[ultimo];
+                categorias[ultimo] = null;
+            }
+        }
+
+        boolean vazia() {
+            return tamanho == 0;
+        }
+
+        private int indice(String categoria) {
+            for (int i = 0; i < tamanho; i++) {
+                if (categorias[i] == categoria) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        /** Agrega as categorias aceitas; null se nenhuma estiver presente. */
+        EstabelecimentoClusterDTO resumir(String filtro) {
+            int quantidade = 0;
+            double somaLat = 0;
+            double somaLng = 0;
+            long xor = 0;
+            int dominante = -1;
+            for (int i = 0; i < tamanho; i++) {
+                if (filtro != null && !filtro.equalsIgnoreCase(categorias[i])) {
+                    continue;
+                }
+                quantidade += quantidades[i];
+                somaLat += somaLatitudes[i];
+                somaLng += somaLongitudes[i];
+                xor ^= xorIds[i];
+                if (dominante < 0 || quantidades[i] > quantidades[dominante]) {
+                    dominante = i;
+                }
+            }
+            if (quantidade == 0) {
+                return null;
+            }
+            return new EstabelecimentoClusterDTO(somaLat / quantidade, somaLng / quantidade, quantidade,
+                    categorias[dominante], quantidade == 1 ? xor : null);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        lock.writeLock().lock();
+        try {
+            for (Map<Long, Celula> nivel : niveis) {
+                nivel.clear();
+            }
+            porId.clear();
+            categorias.clear();
+            for (Estabelecimento e : repository.findAll()) {
+                Ponto ponto = ponto(e);
+                if (ponto != null) {
+                    inserir(ponto);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener
+    public void aoAlterar(EstabelecimentoAlteradoEvent event) {
+        Estabelecimento e = event.getEstabelecimento();
+        Ponto ponto = event.getTipo() == EstabelecimentoAlteradoEvent.Tipo.REMOVIDO ? null : ponto(e);
+        lock.writeLock().lock();
+        try {
+            Ponto anterior = porId.remove(e.getId());
+            if (anterior != null) {
+                acumular(anterior, -1);
+            }
+            if (ponto != null) {
+                inserir(ponto);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener
+    public void aoImportar(EstabelecimentosImportadosEvent event) {
+        List<Ponto> pontos = new ArrayList<>(event.getEstabelecimentos().size());
+        for (Estabelecimento e : event.getEstabelecimentos()) {
+            Ponto ponto = ponto(e);
+            if (ponto != null) {
+                pontos.add(ponto);
+            }
+        }
+        lock.writeLock().lock();
+        try {
+            for (Ponto ponto : pontos) {
+                Ponto anterior = porId.remove(ponto.id());
+                if (anterior != null) {
+                    acumular(anterior, -1);
+                }
+                inserir(ponto);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Agrupamentos das células que cobrem o retângulo no zoom informado.
+     *
+     * @param bbox área visível no mapa
+     * @param zoom zoom do mapa (0 a {@value #ZOOM_MAXIMO})
+     * @param categoria categoria exigida (ignorando maiúsculas) ou null para todas
+     * @throws BusinessException se o zoom for inválido ou a área exigir células demais
+     */
+    public List<EstabelecimentoClusterDTO> buscar(Retangulo bbox, int zoom, String categoria) {
+        if (zoom < 0 || zoom > ZOOM_MAXIMO) {
+            throw new BusinessException("Zoom deve estar entre 0 e " + ZOOM_MAXIMO);
+        }
+        int nivel = Math.min(zoom + NIVEIS_POR_TILE, NIVEL_MAXIMO);
+        int lado = 1 << nivel;
+
+        // y cresce para o sul na projeção
+        int yMin = y(bbox.maxLat(), nivel);
+        int yMax = y(bbox.minLat(), nivel);
+        int[][] faixasX = bbox.cruzaAntimeridiano()
+                ? new int[][] {{x(bbox.minLng(), nivel), lado - 1}, {0, x(bbox.maxLng(), nivel)}}
+                : new int[][] {{x(bbox.minLng(), nivel), x(bbox.maxLng(), nivel)}};
+
+        long total = 0;
+        for (int[] faixa : faixasX) {
+            total += (long) (faixa[1] - faixa[0] + 1) * (yMax - yMin + 1);
+        }
+        if (total > MAXIMO_CELULAS) {
+            throw new BusinessException("Área grande demais para o zoom " + zoom + "; aproxime o mapa");
+        }
+
+        List<EstabelecimentoClusterDTO> resultado = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            Map<Long, Celula> celulas = niveis[nivel];
+            if (celulas.isEmpty()) {
+                return resultado;
+            }
+            for (int[] faixa : faixasX) {
+                for (int cx = faixa[0]; cx <= faixa[1]; cx++) {
+                    for (int cy = yMin; cy <= yMax; cy++) {
+                        Celula celula = celulas.get(chave(cx, cy));
+                        if (celula == null) {
+                            continue;
+                        }
+                        EstabelecimentoClusterDTO cluster = celula.resumir(categoria);
+                        if (cluster != null) {
+                            resultado.add(cluster);
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return resultado;
+    }
+
+    public int tamanho() {
+        lock.readLock().lock();
+        try {
+            return porId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Ponto ponto(Estabelecimento e) {
+        if (e.getId() == null || e.getLatitude() == null || e.getLongitude() == null) {
+            return null;
+        }
+        return new Ponto(e.getId(), e.getLatitude(), e.getLongitude(), e.getCategoria(),
+                x(e.getLongitude(), NIVEL_MAXIMO), y(e.getLatitude(), NIVEL_MAXIMO));
+    }
+
+    private void inserir(Ponto ponto) {
+        String categoria = categorias.computeIfAbsent(ponto.categoria(), c -> c);
+        Ponto canonico = new Ponto(ponto.id(), ponto.latitude(), ponto.longitude(), categoria, ponto.x(), ponto.y());
+        porId.put(canonico.id(), canonico);
+        acumular(canonico, 1);
+    }
+
+    private void acumular(Ponto ponto, int sinal) {
+        for (int nivel = 0; nivel <= NIVEL_MAXIMO; nivel++) {
+            int deslocamento = NIVEL_MAXIMO - nivel;
+            long chave = chave(ponto.x() >>> deslocamento, ponto.y() >>> deslocamento);
+            Map<Long, Celula> celulas = niveis[nivel];
+            Celula celula = celulas.get(chave);
+            if (celula == null) {
+                if (sinal < 0) {
+                    continue;
+                }
+                celula = new Celula();
+                celulas.put(chave, celula);
+            }
+            celula.somar(ponto, sinal);
+            if (celula.vazia()) {
+                celulas.remove(chave);
+            }
+        }
+    }
+
+    private static long chave(int x, int y) {
+        return ((long) x << 32) | (y & 0xffffffffL);
+    }
+
+    /** Coluna da célula no nível (Web Mercator). */
+    static int x(double longitude, int nivel) {
+        int lado = 1 << nivel;
+        int x = (int) Math.floor((longitude + 180) / 360 * lado);
+        return Math.min(Math.max(x, 0), lado - 1);
+    }
+
+    /** Linha da célula no nível (Web Mercator), com a latitude limitada à da projeção. */
+    static int y(double latitude, int nivel) {
+        int lado = 1 << nivel;
+        double lat = Math.toRadians(Math.max(-LATITUDE_MAXIMA, Math.min(LATITUDE_MAXIMA, latitude)));
+        double y = (1 - Math.log(Math.tan(lat) + 1 / Math.cos(lat)) / Math.PI) / 2 * lado;
+        return Math.min(Math.max((int) Math.floor(y), 0), lado - 1);
+    }
+}
@@ -0,0 +1,227 @@
+package br.edu.senac.boraroleta.service.geo;
+
+import br.edu.senac.boraroleta.dto.EstabelecimentoProximoDTO;
+import br.edu.senac.boraroleta.model.Estabelecimento;
+import br.edu.senac.boraroleta.repository.EstabelecimentoRepository;
+import br.edu.senac.boraroleta.service.EstabelecimentoAlteradoEvent;
+import br.edu.senac.boraroleta.service.EstabelecimentosImportadosEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice espacial em memória dos estabelecimentos.
+ * <p>
+ * Os pontos são distribuídos numa grade de células de geohash (precisão 6,
+ * aproximadamente 1,2 km x 0,6 km). Uma consulta por raio visita apenas as
+ * células que cobrem o retângulo envolvente do círculo (do outro lado do
+ * antimeridiano também, quando o círculo o cruza), ou só as células ocupadas
+ * quando são menos que as do retângulo (ver {@link GeoHash.Janela#visitar}),
+ * filtra pela distância haversine e ordena do mais próximo para o mais distante.
+ * </p>
+ * <p>
+ * O índice é carregado do banco quando a aplicação sobe e depois mantido
+ * pelos eventos de escrita do {@code EstabelecimentoService}.
+ * </p>
+ *
+ * @author Equipe Bora Roleta - SENAC
+ * @version 1.0
+ */
+@Component
+public class EstabelecimentoGeoIndex {
+
+    static final int PRECISAO = 6;
+
+    /**
+     * Ordem da carga na subida. Quem monta estruturas a partir de
+     * {@link #pontos()} (a roleta) escuta o mesmo evento numa ordem maior.
+     */
+    public static final int ORDEM_CARGA = 0;
+
+    @Autowired
+    private EstabelecimentoRepository repository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, List<GeoPonto>> celulas = new HashMap<>();
+    private final Map<Long, GeoPonto> porId = new HashMap<>();
+
+    /** Cópia imutável dos campos do estabelecimento usados nas consultas. */
+    public record GeoPonto(Long id, String nome, String categoria, String endereco,
+                           double latitude, double longitude, Double avaliacaoMedia) {
+
+        public static GeoPonto de(Estabelecimento e) {
+            return new GeoPonto(e.getId(), e.getNome(), e.getCategoria(), e.getEndereco(),
+                    e.getLatitude(), e.getLongitude(), e.getAvaliacaoMedia());
+        }
+
+        public EstabelecimentoProximoDTO comDistancia(long distanciaMetros) {
+            return new EstabelecimentoProximoDTO(id, nome, categoria, endereco, latitude, longitude,
+                    avaliacaoMedia, distanciaMetros);
+        }
+
+        long celula() {
+            return GeoHash.chave(latitude, longitude, PRECISAO);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(ORDEM_CARGA)
+    public void carregar() {
+        lock.writeLock().lock();
+        try {
+            celulas.clear();
+            porId.clear();
+            for (Estabelecimento e : repository.findAll()) {
+                inserir(GeoPonto.de(e));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener
+    public void aoAlterar(EstabelecimentoAlteradoEvent event) {
+        Estabelecimento e = event.getEstabelecimento();
+        if (event.getTipo() == EstabelecimentoAlteradoEvent.Tipo.REMOVIDO) {
+            remover(e.getId());
+        } else {
+            indexar(e);
+        }
+    }
+
+    public void indexar(Estabelecimento e) {
+        if (e.getId() == null || e.getLatitude() == null || e.getLongitude() == null) {
+            return;
+        }
+        GeoPonto ponto = GeoPonto.de(e);
+        lock.writeLock().lock();
+        try {
+            retirar(e.getId());
+            inserir(ponto);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener
+    public void aoImportar(EstabelecimentosImportadosEvent event) {
+        List<GeoPonto> pontos = new ArrayList<>(event.getEstabelecimentos().size());
+        for (Estabelecimento e : event.getEstabelecimentos()) {
+            if (e.getId() != null && e.getLatitude() != null && e.getLongitude() != null) {
+                pontos.add(GeoPonto.de(e));
+            }
+        }
+        lock.writeLock().lock();
+        try {
+            for (GeoPonto ponto : pontos) {
+                retirar(ponto.id());
+                inserir(ponto);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remover(Long id) {
+        lock.writeLock().lock();
+        try {
+            retirar(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int tamanho() {
+        lock.readLock().lock();
+        try {
+            return porId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Cópia dos pontos indexados (os que têm coordenadas). */
+    public List<GeoPonto> pontos() {
+        lock.readLock().lock();
+        try {
+            return new ArrayList<>(porId.values());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Busca os estabelecimentos dentro do raio, do mais próximo ao mais distante.
+     *
+     * @param latitude latitude do centro
+     * @param longitude longitude do centro
+     * @param raioMetros raio da busca em metros
+     * @param categoria categoria exigida (ignorando maiúsculas) ou null para todas
+     * @param limite quantidade máxima de resultados
+     * @return resultados ordenados por distância
+     */
+    public List<EstabelecimentoProximoDTO> buscar(double latitude, double longitude, double raioMetros,
+                                                  String categoria, int limite) {
+        GeoHash.Janela janela = GeoHash.janela(latitude, longitude, raioMetros, PRECISAO);
+
+        List<Candidato> candidatos = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            janela.visitar(celulas, celula -> {
+                for (GeoPonto p : celula) {
+                    if (categoria != null && !categoria.equalsIgnoreCase(p.categoria())) {
+                        continue;
+                    }
+                    double distancia = GeoHash.distanciaMetros(latitude, longitude, p.latitude(), p.longitude());
+                    if (distancia <= raioMetros) {
+                        candidatos.add(new Candidato(p, distancia));
+                    }
+                }
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        candidatos.sort(Comparator.comparingDouble(Candidato::distancia));
+        List<EstabelecimentoProximoDTO> resultado = new ArrayList<>(Math.min(limite, candidatos.size()));
+        for (int i = 0; i < candidatos.size() && i < limite; i++) {
+            Candidato c = candidatos.get(i);
+            resultado.add(c.ponto().comDistancia(Math.round(c.distancia())));
+        }
+        return resultado;
+    }
+
+    private record Candidato(GeoPonto ponto, double distancia) {
+    }
+
+    // Os métodos abaixo exigem o write lock
+    private void inserir(GeoPonto ponto) {
+        porId.put(ponto.id(), ponto);
+        celulas.computeIfAbsent(ponto.celula(), k -> new ArrayList<>()).add(ponto);
+    }
+
+    private void retirar(Long id) {
+        GeoPonto anterior = porId.remove(id);
+        if (anterior == null) {
+            return;
+        }
+        long chave = anterior.celula();
+        List<GeoPonto> celula = celulas.get(chave);
+        if (celula != null) {
+            celula.removeIf(p -> p.id().equals(id));
+            if (celula.isEmpty()) {
+                celulas.remove(chave);
+            }
+        }
+    }
+}
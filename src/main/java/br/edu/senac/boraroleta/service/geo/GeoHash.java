@@ -0,0 +1,222 @@
+package br.edu.senac.boraroleta.service.geo;
+
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Utilitário de geohash e de geometria esférica usado pelos índices em memória.
+ * <p>
+ * Além da codificação base32 tradicional, expõe as células do geohash como
+ * coordenadas inteiras (linha, coluna) para que os índices possam varrer
+ * vizinhanças retangulares sem manipular strings.
+ * </p>
+ *
+ * @author Equipe Bora Roleta - SENAC
+ * @version 1.0
+ */
+public final class GeoHash {
+
+    private static final char[] BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz".toCharArray();
+
+    /** Raio médio da Terra em metros. */
+    public static final double RAIO_TERRA_METROS = 6_371_008.8;
+
+    /** Metros por grau de latitude (aproximação esférica). */
+    public static final double METROS_POR_GRAU = Math.PI * RAIO_TERRA_METROS / 180.0;
+
+    private GeoHash() {
+    }
+
+    /**
+     * Codifica uma coordenada no geohash base32 com a precisão informada.
+     *
+     * @param latitude latitude em graus
+     * @param longitude longitude em graus
+     * @param precisao número de caracteres do geohash (1 a 12)
+     * @return geohash da célula que contém a coordenada
+     */
+    public static String encode(double latitude, double longitude, int precisao) {
+        int bitsLat = bitsLatitude(precisao);
+        int bitsLng = bitsLongitude(precisao);
+        long linha = linha(latitude, precisao);
+        long coluna = coluna(longitude, precisao);
+
+        // Intercala os bits começando pela longitude, como no geohash padrão
+        char[] hash = new char[precisao];
+        int bitLat = bitsLat - 1;
+        int bitLng = bitsLng - 1;
+        boolean vezDaLongitude = true;
+        for (int i = 0; i < precisao; i++) {
+            int valor = 0;
+            for (int b = 0; b < 5; b++) {
+                int bit;
+                if (vezDaLongitude) {
+                    bit = (int) ((coluna >>> bitLng--) & 1L);
+                } else {
+                    bit = (int) ((linha >>> bitLat--) & 1L);
+                }
+                valor = (valor << 1) | bit;
+                vezDaLongitude = !vezDaLongitude;
+            }
+            hash[i] = BASE32[valor];
+        }
+        return new String(hash);
+    }
+
+    public static int bitsLatitude(int precisao) {
+        return (5 * precisao) / 2;
+    }
+
+    public static int bitsLongitude(int precisao) {
+        return (5 * precisao + 1) / 2;
+    }
+
+    /** Altura da célula em graus de latitude. */
+    public static double alturaCelula(int precisao) {
+        return 180.0 / (1L << bitsLatitude(precisao));
+    }
+
+    /** Largura da célula em graus de longitude. */
+    public static double larguraCelula(int precisao) {
+        return 360.0 / (1L << bitsLongitude(precisao));
+    }
+
+    /** Índice da linha (faixa de latitude) da célula que contém a latitude. */
+    public static int linha(double latitude, int precisao) {
+        long max = (1L << bitsLatitude(precisao)) - 1;
+        long linha = (long) Math.floor((latitude + 90.0) / alturaCelula(precisao));
+        return (int) Math.max(0, Math.min(max, linha));
+    }
+
+    /** Quantidade de colunas da grade (uma volta completa em longitude). */
+    public static int colunas(int precisao) {
+        return 1 << bitsLongitude(precisao);
+    }
+
+    /**
+     * Índice da coluna (faixa de longitude) da célula que contém a longitude.
+     * A longitude dá a volta no antimeridiano: 180° cai na coluna 0, junto com -180°.
+     */
+    public static int coluna(double longitude, int precisao) {
+        long coluna = (long) Math.floor((longitude + 180.0) / larguraCelula(precisao));
+        return (int) Math.floorMod(coluna, (long) colunas(precisao));
+    }
+
+    /**
+     * Janela de células que cobre o retângulo envolvente de um círculo. Se o
+     * retângulo passar de ±180° (ex.: centro em 179,9° com raio de alguns
+     * quilômetros), as colunas do outro lado do antimeridiano entram na janela
+     * em vez de a faixa ser cortada em 180°.
+     *
+     * @param latitude latitude do centro
+     * @param longitude longitude do centro
+     * @param raioMetros raio do círculo em metros
+     * @param precisao precisão das células
+     */
+    public static Janela janela(double latitude, double longitude, double raioMetros, int precisao) {
+        double dLat = raioMetros / METROS_POR_GRAU;
+        double dLng = grausLongitude(raioMetros, latitude);
+        double largura = larguraCelula(precisao);
+        int total = colunas(precisao);
+        long inicio = (long) Math.floor((longitude - dLng + 180.0) / largura);
+        long fim = (long) Math.floor((longitude + dLng + 180.0) / largura);
+        int quantidade = (int) Math.max(1, Math.min(total, fim - inicio + 1));
+        return new Janela(linha(latitude - dLat, precisao), linha(latitude + dLat, precisao),
+                (int) Math.floorMod(inicio, (long) total), quantidade, total);
+    }
+
+    /**
+     * Faixa de linhas por faixa de colunas (que pode dar a volta no
+     * antimeridiano), nas coordenadas inteiras de {@link #chave(int, int)}.
+     */
+    public record Janela(int linhaMin, int linhaMax, int colunaInicio, int quantidadeColunas, int totalColunas) {
+
+        /** Quantidade de células da janela. */
+        public long celulas() {
+            return (long) (linhaMax - linhaMin + 1) * quantidadeColunas;
+        }
+
+        public boolean contem(long chave) {
+            int linha = (int) (chave >>> 32);
+            int coluna = (int) chave;
+            return linha >= linhaMin && linha <= linhaMax
+                    && Math.floorMod(coluna - colunaInicio, totalColunas) < quantidadeColunas;
+        }
+
+        /**
+         * Entrega as células ocupadas de {@code celulas} que caem na janela.
+         * <p>
+         * Perto dos polos um grau de longitude encolhe até zero e a janela de
+         * um raio de poucos quilômetros passa a dar a volta inteira na Terra
+         * (dezenas de milhares de colunas por linha). Quando a janela tem mais
+         * células que o mapa tem células ocupadas, percorre as ocupadas em vez
+         * de consultar a janela uma a uma, então o custo nunca passa do tamanho
+         * do índice.
+         * </p>
+         */
+        public <T> void visitar(Map<Long, T> celulas, Consumer<T> consumidor) {
+            if (celulas.isEmpty()) {
+                return;
+            }
+            if (celulas() > celulas.size()) {
+                celulas.forEach((chave, celula) -> {
+                    if (contem(chave)) {
+                        consumidor.accept(celula);
+                    }
+                });
+                return;
+            }
+            for (int linha = linhaMin; linha <= linhaMax; linha++) {
+                for (int i = 0; i < quantidadeColunas; i++) {
+                    T celula = celulas.get(chave(linha, (colunaInicio + i) % totalColunas));
+                    if (celula != null) {
+                        consumidor.accept(celula);
+                    }
+                }
+            }
+        }
+    }
+
+    /** Latitude do centro da célula na linha informada. */
+    public static double centroLatitude(int linha, int precisao) {
+        return -90.0 + (linha + 0.5) * alturaCelula(precisao);
+    }
+
+    /** Longitude do centro da célula na coluna informada. */
+    public static double centroLongitude(int coluna, int precisao) {
+        return -180.0 + (coluna + 0.5) * larguraCelula(precisao);
+    }
+
+    /** Empacota linha e coluna numa chave única de célula. */
+    public static long chave(int linha, int coluna) {
+        return ((long) linha << 32) | (coluna & 0xFFFFFFFFL);
+    }
+
+    /** Chave da célula que contém a coordenada. */
+    public static long chave(double latitude, double longitude, int precisao) {
+        return chave(linha(latitude, precisao), coluna(longitude, precisao));
+    }
+
+    /**
+     * Distância de grande círculo (haversine) entre dois pontos.
+     *
+     * @return distância em metros
+     */
+    public static double distanciaMetros(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * RAIO_TERRA_METROS * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    /** Quantos graus de longitude correspondem a {@code metros} na latitude dada. */
+    public static double grausLongitude(double metros, double latitude) {
+        double cos = Math.cos(Math.toRadians(latitude));
+        if (cos < 1e-6) {
+            return 360.0;
+        }
+        return Math.min(360.0, metros / (METROS_POR_GRAU * cos));
+    }
+}
@@ -0,0 +1,52 @@
+package br.edu.senac.boraroleta.service.geo;
+
+import br.edu.senac.boraroleta.exception.BusinessException;
+
+/**
+ * Retângulo de coordenadas recebido como {@code bbox} pela API. Se
+ * {@code minLng > maxLng}, o retângulo atravessa o antimeridiano.
+ *
+ * @author Equipe Bora Roleta - SENAC
+ * @version 1.0
+ */
+public record Retangulo(double minLat, double minLng, double maxLat, double maxLng) {
+
+    /**
+     * Lê {@code "minLat,minLng,maxLat,maxLng"}.
+     *
+     * @throws BusinessException se o texto não tiver quatro coordenadas válidas
+     */
+    public static Retangulo de(String bbox) {
+        String[] partes = bbox.split(",");
+        if (partes.length != 4) {
+            throw new BusinessException("bbox deve ser minLat,minLng,maxLat,maxLng");
+        }
+        double[] v = new double[4];
+        try {
+            for (int i = 0; i < 4; i++) {
+                v[i] = Double.parseDouble(partes[i].trim());
+                if (!Double.isFinite(v[i])) {
+                    throw new NumberFormatException(partes[i]);
+                }
+            }
+        } catch (NumberFormatException ex) {
+            throw new BusinessException("bbox deve ser minLat,minLng,maxLat,maxLng");
+        }
+        if (v[0] < -90 || v[2] > 90 || v[0] > v[2] || v[1] < -180 || v[1] > 180 || v[3] < -180 || v[3] > 180) {
+            throw new BusinessException("Coordenadas inválidas no bbox");
+        }
+        return new Retangulo(v[0], v[1], v[2], v[3]);
+    }
+
+    public boolean contem(double lat, double lng) {
+        if (lat < minLat || lat > maxLat) {
+            return false;
+        }
+        return minLng <= maxLng ? lng >= minLng && lng <= maxLng : lng >= minLng || lng <= maxLng;
+    }
+
+    /** true se o retângulo atravessa o antimeridiano (longitude 180). */
+    public boolean cruzaAntimeridiano() {
+        return minLng > maxLng;
+    }
+}
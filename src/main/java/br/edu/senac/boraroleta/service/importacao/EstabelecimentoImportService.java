@@ -0,0 +1,234 @@
+package br.edu.senac.boraroleta.service.importacao;
+
+import br.edu.senac.boraroleta.dto.EstabelecimentoDTO;
+import br.edu.senac.boraroleta.dto.ImportacaoProgressoDTO;
+import br.edu.senac.boraroleta.model.Estabelecimento;
+import br.edu.senac.boraroleta.repository.EstabelecimentoRepository;
+import br.edu.senac.boraroleta.service.EstabelecimentosImportadosEvent;
+import br.edu.senac.boraroleta.service.sincronizacao.AlteracoesCatalogo;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Importação em massa de estabelecimentos.
+ * <p>
+ * Os registros são consumidos de um {@link Iterator} em lotes de
+ * {@value #TAMANHO_LOTE}. Para cada lote: valida os DTOs, descarta os
+ * {@code googlePlaceId} já cadastrados com uma única consulta {@code IN},
+ * insere o restante num batch JDBC e publica um único
+ * {@link EstabelecimentosImportadosEvent} para os índices em memória. Cada lote tem transação própria e nada além do lote
+ * corrente fica em memória.
+ * </p>
+ * <p>
+ * O ID continua {@code IDENTITY}: em vez de passar pelo Hibernate (que não
+ * agrupa inserts com IDENTITY), o batch é enviado direto pelo JDBC e os IDs
+ * gerados são lidos de volta pelas generated keys do próprio batch.
+ * </p>
+ *
+ * @author Equipe Bora Roleta - SENAC
+ * @version 1.0
+ */
+@Service
+public class EstabelecimentoImportService {
+
+    static final int TAMANHO_LOTE = 1000;
+
+    /** Máximo de mensagens de erro devolvidas por lote */
+    static final int MAXIMO_ERROS_POR_LOTE = 20;
+
+    private static final String INSERT = """
+            INSERT INTO estabelecimentos
+                (nome, categoria, endereco, latitude, longitude, telefone, avaliacao_media, google_place_id,
+                 created_at, updated_at, versao_alteracao)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EstabelecimentoRepository repository;
+
+    @Autowired
+    private AlteracoesCatalogo alteracoes;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private Validator validator;
+
+    /**
+     * Importa todos os registros, chamando {@code progresso} ao final de cada lote.
+     *
+     * @param linhas registros lidos do arquivo
+     * @param progresso recebe o progresso de cada lote e, por último, o resumo final
+     */
+    public void importar(Iterator<LinhaImportacao> linhas, Consumer<ImportacaoProgressoDTO> progresso) {
+        int lote = 0;
+        long lidos = 0;
+        long inseridos = 0;
+        long duplicados = 0;
+        long rejeitados = 0;
+
+        List<LinhaImportacao> pendentes = new ArrayList<>(TAMANHO_LOTE);
+        while (linhas.hasNext()) {
+            pendentes.clear();
+            while (linhas.hasNext() && pendentes.size() < TAMANHO_LOTE) {
+                pendentes.add(linhas.next());
+            }
+            lote++;
+            lidos += pendentes.size();
+
+            ResultadoLote resultado = gravarLote(pendentes);
+            inseridos += resultado.inseridos();
+            duplicados += resultado.duplicados();
+            rejeitados += resultado.erros().size();
+
+            List<String> erros = resultado.erros().size() > MAXIMO_ERROS_POR_LOTE
+                    ? resultado.erros().subList(0, MAXIMO_ERROS_POR_LOTE)
+                    : resultado.erros();
+            progresso.accept(new ImportacaoProgressoDTO(lote, lidos, inseridos, duplicados, rejeitados,
+                    false, List.copyOf(erros)));
+        }
+        progresso.accept(new ImportacaoProgressoDTO(lote, lidos, inseridos, duplicados, rejeitados,
+                true, List.of()));
+    }
+
+    private record ResultadoLote(int inseridos, int duplicados, List<String> erros) {
+    }
+
+    private ResultadoLote gravarLote(List<LinhaImportacao> pendentes) {
+        List<String> erros = new ArrayList<>();
+        List<EstabelecimentoDTO> validos = new ArrayList<>(pendentes.size());
+        for (LinhaImportacao linha : pendentes) {
+            if (linha.dto() == null) {
+                erros.add("Linha " + linha.numero() + ": " + linha.erro());
+                continue;
+            }
+            Set<ConstraintViolation<EstabelecimentoDTO>> violacoes = validator.validate(linha.dto());
+            if (!violacoes.isEmpty()) {
+                ConstraintViolation<EstabelecimentoDTO> v = violacoes.iterator().next();
+                erros.add("Linha " + linha.numero() + ": " + v.getPropertyPath() + " " + v.getMessage());
+                continue;
+            }
+            validos.add(linha.dto());
+        }
+
+        return transactionTemplate.execute(status -> {
+            // Deduplicação em massa: uma consulta por lote, mais as repetições dentro do próprio lote
+            Set<String> placeIds = new HashSet<>();
+            for (EstabelecimentoDTO dto : validos) {
+                if (dto.getGooglePlaceId() != null) {
+                    placeIds.add(dto.getGooglePlaceId());
+                }
+            }
+            Set<String> vistos = placeIds.isEmpty()
+                    ? new HashSet<>()
+                    : new HashSet<>(repository.findGooglePlaceIdsExistentes(placeIds));
+
+            List<Estabelecimento> novos = new ArrayList<>(validos.size());
+            int duplicados = 0;
+            for (EstabelecimentoDTO dto : validos) {
+                if (dto.getGooglePlaceId() != null && !vistos.add(dto.getGooglePlaceId())) {
+                    duplicados++;
+                    continue;
+                }
+                novos.add(paraEntidade(dto));
+            }
+
+            inserir(novos);
+            if (!novos.isEmpty()) {
+                eventPublisher.publishEvent(new EstabelecimentosImportadosEvent(novos));
+            }
+            return new ResultadoLote(novos.size(), duplicados, erros);
+        });
+    }
+
+    private void inserir(List<Estabelecimento> novos) {
+        if (novos.isEmpty()) {
+            return;
+        }
+        Timestamp agora = Timestamp.valueOf(LocalDateTime.now());
+        // um bloco de versões consecutivas por lote, na mesma transação do insert
+        long primeiraVersao = alteracoes.reservar(novos.size()) - novos.size() + 1;
+        GeneratedKeyHolder chaves = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                con -> con.prepareStatement(INSERT, new String[] {"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Estabelecimento e = novos.get(i);
+                        ps.setString(1, e.getNome());
+                        ps.setString(2, e.getCategoria());
+                        ps.setString(3, e.getEndereco());
+                        ps.setDouble(4, e.getLatitude());
+                        ps.setDouble(5, e.getLongitude());
+                        ps.setString(6, e.getTelefone());
+                        if (e.getAvaliacaoMedia() == null) {
+                            ps.setNull(7, Types.DOUBLE);
+                        } else {
+                            ps.setDouble(7, e.getAvaliacaoMedia());
+                        }
+                        ps.setString(8, e.getGooglePlaceId());
+                        ps.setTimestamp(9, agora);
+                        ps.setTimestamp(10, agora);
+                        e.setVersaoAlteracao(primeiraVersao + i);
+                        ps.setLong(11, e.getVersaoAlteracao());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return novos.size();
+                    }
+                },
+                chaves);
+
+        // sem um ID por linha não há como indexar o lote: a exceção desfaz a transação dele
+        List<Map<String, Object>> ids = chaves.getKeyList();
+        if (ids.size() != novos.size()) {
+            throw new IllegalStateException("Batch de importação devolveu " + ids.size()
+                    + " IDs para " + novos.size() + " linhas");
+        }
+        for (int i = 0; i < novos.size(); i++) {
+            Number id = (Number) ids.get(i).values().iterator().next();
+            novos.get(i).setId(id.longValue());
+        }
+    }
+
+    private Estabelecimento paraEntidade(EstabelecimentoDTO dto) {
+        Estabelecimento e = new Estabelecimento();
+        e.setNome(dto.getNome());
+        e.setCategoria(dto.getCategoria());
+        e.setEndereco(dto.getEndereco());
+        e.setLatitude(dto.getLatitude());
+        e.setLongitude(dto.getLongitude());
+        e.setTelefone(dto.getTelefone());
+        e.setAvaliacaoMedia(dto.getAvaliacaoMedia());
+        e.setGooglePlaceId(dto.getGooglePlaceId());
+        return e;
+    }
+}
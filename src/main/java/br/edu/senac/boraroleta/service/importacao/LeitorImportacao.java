@@ -0,0 +1,197 @@
+package br.edu.senac.boraroleta.service.importacao;
+
+import br.edu.senac.boraroleta.dto.EstabelecimentoDTO;
+import br.edu.senac.boraroleta.exception.BusinessException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Lê arquivos de importação de estabelecimentos registro a registro.
+ * <p>
+ * Suporta CSV (com cabeçalho, separado por vírgula, aspas no padrão
+ * RFC 4180) e NDJSON (um objeto JSON por linha). Nada é lido além do
+ * registro corrente, então o consumo de memória não depende do tamanho do
+ * arquivo.
+ * </p>
+ *
+ * @author Equipe Bora Roleta - SENAC
+ * @version 1.0
+ */
+public final class LeitorImportacao {
+
+    private LeitorImportacao() {
+    }
+
+    public static Iterator<LinhaImportacao> ndjson(InputStream in, ObjectMapper mapper) {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        return new LeitorBase() {
+            @Override
+            LinhaImportacao ler() throws IOException {
+                String linha;
+                do {
+                    linha = reader.readLine();
+                    if (linha == null) {
+                        return null;
+                    }
+                    numero++;
+                } while (linha.isBlank());
+                try {
+                    return new LinhaImportacao(numero, mapper.readValue(linha, EstabelecimentoDTO.class), null);
+                } catch (IOException ex) {
+                    return new LinhaImportacao(numero, null, "JSON inválido");
+                }
+            }
+        };
+    }
+
+    public static Iterator<LinhaImportacao> csv(InputStream in) {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        List<String> cabecalho;
+        try {
+            cabecalho = lerRegistroCsv(reader);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        if (cabecalho == null) {
+            throw new BusinessException("Arquivo CSV vazio");
+        }
+        Map<String, Integer> colunas = new HashMap<>();
+        for (int i = 0; i < cabecalho.size(); i++) {
+            colunas.put(cabecalho.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String obrigatoria : List.of("nome", "categoria", "endereco", "latitude", "longitude")) {
+            if (!colunas.containsKey(obrigatoria)) {
+                throw new BusinessException("Coluna obrigatória ausente no CSV: " + obrigatoria);
+            }
+        }
+
+        return new LeitorBase() {
+            @Override
+            LinhaImportacao ler() throws IOException {
+                List<String> campos = lerRegistroCsv(reader);
+                if (campos == null) {
+                    return null;
+                }
+                numero++;
+                try {
+                    return new LinhaImportacao(numero, paraDto(campos, colunas), null);
+                } catch (NumberFormatException ex) {
+                    return new LinhaImportacao(numero, null, "Número inválido: " + ex.getMessage());
+                }
+            }
+        };
+    }
+
+    private static EstabelecimentoDTO paraDto(List<String> campos, Map<String, Integer> colunas) {
+        EstabelecimentoDTO dto = new EstabelecimentoDTO();
+        dto.setNome(campo(campos, colunas, "nome"));
+        dto.setCategoria(campo(campos, colunas, "categoria"));
+        dto.setEndereco(campo(campos, colunas, "endereco"));
+        dto.setLatitude(numero(campo(campos, colunas, "latitude")));
+        dto.setLongitude(numero(campo(campos, colunas, "longitude")));
+        dto.setTelefone(campo(campos, colunas, "telefone"));
+        dto.setAvaliacaoMedia(numero(campo(campos, colunas, "avaliacaomedia")));
+        dto.setGooglePlaceId(campo(campos, colunas, "googleplaceid"));
+        return dto;
+    }
+
+    private static String campo(List<String> campos, Map<String, Integer> colunas, String nome) {
+        Integer i = colunas.get(nome);
+        if (i == null || i >= campos.size()) {
+            return null;
+        }
+        String valor = campos.get(i).trim();
+        return valor.isEmpty() ? null : valor;
+    }
+
+    private static Double numero(String valor) {
+        return valor == null ? null : Double.valueOf(valor);
+    }
+
+    /** Lê um registro CSV (que pode ocupar várias linhas se houver aspas). */
+    static List<String> lerRegistroCsv(BufferedReader reader) throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        List<String> campos = new ArrayList<>();
+        StringBuilder atual = new StringBuilder();
+        boolean entreAspas = false;
+        while (c != -1) {
+            char ch = (char) c;
+            if (entreAspas) {
+                if (ch == '"') {
+                    reader.mark(1);
+                    int proximo = reader.read();
+                    if (proximo == '"') {
+                        atual.append('"');
+                    } else {
+                        entreAspas = false;
+                        if (proximo == -1) {
+                            break;
+                        }
+                        reader.reset();
+                    }
+                } else {
+                    atual.append(ch);
+                }
+            } else if (ch == '"') {
+                entreAspas = true;
+            } else if (ch == ',') {
+                campos.add(atual.toString());
+                atual.setLength(0);
+            } else if (ch == '\n') {
+                break;
+            } else if (ch != '\r') {
+                atual.append(ch);
+            }
+            c = reader.read();
+        }
+        campos.add(atual.toString());
+        return campos;
+    }
+
+    private abstract static class LeitorBase implements Iterator<LinhaImportacao> {
+        long numero;
+        private LinhaImportacao proxima;
+        private boolean fim;
+
+        abstract LinhaImportacao ler() throws IOException;
+
+        @Override
+        public boolean hasNext() {
+            if (proxima == null && !fim) {
+                try {
+                    proxima = ler();
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+                fim = proxima == null;
+            }
+            return proxima != null;
+        }
+
+        @Override
+        public LinhaImportacao next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            LinhaImportacao linha = proxima;
+            proxima = null;
+            return linha;
+        }
+    }
+}
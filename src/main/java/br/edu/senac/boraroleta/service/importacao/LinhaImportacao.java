@@ -0,0 +1,13 @@
+package br.edu.senac.boraroleta.service.importacao;
+
+import br.edu.senac.boraroleta.dto.EstabelecimentoDTO;
+
+/**
+ * Uma linha lida do arquivo de importação.
+ *
+ * @param numero número da linha (ou do registro, no NDJSON), começando em 1
+ * @param dto dados lidos, ou null se a linha não pôde ser interpretada
+ * @param erro motivo da falha de leitura, ou null
+ */
+public record LinhaImportacao(long numero, EstabelecimentoDTO dto, String erro) {
+}
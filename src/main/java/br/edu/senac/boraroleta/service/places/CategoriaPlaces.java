@@ -0,0 +1,56 @@
+package br.edu.senac.boraroleta.service.places;
+
+import br.edu.senac.boraroleta.exception.BusinessException;
+
+/**
+ * Categorias de busca do mapa e os parâmetros equivalentes do Nearby Search.
+ * <p>
+ * Espelha as requisições montadas em {@code apiMaps.js} por
+ * {@code buscarAdegas}, {@code buscarPagodes}, {@code buscarBarzinhos} e
+ * {@code buscarEventos}.
+ * </p>
+ *
+ * @author Equipe Bora Roleta - SENAC
+ * @version 1.0
+ */
+public enum CategoriaPlaces {
+
+    ADEGAS("Adegas", "liquor_store", null),
+    PAGODES("Pagodes", "night_club", "pagode samba"),
+    BARZINHOS("Barzinhos", "bar", null),
+    EVENTOS("Eventos", null, "festa evento balada");
+
+    private final String nome;
+    private final String tipo;
+    private final String palavraChave;
+
+    CategoriaPlaces(String nome, String tipo, String palavraChave) {
+        this.nome = nome;
+        this.tipo = tipo;
+        this.palavraChave = palavraChave;
+    }
+
+    /** Nome gravado em {@code Estabelecimento.categoria}. */
+    public String getNome() {
+        return nome;
+    }
+
+    /** Parâmetro {@code type} do Nearby Search (pode ser null). */
+    public String getTipo() {
+        return tipo;
+    }
+
+    /** Parâmetro {@code keyword} do Nearby Search (pode ser null). */
+    public String getPalavraChave() {
+        return palavraChave;
+    }
+
+    public static CategoriaPlaces porNome(String nome) {
+        for (CategoriaPlaces c : values()) {
+            if (c.nome.equalsIgnoreCase(nome) || c.name().equalsIgnoreCase(nome)) {
+                return c;
+            }
+        }
+        throw new BusinessException("Categoria inválida: " + nome);
+    }
+}
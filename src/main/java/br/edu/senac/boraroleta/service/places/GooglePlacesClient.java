@@ -0,0 +1,103 @@
+package br.edu.senac.boraroleta.service.places;
+
+import br.edu.senac.boraroleta.exception.ServicoExternoException;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.util.UriBuilder;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link PlacesClient} que consulta o Nearby Search da Google Places API.
+ * <p>
+ * Conexão e leitura têm prazo ({@code places.timeout-ms}): uma Places API
+ * lenta vira {@link ServicoExternoException} (HTTP 502) em vez de prender a
+ * requisição, e a falha não fica no cache do {@code PlacesGateway}.
+ * </p>
+ *
+ * @author Equipe Bora Roleta - SENAC
+ * @version 1.0
+ */
+@Component
+@ConditionalOnProperty(name = "places.client", havingValue = "google", matchIfMissing = true)
+public class GooglePlacesClient implements PlacesClient {
+
+    private final RestClient restClient;
+    private final String apiKey;
+
+    public GooglePlacesClient(@Value("${google.maps.api-key:}") String apiKey,
+                              @Value("${places.google.url:https://maps.googleapis.com}") String url,
+                              @Value("${places.timeout-ms:5000}") int timeoutMs) {
+        this.apiKey = apiKey;
+        SimpleClientHttpRequestFactory fabrica = new SimpleClientHttpRequestFactory();
+        fabrica.setConnectTimeout(timeoutMs);
+        fabrica.setReadTimeout(timeoutMs);
+        this.restClient = RestClient.builder()
+                .baseUrl(url)
+                .requestFactory(fabrica)
+                .build();
+    }
+
+    @Override
+    public List<LugarEncontrado> buscarProximos(double latitude, double longitude, int raioMetros,
+                                                CategoriaPlaces categoria) {
+        if (apiKey == null || apiKey.isBlank()) {
+            throw new ServicoExternoException("Google Maps API key não configurada");
+        }
+
+        JsonNode resposta;
+        try {
+            resposta = restClient.get()
+                    .uri(uri -> montarUri(uri, latitude, longitude, raioMetros, categoria))
+                    .retrieve()
+                    .body(JsonNode.class);
+        } catch (RestClientException ex) {
+            throw new ServicoExternoException("Falha ao consultar a Places API", ex);
+        }
+
+        String status = resposta == null ? "" : resposta.path("status").asText();
+        if ("ZERO_RESULTS".equals(status)) {
+            return List.of();
+        }
+        if (!"OK".equals(status)) {
+            throw new ServicoExternoException("Places API retornou status " + status);
+        }
+
+        List<LugarEncontrado> lugares = new ArrayList<>();
+        for (JsonNode r : resposta.path("results")) {
+            JsonNode local = r.path("geometry").path("location");
+            lugares.add(new LugarEncontrado(
+                    r.path("place_id").asText(),
+                    r.path("name").asText(),
+                    r.hasNonNull("vicinity") ? r.get("vicinity").asText() : null,
+                    local.path("lat").asDouble(),
+                    local.path("lng").asDouble(),
+                    r.hasNonNull("rating") ? r.get("rating").asDouble() : null
+            ));
+        }
+        return lugares;
+    }
+
+    private URI montarUri(UriBuilder uri, double latitude, double longitude, int raioMetros,
+                                   CategoriaPlaces categoria) {
+        uri.path("/maps/api/place/nearbysearch/json")
+                .queryParam("location", latitude + "," + longitude)
+                .queryParam("radius", raioMetros)
+                .queryParam("language", "pt-BR")
+                .queryParam("key", apiKey);
+        if (categoria.getTipo() != null) {
+            uri.queryParam("type", categoria.getTipo());
+        }
+        if (categoria.getPalavraChave() != null) {
+            uri.queryParam("keyword", categoria.getPalavraChave());
+        }
+        return uri.build();
+    }
+}
@@ -0,0 +1,15 @@
+package br.edu.senac.boraroleta.service.places;
+
+/**
+ * Lugar retornado por um {@link PlacesClient}, já normalizado.
+ *
+ * @param placeId identificador do lugar no Google Places
+ * @param nome nome do lugar
+ * @param endereco endereço resumido (vicinity), pode ser null
+ * @param latitude latitude em graus
+ * @param longitude longitude em graus
+ * @param avaliacao nota média (0 a 5), pode ser null
+ */
+public record LugarEncontrado(String placeId, String nome, String endereco,
+                              double latitude, double longitude, Double avaliacao) {
+}
@@ -0,0 +1,29 @@
+package br.edu.senac.boraroleta.service.places;
+
+import java.util.List;
+
+/**
+ * Cliente de busca de lugares próximos.
+ * <p>
+ * A implementação é escolhida pela propriedade {@code places.client}:
+ * {@code google} (padrão) consulta a Places API e {@code stub} gera
+ * lugares determinísticos localmente, para testes e desenvolvimento offline.
+ * </p>
+ *
+ * @author Equipe Bora Roleta - SENAC
+ * @version 1.0
+ */
+public interface PlacesClient {
+
+    /**
+     * Busca lugares da categoria num raio em torno da coordenada.
+     *
+     * @param latitude latitude do centro
+     * @param longitude longitude do centro
+     * @param raioMetros raio da busca em metros
+     * @param categoria categoria de busca do mapa
+     * @return lugares encontrados (nunca null)
+     */
+    List<LugarEncontrado> buscarProximos(double latitude, double longitude, int raioMetros,
+                                         CategoriaPlaces categoria);
+}
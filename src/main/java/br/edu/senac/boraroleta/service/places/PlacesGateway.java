@@ -0,0 +1,131 @@
+package br.edu.senac.boraroleta.service.places;
+
+import br.edu.senac.boraroleta.dto.EstabelecimentoProximoDTO;
+import br.edu.senac.boraroleta.model.Estabelecimento;
+import br.edu.senac.boraroleta.service.EstabelecimentoService;
+import br.edu.senac.boraroleta.service.cache.CacheLeitura;
+import br.edu.senac.boraroleta.service.geo.EstabelecimentoGeoIndex.GeoPonto;
+import br.edu.senac.boraroleta.service.geo.GeoHash;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Proxy do lado do servidor para o Nearby Search, com cache por célula.
+ * <p>
+ * As buscas são agrupadas por (célula de geohash, categoria): todos os
+ * usuários dentro da mesma célula compartilham uma única consulta ao
+ * {@link PlacesClient}, feita a partir do centro da célula. O resultado é
+ * gravado em {@code Estabelecimento} pelo {@code googlePlaceId} e mantido em
+ * memória até expirar o TTL ou ser despejado pelo limite de tamanho (LRU).
+ * Faltas simultâneas na mesma célula esperam a primeira em vez de
+ * consultar a API e gravar os mesmos lugares de novo.
+ * </p>
+ *
+ * @author Equipe Bora Roleta - SENAC
+ * @version 1.0
+ */
+@Service
+public class PlacesGateway {
+
+    /** Precisão do geohash usada como chave do cache (células de ~1,2 km x 0,6 km). */
+    static final int PRECISAO_CELULA = 6;
+
+    @Autowired
+    private PlacesClient client;
+
+    @Autowired
+    private EstabelecimentoService estabelecimentoService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${places.raio-metros:2000}")
+    private int raioMetros;
+
+    @Value("${places.cache.ttl-segundos:900}")
+    private long ttlSegundos;
+
+    @Value("${places.cache.tamanho-maximo:10000}")
+    private int tamanhoMaximo;
+
+    private CacheLeitura<ChaveCelula, List<GeoPonto>> cache;
+
+    private record ChaveCelula(String geohash, CategoriaPlaces categoria, double latitude, double longitude) {
+    }
+
+    @PostConstruct
+    void iniciarCache() {
+        cache = new CacheLeitura<ChaveCelula, List<GeoPonto>>("places.celula", tamanhoMaximo, ttlSegundos)
+                .registrarMetricas(meterRegistry);
+    }
+
+    /**
+     * Busca lugares da categoria próximos à coordenada, ordenados por distância.
+     *
+     * @param latitude latitude do usuário
+     * @param longitude longitude do usuário
+     * @param categoria nome da categoria (Adegas, Pagodes, Barzinhos, Eventos)
+     * @return lugares encontrados, com a distância até o usuário
+     */
+    public List<EstabelecimentoProximoDTO> buscarProximos(double latitude, double longitude, String categoria) {
+        CategoriaPlaces cat = CategoriaPlaces.porNome(categoria);
+        int linha = GeoHash.linha(latitude, PRECISAO_CELULA);
+        int coluna = GeoHash.coluna(longitude, PRECISAO_CELULA);
+        double centroLat = GeoHash.centroLatitude(linha, PRECISAO_CELULA);
+        double centroLng = GeoHash.centroLongitude(coluna, PRECISAO_CELULA);
+        ChaveCelula chave = new ChaveCelula(GeoHash.encode(centroLat, centroLng, PRECISAO_CELULA), cat,
+                centroLat, centroLng);
+
+        List<GeoPonto> lugares = cache.obter(chave, this::consultar);
+
+        List<EstabelecimentoProximoDTO> resultado = new ArrayList<>(lugares.size());
+        for (GeoPonto p : lugares) {
+            long distancia = Math.round(GeoHash.distanciaMetros(latitude, longitude, p.latitude(), p.longitude()));
+            resultado.add(p.comDistancia(distancia));
+        }
+        resultado.sort(Comparator.comparingLong(EstabelecimentoProximoDTO::getDistanciaMetros));
+        return resultado;
+    }
+
+    private List<GeoPonto> consultar(ChaveCelula chave) {
+        List<LugarEncontrado> encontrados = client.buscarProximos(chave.latitude(), chave.longitude(),
+                raioMetros, chave.categoria());
+        List<Estabelecimento> salvos;
+        try {
+            salvos = estabelecimentoService.sincronizarLugares(encontrados, chave.categoria().getNome());
+        } catch (DataIntegrityViolationException ex) {
+            // o raio cobre as células vizinhas: outra célula pode ter gravado o
+            // mesmo googlePlaceId ao mesmo tempo; na segunda vez ele já existe
+            salvos = estabelecimentoService.sincronizarLugares(encontrados, chave.categoria().getNome());
+        }
+        List<GeoPonto> lugares = new ArrayList<>(salvos.size());
+        for (Estabelecimento e : salvos) {
+            lugares.add(GeoPonto.de(e));
+        }
+        return List.copyOf(lugares);
+    }
+
+    public int getTamanhoCache() {
+        return cache.getTamanho();
+    }
+
+    public long getAcertos() {
+        return cache.getAcertos();
+    }
+
+    public long getFaltas() {
+        return cache.getFaltas();
+    }
+
+    public long getDespejos() {
+        return cache.getDespejos();
+    }
+}
@@ -0,0 +1,55 @@
+package br.edu.senac.boraroleta.service.places;
+
+import br.edu.senac.boraroleta.service.geo.GeoHash;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link PlacesClient} local que gera lugares determinísticos ao redor do ponto.
+ * <p>
+ * Ativado com {@code places.client=stub}. Os mesmos parâmetros produzem
+ * sempre os mesmos lugares (e os mesmos place IDs), o que permite exercitar
+ * o cache e o upsert sem rede nem cota da API.
+ * </p>
+ *
+ * @author Equipe Bora Roleta - SENAC
+ * @version 1.0
+ */
+@Component
+@ConditionalOnProperty(name = "places.client", havingValue = "stub")
+public class StubPlacesClient implements PlacesClient {
+
+    static final int LUGARES_POR_BUSCA = 5;
+
+    private final AtomicLong chamadas = new AtomicLong();
+
+    @Override
+    public List<LugarEncontrado> buscarProximos(double latitude, double longitude, int raioMetros,
+                                                CategoriaPlaces categoria) {
+        chamadas.incrementAndGet();
+        String celula = GeoHash.encode(latitude, longitude, 7);
+        double passo = (raioMetros / GeoHash.METROS_POR_GRAU) / (LUGARES_POR_BUSCA + 1);
+
+        List<LugarEncontrado> lugares = new ArrayList<>(LUGARES_POR_BUSCA);
+        for (int i = 1; i <= LUGARES_POR_BUSCA; i++) {
+            lugares.add(new LugarEncontrado(
+                    "stub-" + categoria.name().toLowerCase() + "-" + celula + "-" + i,
+                    categoria.getNome() + " " + celula + " #" + i,
+                    "Rua Stub, " + (i * 100),
+                    latitude + passo * i,
+                    longitude - passo * i,
+                    (double) (i % 5) + 0.5
+            ));
+        }
+        return lugares;
+    }
+
+    /** Quantas buscas chegaram ao cliente (útil para verificar o cache). */
+    public long getChamadas() {
+        return chamadas.get();
+    }
+}
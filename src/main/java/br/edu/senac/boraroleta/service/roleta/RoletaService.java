@@ -0,0 +1,318 @@
+package br.edu.senac.boraroleta.service.roleta;
+
+import br.edu.senac.boraroleta.dto.EstabelecimentoProximoDTO;
+import br.edu.senac.boraroleta.exception.BusinessException;
+import br.edu.senac.boraroleta.model.Estabelecimento;
+import br.edu.senac.boraroleta.service.EstabelecimentoAlteradoEvent;
+import br.edu.senac.boraroleta.service.EstabelecimentosImportadosEvent;
+import br.edu.senac.boraroleta.service.geo.EstabelecimentoGeoIndex;
+import br.edu.senac.boraroleta.service.geo.EstabelecimentoGeoIndex.GeoPonto;
+import br.edu.senac.boraroleta.service.geo.GeoHash;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Roleta: sorteia estabelecimentos próximos ao usuário com peso pela
+ * {@code avaliacaoMedia}.
+ * <p>
+ * Os estabelecimentos ficam agrupados por (categoria, célula de geohash de
+ * precisão 6) e cada grupo mantém uma {@link TabelaAlias} pronta. Um giro
+ * escolhe a célula proporcionalmente ao peso total dela entre as que cobrem o
+ * raio e depois o estabelecimento pela tabela da célula, em O(1). Sorteios
+ * fora do raio ou já sorteados no mesmo giro são descartados e repetidos, o
+ * que mantém a distribuição proporcional ao peso entre os candidatos válidos.
+ * Se os descartes se acumularem (raio muito menor que as células, poucos
+ * candidatos), o restante é sorteado sobre a lista exata de candidatos.
+ * </p>
+ * <p>
+ * As tabelas são montadas quando a aplicação sobe, a partir dos pontos já
+ * carregados pelo {@link EstabelecimentoGeoIndex} (sem outra leitura da
+ * tabela), e reconstruídas, só para a célula afetada, pelos eventos de
+ * escrita do {@code EstabelecimentoService}.
+ * </p>
+ *
+ * @author Equipe Bora Roleta - SENAC
+ * @version 1.0
+ */
+@Service
+public class RoletaService {
+
+    static final int PRECISAO = 6;
+
+    public static final double RAIO_MAXIMO_METROS = 10_000;
+
+    public static final int GIROS_MAXIMOS = 10;
+
+    /** Peso de quem ainda não tem avaliação: meio da escala de 0 a 5 */
+    static final double PESO_SEM_AVALIACAO = 2.5;
+
+    /** Peso mínimo, para que nota 0 ainda tenha alguma chance */
+    static final double PESO_MINIMO = 0.1;
+
+    /** Sorteios descartados tolerados por giro antes de cair na lista exata */
+    static final int TENTATIVAS_POR_GIRO = 32;
+
+    @Autowired
+    private EstabelecimentoGeoIndex geoIndex;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** categoria (minúsculas) -> célula -> grupo */
+    private final Map<String, Map<Long, Celula>> porCategoria = new HashMap<>();
+    private final Map<Long, GeoPonto> porId = new HashMap<>();
+
+    /** Grupo imutável de uma célula: substituído inteiro a cada alteração. */
+    private record Celula(GeoPonto[] pontos, TabelaAlias tabela, double pesoTotal) {
+
+        static Celula de(GeoPonto[] pontos) {
+            double[] pesos = new double[pontos.length];
+            double total = 0;
+            for (int i = 0; i < pontos.length; i++) {
+                pesos[i] = peso(pontos[i]);
+                total += pesos[i];
+            }
+            return new Celula(pontos, new TabelaAlias(pesos), total);
+        }
+    }
+
+    static double peso(GeoPonto p) {
+        Double avaliacao = p.avaliacaoMedia();
+        if (avaliacao == null) {
+            return PESO_SEM_AVALIACAO;
+        }
+        return Math.max(PESO_MINIMO, avaliacao);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(EstabelecimentoGeoIndex.ORDEM_CARGA + 1)
+    public void carregar() {
+        lock.writeLock().lock();
+        try {
+            porCategoria.clear();
+            porId.clear();
+            Map<String, Map<Long, List<GeoPonto>>> grupos = new HashMap<>();
+            // dentro do lock: um evento que chegue agora espera e é aplicado depois da cópia
+            for (GeoPonto p : geoIndex.pontos()) {
+                if (p.categoria() == null) {
+                    continue;
+                }
+                porId.put(p.id(), p);
+                grupos.computeIfAbsent(chaveCategoria(p.categoria()), c -> new HashMap<>())
+                        .computeIfAbsent(celula(p), c -> new ArrayList<>())
+                        .add(p);
+            }
+            grupos.forEach((categoria, celulas) -> {
+                Map<Long, Celula> destino = new HashMap<>();
+                celulas.forEach((chave, lista) -> destino.put(chave, Celula.de(lista.toArray(GeoPonto[]::new))));
+                porCategoria.put(categoria, destino);
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener
+    public void aoAlterar(EstabelecimentoAlteradoEvent event) {
+        Estabelecimento e = event.getEstabelecimento();
+        lock.writeLock().lock();
+        try {
+            retirar(e.getId());
+            if (event.getTipo() != EstabelecimentoAlteradoEvent.Tipo.REMOVIDO && sorteavel(e)) {
+                inserir(GeoPonto.de(e));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener
+    public void aoImportar(EstabelecimentosImportadosEvent event) {
+        lock.writeLock().lock();
+        try {
+            for (Estabelecimento e : event.getEstabelecimentos()) {
+                retirar(e.getId());
+                if (sorteavel(e)) {
+                    inserir(GeoPonto.de(e));
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Gira a roleta {@code quantidade} vezes sem repetir estabelecimentos.
+     *
+     * @param latitude latitude do usuário
+     * @param longitude longitude do usuário
+     * @param raioMetros raio em metros
+     * @param categorias categorias aceitas (ignorando maiúsculas); vazia ou null para todas
+     * @param quantidade número de giros
+     * @return os sorteados na ordem do sorteio, com a distância até o usuário; pode ter
+     *         menos que {@code quantidade} itens se não houver candidatos suficientes
+     */
+    public List<EstabelecimentoProximoDTO> girar(double latitude, double longitude, double raioMetros,
+                                                 List<String> categorias, int quantidade) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new BusinessException("Coordenadas inválidas");
+        }
+        if (raioMetros <= 0 || raioMetros > RAIO_MAXIMO_METROS) {
+            throw new BusinessException("Raio deve estar entre 1 e " + (long) RAIO_MAXIMO_METROS + " metros");
+        }
+        if (quantidade <= 0 || quantidade > GIROS_MAXIMOS) {
+            throw new BusinessException("Quantidade deve estar entre 1 e " + GIROS_MAXIMOS);
+        }
+
+        List<Celula> celulas = celulasNoRaio(latitude, longitude, raioMetros, categorias);
+        if (celulas.isEmpty()) {
+            return List.of();
+        }
+        double[] acumulado = new double[celulas.size()];
+        double total = 0;
+        for (int i = 0; i < celulas.size(); i++) {
+            total += celulas.get(i).pesoTotal();
+            acumulado[i] = total;
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Set<Long> sorteados = new HashSet<>();
+        List<EstabelecimentoProximoDTO> resultado = new ArrayList<>(quantidade);
+        int tentativas = quantidade * TENTATIVAS_POR_GIRO;
+        while (resultado.size() < quantidade && tentativas-- > 0) {
+            int indice = Arrays.binarySearch(acumulado, random.nextDouble(total));
+            Celula celula = celulas.get(indice >= 0 ? Math.min(indice + 1, celulas.size() - 1) : -indice - 1);
+            GeoPonto p = celula.pontos()[celula.tabela().sortear(random)];
+            double distancia = GeoHash.distanciaMetros(latitude, longitude, p.latitude(), p.longitude());
+            if (distancia <= raioMetros && sorteados.add(p.id())) {
+                resultado.add(p.comDistancia(Math.round(distancia)));
+            }
+        }
+
+        if (resultado.size() < quantidade) {
+            completarPelaLista(celulas, latitude, longitude, raioMetros, sorteados, quantidade, resultado, random);
+        }
+        return resultado;
+    }
+
+    /**
+     * Sorteio ponderado sem reposição sobre todos os candidatos restantes
+     * (chaves de Efraimidis-Spirakis: menor {@code -ln(u) / peso} vence).
+     */
+    private void completarPelaLista(List<Celula> celulas, double latitude, double longitude, double raioMetros,
+                                    Set<Long> sorteados, int quantidade, List<EstabelecimentoProximoDTO> resultado,
+                                    ThreadLocalRandom random) {
+        record Candidato(GeoPonto ponto, long distancia, double chave) {
+        }
+        List<Candidato> candidatos = new ArrayList<>();
+        for (Celula celula : celulas) {
+            for (GeoPonto p : celula.pontos()) {
+                if (sorteados.contains(p.id())) {
+                    continue;
+                }
+                double distancia = GeoHash.distanciaMetros(latitude, longitude, p.latitude(), p.longitude());
+                if (distancia <= raioMetros) {
+                    double chave = -Math.log(1.0 - random.nextDouble()) / peso(p);
+                    candidatos.add(new Candidato(p, Math.round(distancia), chave));
+                }
+            }
+        }
+        candidatos.sort((a, b) -> Double.compare(a.chave(), b.chave()));
+        for (int i = 0; i < candidatos.size() && resultado.size() < quantidade; i++) {
+            Candidato c = candidatos.get(i);
+            resultado.add(c.ponto().comDistancia(c.distancia()));
+        }
+    }
+
+    private List<Celula> celulasNoRaio(double latitude, double longitude, double raioMetros,
+                                       List<String> categorias) {
+        GeoHash.Janela janela = GeoHash.janela(latitude, longitude, raioMetros, PRECISAO);
+
+        List<Celula> resultado = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            List<Map<Long, Celula>> grupos = new ArrayList<>();
+            if (categorias == null || categorias.stream().allMatch(String::isBlank)) {
+                grupos.addAll(porCategoria.values());
+            } else {
+                for (String categoria : new HashSet<>(categorias)) {
+                    Map<Long, Celula> grupo = porCategoria.get(chaveCategoria(categoria));
+                    if (grupo != null) {
+                        grupos.add(grupo);
+                    }
+                }
+            }
+            for (Map<Long, Celula> grupo : grupos) {
+                janela.visitar(grupo, resultado::add);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return resultado;
+    }
+
+    private static boolean sorteavel(Estabelecimento e) {
+        return e.getId() != null && e.getLatitude() != null && e.getLongitude() != null
+                && e.getCategoria() != null;
+    }
+
+    private static String chaveCategoria(String categoria) {
+        return categoria.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static long celula(GeoPonto p) {
+        return GeoHash.chave(p.latitude(), p.longitude(), PRECISAO);
+    }
+
+    // Os métodos abaixo exigem o write lock
+    private void inserir(GeoPonto ponto) {
+        porId.put(ponto.id(), ponto);
+        Map<Long, Celula> grupo = porCategoria.computeIfAbsent(chaveCategoria(ponto.categoria()), c -> new HashMap<>());
+        long chave = celula(ponto);
+        Celula atual = grupo.get(chave);
+        GeoPonto[] pontos = atual == null
+                ? new GeoPonto[] {ponto}
+                : Arrays.copyOf(atual.pontos(), atual.pontos().length + 1);
+        pontos[pontos.length - 1] = ponto;
+        grupo.put(chave, Celula.de(pontos));
+    }
+
+    private void retirar(Long id) {
+        GeoPonto anterior = porId.remove(id);
+        if (anterior == null) {
+            return;
+        }
+        String categoria = chaveCategoria(anterior.categoria());
+        Map<Long, Celula> grupo = porCategoria.get(categoria);
+        long chave = celula(anterior);
+        Celula atual = grupo == null ? null : grupo.get(chave);
+        if (atual == null) {
+            return;
+        }
+        GeoPonto[] restantes = Arrays.stream(atual.pontos())
+                .filter(p -> !p.id().equals(id))
+                .toArray(GeoPonto[]::new);
+        if (restantes.length == 0) {
+            grupo.remove(chave);
+            if (grupo.isEmpty()) {
+                porCategoria.remove(categoria);
+            }
+        } else {
+            grupo.put(chave, Celula.de(restantes));
+        }
+    }
+}
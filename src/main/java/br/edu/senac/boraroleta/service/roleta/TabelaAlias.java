@@ -0,0 +1,75 @@
+package br.edu.senac.boraroleta.service.roleta;
+
+import java.util.Random;
+
+/**
+ * Tabela de alias (método de Vose) para sortear índices com probabilidade
+ * proporcional ao peso em tempo constante.
+ * <p>
+ * A construção é O(n). Cada sorteio usa um índice uniforme e uma moeda
+ * viciada: fica com o índice sorteado com probabilidade {@code prob[i]} ou
+ * troca pelo seu {@code alias[i]}. Imutável depois de construída.
+ * </p>
+ *
+ * @author Equipe Bora Roleta - SENAC
+ * @version 1.0
+ */
+final class TabelaAlias {
+
+    private final double[] prob;
+    private final int[] alias;
+
+    TabelaAlias(double[] pesos) {
+        int n = pesos.length;
+        prob = new double[n];
+        alias = new int[n];
+
+        double soma = 0;
+        for (double p : pesos) {
+            soma += p;
+        }
+        // Pesos escalados para média 1: abaixo de 1 são "pequenos", os demais "grandes"
+        double[] escalados = new double[n];
+        int[] pequenos = new int[n];
+        int[] grandes = new int[n];
+        int nPequenos = 0;
+        int nGrandes = 0;
+        for (int i = 0; i < n; i++) {
+            escalados[i] = pesos[i] * n / soma;
+            if (escalados[i] < 1.0) {
+                pequenos[nPequenos++] = i;
+            } else {
+                grandes[nGrandes++] = i;
+            }
+        }
+
+        while (nPequenos > 0 && nGrandes > 0) {
+            int menor = pequenos[--nPequenos];
+            int maior = grandes[--nGrandes];
+            prob[menor] = escalados[menor];
+            alias[menor] = maior;
+            escalados[maior] = (escalados[maior] + escalados[menor]) - 1.0;
+            if (escalados[maior] < 1.0) {
+                pequenos[nPequenos++] = maior;
+            } else {
+                grandes[nGrandes++] = maior;
+            }
+        }
+        // O que sobrar só difere de 1 por arredondamento
+        while (nGrandes > 0) {
+            prob[grandes[--nGrandes]] = 1.0;
+        }
+        while (nPequenos > 0) {
+            prob[pequenos[--nPequenos]] = 1.0;
+        }
+    }
+
+    int sortear(Random random) {
+        int i = random.nextInt(prob.length);
+        return random.nextDouble() < prob[i] ? i : alias[i];
+    }
+
+    int tamanho() {
+        return prob.length;
+    }
+}
@@ -0,0 +1,99 @@
+package br.edu.senac.boraroleta.service.seguranca;
+
+import br.edu.senac.boraroleta.dto.UsuarioDTO;
+import br.edu.senac.boraroleta.exception.BusinessException;
+import br.edu.senac.boraroleta.model.Usuario;
+import br.edu.senac.boraroleta.repository.UsuarioRepository;
+import br.edu.senac.boraroleta.service.UsuarioService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * Cria o primeiro administrador a partir da configuração
+ * ({@code seguranca.admin-inicial.*}) quando o banco ainda não tem nenhum.
+ * <p>
+ * Roda na subida da aplicação e não faz nada sem email configurado ou quando
+ * já existe um administrador, então as variáveis podem ficar no ambiente sem
+ * recriar contas. Um usuário comum com o mesmo email não é promovido: o
+ * cadastro é público e qualquer um poderia ter registrado o endereço antes.
+ * </p>
+ *
+ * @author Equipe Bora Roleta - SENAC
+ * @version 1.0
+ */
+@Component
+public class AdministradorInicial {
+
+    private static final Logger log = LoggerFactory.getLogger(AdministradorInicial.class);
+
+    static final int TAMANHO_MINIMO_SENHA = 8;
+
+    @Autowired
+    private UsuarioRepository repository;
+
+    @Autowired
+    private UsuarioService usuarioService;
+
+    @Autowired
+    private Validator validator;
+
+    @Value("${seguranca.admin-inicial.email:}")
+    private String email;
+
+    @Value("${seguranca.admin-inicial.senha:}")
+    private String senha;
+
+    @Value("${seguranca.admin-inicial.nome:Administrador}")
+    private String nome;
+
+    @Value("${seguranca.admin-inicial.cpf:}")
+    private String cpf;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void criarSeNecessario() {
+        if (email == null || email.isBlank()) {
+            return;
+        }
+        if (repository.contarAdministradores() > 0) {
+            log.debug("Administrador inicial ignorado: o banco já tem administradores");
+            return;
+        }
+        if (repository.existsByEmailNormalizado(Usuario.normalizarEmail(email))) {
+            log.warn("Administrador inicial não criado: {} já pertence a um usuário comum. "
+                    + "Para promovê-lo: UPDATE usuarios SET is_admin = TRUE WHERE email = '{}'", email, email);
+            return;
+        }
+
+        UsuarioDTO dto = validar(new UsuarioDTO(nome, email.trim(), cpf, null, senha));
+        try {
+            Usuario admin = usuarioService.criarAdministrador(dto);
+            log.info("Administrador inicial criado (id {}); remova seguranca.admin-inicial.senha do ambiente",
+                    admin.getId());
+        } catch (BusinessException e) {
+            // outra instância subindo ao mesmo tempo gravou primeiro
+            log.warn("Administrador inicial não criado: {}", e.getMessage());
+        }
+    }
+
+    private UsuarioDTO validar(UsuarioDTO dto) {
+        if (senha == null || senha.length() < TAMANHO_MINIMO_SENHA) {
+            throw new IllegalStateException("seguranca.admin-inicial.senha deve ter ao menos "
+                    + TAMANHO_MINIMO_SENHA + " caracteres");
+        }
+        Set<ConstraintViolation<UsuarioDTO>> violacoes = validator.validate(dto);
+        if (!violacoes.isEmpty()) {
+            ConstraintViolation<UsuarioDTO> v = violacoes.iterator().next();
+            throw new IllegalStateException("seguranca.admin-inicial." + v.getPropertyPath() + ": " + v.getMessage());
+        }
+        return dto;
+    }
+}
@@ -0,0 +1,13 @@
+package br.edu.senac.boraroleta.service.seguranca;
+
+/**
+ * Dados de sessão carregados dentro de um token assinado.
+ *
+ * @param usuarioId ID do usuário (0 para o admin hard-coded)
+ * @param admin se o usuário tem permissões de administrador
+ * @param emitidoEm instante de emissão, em milissegundos desde a época
+ * @param expiraEm instante de expiração, em milissegundos desde a época
+ * @param jti identificador único do token, usado na revogação
+ */
+public record SessaoToken(long usuarioId, boolean admin, long emitidoEm, long expiraEm, String jti) {
+}
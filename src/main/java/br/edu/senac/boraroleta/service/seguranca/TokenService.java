@@ -0,0 +1,176 @@
+package br.edu.senac.boraroleta.service.seguranca;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Emissão e validação de tokens de sessão assinados com HMAC-SHA256.
+ * <p>
+ * Formato: {@code base64url(payload) + "." + base64url(hmac(payload))}, onde o
+ * payload é {@code usuarioId:admin:emitidoEm:expiraEm:jti}. A validação é
+ * feita inteiramente em memória (uma HMAC sobre poucos bytes), sem banco e
+ * sem BCrypt, então custa microssegundos por requisição.
+ * </p>
+ * <p>
+ * A revogação usa dois mapas pequenos: tokens individuais (logout) por
+ * {@code jti} e, por usuário, um instante antes do qual todos os tokens
+ * emitidos deixam de valer (remoção ou troca de senha). Entradas somem
+ * sozinhas depois da validade máxima de um token.
+ * </p>
+ *
+ * @author Equipe Bora Roleta - SENAC
+ * @version 1.0
+ */
+@Service
+public class TokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenService.class);
+
+    private static final String ALGORITMO = "HmacSHA256";
+    private static final Base64.Encoder B64 = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder B64D = Base64.getUrlDecoder();
+
+    /** Tamanho a partir do qual os mapas de revogação são varridos em busca de entradas vencidas. */
+    static final int LIMPEZA_A_PARTIR_DE = 10_000;
+
+    private final SecretKeySpec chave;
+    private final long validadeMillis;
+    private final SecureRandom random = new SecureRandom();
+    private final ThreadLocal<Mac> macs;
+
+    /** jti revogado -> expiração do token */
+    private final Map<String, Long> tokensRevogados = new ConcurrentHashMap<>();
+
+    /** usuário -> tokens emitidos até este instante são inválidos */
+    private final Map<Long, Long> usuariosRevogados = new ConcurrentHashMap<>();
+
+    public TokenService(@Value("${seguranca.token.segredo:}") String segredo,
+                        @Value("${seguranca.token.validade-minutos:720}") long validadeMinutos) {
+        byte[] bytes;
+        if (segredo == null || segredo.isBlank()) {
+            bytes = new byte[32];
+            new SecureRandom().nextBytes(bytes);
+            log.warn("seguranca.token.segredo não configurado: usando segredo aleatório, "
+                    + "tokens emitidos não sobrevivem a um restart");
+        } else {
+            bytes = segredo.getBytes(StandardCharsets.UTF_8);
+        }
+        this.chave = new SecretKeySpec(bytes, ALGORITMO);
+        this.validadeMillis = validadeMinutos * 60_000;
+        this.macs = ThreadLocal.withInitial(this::novoMac);
+    }
+
+    /** Emite um token para o usuário autenticado. */
+    public SessaoToken emitir(long usuarioId, boolean admin) {
+        long agora = System.currentTimeMillis();
+        byte[] id = new byte[12];
+        random.nextBytes(id);
+        return new SessaoToken(usuarioId, admin, agora, agora + validadeMillis, B64.encodeToString(id));
+    }
+
+    /** Serializa e assina a sessão. */
+    public String assinar(SessaoToken sessao) {
+        String payload = sessao.usuarioId() + ":" + (sessao.admin() ? 1 : 0) + ":" + sessao.emitidoEm()
+                + ":" + sessao.expiraEm() + ":" + sessao.jti();
+        String corpo = B64.encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+        return corpo + "." + B64.encodeToString(hmac(corpo));
+    }
+
+    /**
+     * Valida assinatura, expiração e revogação.
+     *
+     * @return a sessão, ou vazio se o token for inválido por qualquer motivo
+     */
+    public Optional<SessaoToken> validar(String token) {
+        if (token == null) {
+            return Optional.empty();
+        }
+        int ponto = token.indexOf('.');
+        if (ponto <= 0 || ponto == token.length() - 1) {
+            return Optional.empty();
+        }
+        String corpo = token.substring(0, ponto);
+        try {
+            byte[] assinatura = B64D.decode(token.substring(ponto + 1));
+            if (!MessageDigest.isEqual(assinatura, hmac(corpo))) {
+                return Optional.empty();
+            }
+            String[] campos = new String(B64D.decode(corpo), StandardCharsets.UTF_8).split(":");
+            if (campos.length != 5) {
+                return Optional.empty();
+            }
+            SessaoToken sessao = new SessaoToken(Long.parseLong(campos[0]), "1".equals(campos[1]),
+                    Long.parseLong(campos[2]), Long.parseLong(campos[3]), campos[4]);
+            if (sessao.expiraEm() < System.currentTimeMillis() || revogado(sessao)) {
+                return Optional.empty();
+            }
+            return Optional.of(sessao);
+        } catch (IllegalArgumentException ex) {
+            // Base64 ou número malformado
+            return Optional.empty();
+        }
+    }
+
+    /** Revoga um token específico (logout). */
+    public void revogar(SessaoToken sessao) {
+        tokensRevogados.put(sessao.jti(), sessao.expiraEm());
+        limparSeNecessario();
+    }
+
+    /** Revoga todos os tokens já emitidos para o usuário. */
+    public void revogarUsuario(long usuarioId) {
+        usuariosRevogados.put(usuarioId, System.currentTimeMillis());
+        limparSeNecessario();
+    }
+
+    private boolean revogado(SessaoToken sessao) {
+        if (!tokensRevogados.isEmpty() && tokensRevogados.containsKey(sessao.jti())) {
+            return true;
+        }
+        Long antesDe = usuariosRevogados.isEmpty() ? null : usuariosRevogados.get(sessao.usuarioId());
+        return antesDe != null && sessao.emitidoEm() <= antesDe;
+    }
+
+    private void limparSeNecessario() {
+        long agora = System.currentTimeMillis();
+        if (tokensRevogados.size() > LIMPEZA_A_PARTIR_DE) {
+            tokensRevogados.values().removeIf(expiraEm -> expiraEm < agora);
+        }
+        if (usuariosRevogados.size() > LIMPEZA_A_PARTIR_DE) {
+            Iterator<Long> it = usuariosRevogados.values().iterator();
+            while (it.hasNext()) {
+                if (it.next() + validadeMillis < agora) {
+                    it.remove();
+                }
+            }
+        }
+    }
+
+    private byte[] hmac(String corpo) {
+        return macs.get().doFinal(corpo.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private Mac novoMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITMO);
+            mac.init(chave);
+            return mac;
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("HMAC indisponível", ex);
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package br.edu.senac.boraroleta.service.sincronizacao;
+
+import br.edu.senac.boraroleta.dto.AlteracoesCatalogoDTO;
+import br.edu.senac.boraroleta.dto.EstabelecimentoRespostaDTO;
+import br.edu.senac.boraroleta.exception.BusinessException;
+import br.edu.senac.boraroleta.model.EstabelecimentoRemovido;
+import br.edu.senac.boraroleta.model.SequenciaCatalogo;
+import br.edu.senac.boraroleta.repository.EstabelecimentoRemovidoRepository;
+import br.edu.senac.boraroleta.repository.EstabelecimentoRepository;
+import br.edu.senac.boraroleta.service.Paginacao;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sequência de alterações do catálogo e sincronização incremental.
+ * <p>
+ * Toda escrita em estabelecimentos recebe a próxima versão de um contador
+ * único ({@code catalogo_sequencia}), gravada em {@code versao_alteracao};
+ * exclusões deixam um tombstone em {@code estabelecimentos_removidos} com a
+ * sua própria versão. O contador é incrementado com {@code UPDATE} dentro da
+ * transação da escrita, que segura o lock da linha até o commit: as versões
+ * ficam visíveis na mesma ordem em que são atribuídas, e quem leu o contador
+ * num valor {@code v} já enxerga todas as alterações até {@code v}. Com
+ * timestamps, uma transação lenta poderia confirmar depois de um cliente ter
+ * avançado o seu token e a alteração se perderia.
+ * </p>
+ * <p>
+ * O token entregue ao cliente é a versão em base 36. Tombstones com mais de
+ * {@code catalogo.alteracoes.retencao-dias} são expurgados e o maior expurgado
+ * vira o horizonte: tokens anteriores a ele (ou posteriores ao contador, como
+ * depois de restaurar um backup) recebem {@code reiniciar = true} e a
+ * sincronização recomeça do zero.
+ * </p>
+ *
+ * @author Equipe Bora Roleta - SENAC
+ * @version 1.0
+ */
+@Service
+public class AlteracoesCatalogo {
+
+    private static final Logger log = LoggerFactory.getLogger(AlteracoesCatalogo.class);
+
+    private static final String INCREMENTAR = "UPDATE catalogo_sequencia SET valor = valor + ? WHERE id = ?";
+    private static final String LER = "SELECT valor, horizonte_removidos FROM catalogo_sequencia WHERE id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EstabelecimentoRepository repository;
+
+    @Autowired
+    private EstabelecimentoRemovidoRepository removidoRepository;
+
+    @Value("${catalogo.alteracoes.retencao-dias:30}")
+    private long retencaoDias;
+
+    private final ScheduledExecutorService expurgo = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "catalogo-alteracoes-expurgo");
+        t.setDaemon(true);
+        return t;
+    });
+
+    @PostConstruct
+    void iniciar() {
+        // O Flyway cria a linha do contador; no perfil de teste o esquema vem do Hibernate, sem ela
+        transactionTemplate.executeWithoutResult(status -> {
+            Integer linhas = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM catalogo_sequencia WHERE id = ?", Integer.class, SequenciaCatalogo.ID);
+            if (linhas == null || linhas == 0) {
+                jdbcTemplate.update("INSERT INTO catalogo_sequencia (id, valor, horizonte_removidos) "
+                        + "SELECT ?, COALESCE(MAX(versao_alteracao), 0), 0 FROM estabelecimentos", SequenciaCatalogo.ID);
+            }
+        });
+        expurgo.scheduleWithFixedDelay(this::expurgar, 1, 24, TimeUnit.HOURS);
+    }
+
+    /**
+     * Reserva {@code quantidade} versões consecutivas na transação corrente.
+     *
+     * @return a última versão reservada (as anteriores são {@code ultima - quantidade + 1 .. ultima})
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long reservar(int quantidade) {
+        jdbcTemplate.update(INCREMENTAR, quantidade, SequenciaCatalogo.ID);
+        return jdbcTemplate.queryForObject("SELECT valor FROM catalogo_sequencia WHERE id = ?",
+                Long.class, SequenciaCatalogo.ID);
+    }
+
+    /** Próxima versão, na transação corrente. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long proxima() {
+        return reservar(1);
+    }
+
+    /** Grava o tombstone da exclusão, na transação corrente. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarRemocao(Long id) {
+        removidoRepository.save(new EstabelecimentoRemovido(id, reservar(1)));
+    }
+
+    /**
+     * Alterações desde o token informado.
+     *
+     * @param token token da última sincronização (null ou vazio para o catálogo inteiro)
+     * @param limite quantidade máxima de itens (alterados + removidos) na resposta
+     */
+    @Transactional(readOnly = true)
+    public AlteracoesCatalogoDTO listar(String token, int limite) {
+        if (limite <= 0 || limite > Paginacao.LIMITE_MAXIMO) {
+            throw new BusinessException("Limite deve estar entre 1 e " + Paginacao.LIMITE_MAXIMO);
+        }
+        long desde = decodificar(token);
+
+        // O contador é lido primeiro: tudo até ele já está confirmado e visível
+        long[] estado = jdbcTemplate.queryForObject(LER,
+                (rs, i) -> new long[] {rs.getLong(1), rs.getLong(2)}, SequenciaCatalogo.ID);
+        long atual = estado[0];
+        long horizonte = estado[1];
+        boolean reiniciar = desde > 0 && (desde < horizonte || desde > atual);
+        if (reiniciar) {
+            desde = 0;
+        }
+
+        List<Object[]> versoes = repository.listarVersoesAlteradas(desde, atual, Limit.of(limite));
+        // numa carga completa o cliente parte do zero e não precisa de tombstones
+        List<EstabelecimentoRemovido> tombstones = desde == 0
+                ? List.of()
+                : removidoRepository.findByVersaoGreaterThanAndVersaoLessThanEqualOrderByVersaoAsc(
+                        desde, atual, Limit.of(limite));
+        boolean maisPaginas = versoes.size() == limite || tombstones.size() == limite;
+
+        // Intercala as duas listas por versão e corta no limite. Se alguma veio
+        // cheia, o corte nunca passa da última versão dela, então nada fica para trás.
+        List<Long> alterados = new ArrayList<>();
+        List<Long> removidos = new ArrayList<>();
+        long ultima = desde;
+        int i = 0;
+        int j = 0;
+        while (i + j < limite && (i < versoes.size() || j < tombstones.size())) {
+            long va = i < versoes.size() ? (Long) versoes.get(i)[1] : Long.MAX_VALUE;
+            long vr = j < tombstones.size() ? tombstones.get(j).getVersao() : Long.MAX_VALUE;
+            if (va < vr) {
+                alterados.add((Long) versoes.get(i++)[0]);
+                ultima = va;
+            } else {
+                removidos.add(tombstones.get(j++).getId());
+                ultima = vr;
+            }
+        }
+
+        return new AlteracoesCatalogoDTO(carregar(alterados), removidos,
+                codificar(maisPaginas ? ultima : atual), maisPaginas, reiniciar);
+    }
+
+    /** DTOs na mesma ordem dos IDs. */
+    private List<EstabelecimentoRespostaDTO> carregar(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, EstabelecimentoRespostaDTO> porId = new HashMap<>();
+        for (EstabelecimentoRespostaDTO dto : repository.buscarRespostasPorIds(ids)) {
+            porId.put(dto.getId(), dto);
+        }
+        List<EstabelecimentoRespostaDTO> resultado = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            EstabelecimentoRespostaDTO dto = porId.get(id);
+            if (dto != null) {
+                resultado.add(dto);
+            }
+        }
+        return resultado;
+    }
+
+    private void expurgar() {
+        try {
+            Long expurgados = transactionTemplate.execute(status -> {
+                Long horizonte = removidoRepository.maiorVersaoRemovidaAntesDe(
+                        LocalDateTime.now().minusDays(retencaoDias));
+                if (horizonte == null) {
+                    return 0L;
+                }
+                jdbcTemplate.update("UPDATE catalogo_sequencia SET horizonte_removidos = ? "
+                        + "WHERE id = ? AND horizonte_removidos < ?", horizonte, SequenciaCatalogo.ID, horizonte);
+                return (long) removidoRepository.expurgarAte(horizonte);
+            });
+            if (expurgados != null && expurgados > 0) {
+                log.info("{} tombstones de estabelecimentos expurgados", expurgados);
+            }
+        } catch (Exception ex) {
+            log.error("Falha ao expurgar tombstones de estabelecimentos", ex);
+        }
+    }
+
+    static String codificar(long versao) {
+        return Long.toString(versao, 36);
+    }
+
+    static long decodificar(String token) {
+        if (token == null || token.isBlank()) {
+            return 0;
+        }
+        try {
+            long versao = Long.parseLong(token.trim(), 36);
+            if (versao < 0) {
+                throw new NumberFormatException(token);
+            }
+            return versao;
+        } catch (NumberFormatException ex) {
+            throw new BusinessException("Token de sincronização inválido");
+        }
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        expurgo.shutdownNow();
+    }
+}
@@ -0,0 +1,187 @@
+package br.edu.senac.boraroleta.service.snapshot;
+
+import br.edu.senac.boraroleta.dto.EstabelecimentoRespostaDTO;
+import br.edu.senac.boraroleta.service.EstabelecimentoAlteradoEvent;
+import br.edu.senac.boraroleta.service.EstabelecimentosImportadosEvent;
+import br.edu.senac.boraroleta.service.EstabelecimentoService;
+import br.edu.senac.boraroleta.service.Paginacao;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Catálogo completo já serializado em JSON e comprimido com gzip.
+ * <p>
+ * O snapshot é montado numa thread própria, percorrendo o catálogo em lotes
+ * de {@link Paginacao#TAMANHO_LOTE}, e publicado de uma vez numa referência
+ * volátil. A leitura só escolhe um dos arrays de bytes prontos: nada é
+ * consultado nem serializado por requisição.
+ * </p>
+ * <p>
+ * Escritas no catálogo agendam uma reconstrução depois de um pequeno atraso
+ * ({@code catalogo.snapshot.atraso-ms}); todas as escritas que chegarem
+ * nesse intervalo, ou durante uma reconstrução, são atendidas por uma única
+ * reconstrução seguinte.
+ * </p>
+ *
+ * @author Equipe Bora Roleta - SENAC
+ * @version 1.0
+ */
+@Component
+public class CatalogoSnapshot {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogoSnapshot.class);
+
+    /**
+     * Bytes prontos do catálogo. Cada codificação é uma representação
+     * diferente e tem o seu próprio ETag forte.
+     *
+     * @param versao versão do catálogo lida antes da montagem
+     * @param json JSON sem compressão
+     * @param gzip o mesmo JSON comprimido com gzip
+     * @param etagJson ETag da versão sem compressão
+     * @param etagGzip ETag da versão gzip
+     */
+    public record Snapshot(long versao, byte[] json, byte[] gzip, String etagJson, String etagGzip) {
+
+        static Snapshot de(long versao, byte[] json, byte[] gzip) {
+            String tag = "s" + Long.toString(versao, 36);
+            return new Snapshot(versao, json, gzip, "\"" + tag + "\"", "\"" + tag + "-gz\"");
+        }
+    }
+
+    @Autowired
+    private EstabelecimentoService estabelecimentoService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${catalogo.snapshot.atraso-ms:500}")
+    private long atrasoMs;
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "catalogo-snapshot");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final AtomicBoolean agendado = new AtomicBoolean();
+    private volatile Snapshot atual;
+    private Timer tempoReconstrucao;
+
+    @PostConstruct
+    void registrarMetricas() {
+        tempoReconstrucao = Timer.builder("boraroleta.snapshot.reconstrucao").register(meterRegistry);
+        Gauge.builder("boraroleta.snapshot.bytes", this, s -> s.atual == null ? 0 : s.atual.json().length)
+                .tag("codificacao", "identity").register(meterRegistry);
+        Gauge.builder("boraroleta.snapshot.bytes", this, s -> s.atual == null ? 0 : s.atual.gzip().length)
+                .tag("codificacao", "gzip").register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        agendar(0);
+    }
+
+    @TransactionalEventListener
+    public void aoAlterar(EstabelecimentoAlteradoEvent event) {
+        agendar(atrasoMs);
+    }
+
+    @TransactionalEventListener
+    public void aoImportar(EstabelecimentosImportadosEvent event) {
+        agendar(atrasoMs);
+    }
+
+    /**
+     * Snapshot atual, ou null enquanto o primeiro ainda está sendo montado.
+     */
+    public Snapshot atual() {
+        return atual;
+    }
+
+    private void agendar(long atraso) {
+        if (agendado.compareAndSet(false, true)) {
+            executor.schedule(this::reconstruir, atraso, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void reconstruir() {
+        // liberado antes de ler: escritas a partir daqui agendam a próxima rodada
+        agendado.set(false);
+        try {
+            atual = tempoReconstrucao.recordCallable(this::montar);
+        } catch (Exception ex) {
+            log.error("Falha ao montar o snapshot do catálogo; mantendo o anterior", ex);
+        }
+    }
+
+    private Snapshot montar() throws IOException {
+        // a versão é lida antes dos dados, como nos ETags das demais leituras
+        long versao = estabelecimentoService.getVersaoCatalogo();
+
+        ByteArrayOutputStream json = new ByteArrayOutputStream(64 * 1024);
+        try (JsonGenerator gen = objectMapper.createGenerator(json, JsonEncoding.UTF8)) {
+            gen.writeStartArray();
+            Long cursor = null;
+            List<EstabelecimentoRespostaDTO> lote;
+            do {
+                lote = estabelecimentoService.listarPagina(cursor, Paginacao.TAMANHO_LOTE);
+                for (EstabelecimentoRespostaDTO e : lote) {
+                    objectMapper.writeValue(gen, e);
+                }
+                if (!lote.isEmpty()) {
+                    cursor = lote.get(lote.size() - 1).getId();
+                }
+            } while (lote.size() == Paginacao.TAMANHO_LOTE);
+            gen.writeEndArray();
+        }
+        byte[] bytes = json.toByteArray();
+        return Snapshot.de(versao, bytes, gzip(bytes));
+    }
+
+    // Compressão máxima: o custo é pago uma vez por reconstrução, não por requisição
+    private static byte[] gzip(byte[] dados) throws IOException {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream(Math.max(512, dados.length / 4));
+        try (OutputStream gz = new GZIPOutputStream(saida, 64 * 1024) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            gz.write(dados);
+        }
+        return saida.toByteArray();
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        executor.shutdownNow();
+    }
+}
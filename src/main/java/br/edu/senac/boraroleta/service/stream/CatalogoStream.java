@@ -0,0 +1,331 @@
+package br.edu.senac.boraroleta.service.stream;
+
+import br.edu.senac.boraroleta.dto.EstabelecimentoMapaDTO;
+import br.edu.senac.boraroleta.exception.ServicoSobrecarregadoException;
+import br.edu.senac.boraroleta.model.Estabelecimento;
+import br.edu.senac.boraroleta.service.EstabelecimentoAlteradoEvent;
+import br.edu.senac.boraroleta.service.EstabelecimentosImportadosEvent;
+import br.edu.senac.boraroleta.service.geo.Retangulo;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Feed de alterações do catálogo em Server-Sent Events.
+ * <p>
+ * Cada assinante é uma conexão assíncrona ({@link SseEmitter}), sem thread de
+ * requisição presa, com filtro de categorias e retângulo de coordenadas e uma
+ * fila limitada a {@code catalogo.stream.buffer} mensagens. A cada escrita
+ * confirmada a mensagem é serializada uma única vez e oferecida às filas dos
+ * assinantes interessados, sem bloquear quem escreveu; um pool pequeno de
+ * threads esvazia as filas para os sockets. Um assinante cuja fila enche
+ * (cliente lento ou parado) é desconectado: ao reconectar, o
+ * {@code EventSource} recebe o evento {@code conectado} e deve recarregar o
+ * estado pelo {@code /mapa} ou {@code /snapshot}. É o que acontece numa
+ * importação em massa: recarregar sai mais barato que receber milhares de
+ * eventos.
+ * </p>
+ * <p>
+ * Eventos: {@code criado} e {@code atualizado} levam um
+ * {@link EstabelecimentoMapaDTO}; {@code removido} leva só o {@code id}. Uma
+ * atualização que tira o estabelecimento da categoria filtrada chega como
+ * {@code removido}. A posição anterior não é conhecida, então um
+ * estabelecimento que sai do retângulo por mudança de coordenadas não gera
+ * evento para quem só o via por ele. Um comentário a cada
+ * {@code catalogo.stream.heartbeat-segundos} mantém proxies abertos e revela
+ * conexões mortas.
+ * </p>
+ * <p>
+ * Métricas: {@code boraroleta.stream.assinantes},
+ * {@code boraroleta.stream.mensagens} e {@code boraroleta.stream.descartados}.
+ * </p>
+ *
+ * @author Equipe Bora Roleta - SENAC
+ * @version 1.0
+ */
+@Service
+public class CatalogoStream {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${catalogo.stream.buffer:64}")
+    private int tamanhoBuffer;
+
+    @Value("${catalogo.stream.maximo-assinantes:10000}")
+    private int maximoAssinantes;
+
+    @Value("${catalogo.stream.heartbeat-segundos:25}")
+    private long heartbeatSegundos;
+
+    @Value("${catalogo.stream.timeout-minutos:30}")
+    private long timeoutMinutos;
+
+    @Value("${catalogo.stream.threads:2}")
+    private int threads;
+
+    private final Set<Assinante> assinantes = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger quantidade = new AtomicInteger();
+    private final AtomicLong sequencia = new AtomicLong();
+
+    private ExecutorService envio;
+    private ScheduledExecutorService heartbeat;
+    private Counter mensagens;
+    private Counter descartados;
+
+    @PostConstruct
+    void iniciar() {
+        AtomicInteger contador = new AtomicInteger();
+        envio = Executors.newFixedThreadPool(Math.max(1, threads), r -> {
+            Thread t = new Thread(r, "catalogo-stream-" + contador.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        heartbeat = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "catalogo-stream-heartbeat");
+            t.setDaemon(true);
+            return t;
+        });
+        heartbeat.scheduleWithFixedDelay(this::pulsar, heartbeatSegundos, heartbeatSegundos, TimeUnit.SECONDS);
+
+        mensagens = Counter.builder("boraroleta.stream.mensagens").register(meterRegistry);
+        descartados = Counter.builder("boraroleta.stream.descartados").register(meterRegistry);
+        Gauge.builder("boraroleta.stream.assinantes", quantidade, AtomicInteger::get).register(meterRegistry);
+    }
+
+    /**
+     * Abre uma assinatura.
+     *
+     * @param categorias categorias aceitas (ignorando maiúsculas); vazia ou null para todas
+     * @param bbox retângulo aceito, ou null para qualquer posição
+     * @throws ServicoSobrecarregadoException se o limite de assinantes foi atingido
+     */
+    public SseEmitter assinar(List<String> categorias, Retangulo bbox) {
+        if (quantidade.incrementAndGet() > maximoAssinantes) {
+            quantidade.decrementAndGet();
+            throw new ServicoSobrecarregadoException("Muitas conexões abertas no feed, tente novamente");
+        }
+        Set<String> aceitas = new HashSet<>();
+        if (categorias != null) {
+            for (String categoria : categorias) {
+                if (!categoria.isBlank()) {
+                    aceitas.add(normalizar(categoria));
+                }
+            }
+        }
+
+        SseEmitter emitter = new SseEmitter(TimeUnit.MINUTES.toMillis(timeoutMinutos));
+        Assinante assinante = new Assinante(emitter, aceitas, bbox);
+        emitter.onCompletion(assinante::encerrar);
+        emitter.onTimeout(assinante::encerrar);
+        emitter.onError(ex -> assinante.encerrar());
+        assinantes.add(assinante);
+
+        // vai pela fila como as demais: a primeira escrita já acontece fora da thread da requisição
+        assinante.oferecer(SseEmitter.event()
+                .name("conectado")
+                .id(Long.toString(sequencia.get()))
+                .reconnectTime(TimeUnit.SECONDS.toMillis(3))
+                .data("{}")
+                .build());
+        return emitter;
+    }
+
+    /**
+     * Distribui a escrita confirmada. Só há trabalho não bloqueante aqui:
+     * filtrar, colocar a mensagem já pronta na fila e, se preciso, agendar o envio.
+     */
+    @TransactionalEventListener
+    public void aoAlterar(EstabelecimentoAlteradoEvent event) {
+        if (assinantes.isEmpty()) {
+            return;
+        }
+        distribuir(event.getTipo(), event.getEstabelecimento(), event.getCategoriaAnterior());
+    }
+
+    /** Um lote da importação: um evento "criado" por item, como no cadastro avulso. */
+    @TransactionalEventListener
+    public void aoImportar(EstabelecimentosImportadosEvent event) {
+        if (assinantes.isEmpty()) {
+            return;
+        }
+        for (Estabelecimento e : event.getEstabelecimentos()) {
+            distribuir(EstabelecimentoAlteradoEvent.Tipo.CRIADO, e, null);
+        }
+    }
+
+    private void distribuir(EstabelecimentoAlteradoEvent.Tipo tipo, Estabelecimento e, String categoriaAnterior) {
+        String id = Long.toString(sequencia.incrementAndGet());
+        String categoria = normalizar(e.getCategoria());
+        String anterior = categoriaAnterior == null ? null : normalizar(categoriaAnterior);
+        double lat = e.getLatitude();
+        double lng = e.getLongitude();
+
+        Set<DataWithMediaType> principal = null;
+        Set<DataWithMediaType> removido = null;
+        for (Assinante assinante : assinantes) {
+            if (assinante.aceita(categoria, lat, lng)) {
+                if (principal == null) {
+                    principal = tipo == EstabelecimentoAlteradoEvent.Tipo.REMOVIDO
+                            ? mensagemRemovido(id, e.getId())
+                            : mensagem(tipo == EstabelecimentoAlteradoEvent.Tipo.CRIADO
+                                    ? "criado" : "atualizado", id, e);
+                }
+                assinante.oferecer(principal);
+            } else if (anterior != null && assinante.aceita(anterior, lat, lng)) {
+                // mudou para uma categoria que este assinante não acompanha
+                if (removido == null) {
+                    removido = mensagemRemovido(id, e.getId());
+                }
+                assinante.oferecer(removido);
+            }
+        }
+    }
+
+    /** Quantidade de assinaturas abertas. */
+    public int getAssinantes() {
+        return quantidade.get();
+    }
+
+    private Set<DataWithMediaType> mensagem(String nome, String id, Estabelecimento e) {
+        return SseEmitter.event().name(nome).id(id).data(json(new EstabelecimentoMapaDTO(
+                e.getId(), e.getNome(), e.getCategoria(), e.getLatitude(), e.getLongitude()))).build();
+    }
+
+    private Set<DataWithMediaType> mensagemRemovido(String id, Long estabelecimentoId) {
+        return SseEmitter.event().name("removido").id(id).data(json(Map.of("id", estabelecimentoId))).build();
+    }
+
+    /** JSON pronto: o {@code String} é escrito como está, sem nova serialização por assinante. */
+    private String json(Object valor) {
+        try {
+            return objectMapper.writeValueAsString(valor);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private void pulsar() {
+        if (assinantes.isEmpty()) {
+            return;
+        }
+        Set<DataWithMediaType> comentario = SseEmitter.event().comment("").build();
+        for (Assinante assinante : assinantes) {
+            assinante.oferecer(comentario);
+        }
+    }
+
+    private static String normalizar(String categoria) {
+        return categoria == null ? "" : categoria.trim().toLowerCase(Locale.ROOT);
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        heartbeat.shutdownNow();
+        envio.shutdownNow();
+        for (Assinante assinante : assinantes) {
+            assinante.emitter.complete();
+        }
+    }
+
+    /** Uma conexão aberta com a sua fila de envio. */
+    private final class Assinante {
+
+        private final SseEmitter emitter;
+        private final Set<String> categorias;
+        private final Retangulo bbox;
+        private final ArrayBlockingQueue<Set<DataWithMediaType>> fila;
+
+        /** true enquanto há uma tarefa de envio agendada ou rodando */
+        private final AtomicBoolean agendado = new AtomicBoolean();
+        private final AtomicBoolean encerrado = new AtomicBoolean();
+
+        Assinante(SseEmitter emitter, Set<String> categorias, Retangulo bbox) {
+            this.emitter = emitter;
+            this.categorias = categorias;
+            this.bbox = bbox;
+            this.fila = new ArrayBlockingQueue<>(Math.max(1, tamanhoBuffer));
+        }
+
+        boolean aceita(String categoria, double lat, double lng) {
+            return (categorias.isEmpty() || categorias.contains(categoria))
+                    && (bbox == null || bbox.contem(lat, lng));
+        }
+
+        void oferecer(Set<DataWithMediaType> mensagem) {
+            if (encerrado.get()) {
+                return;
+            }
+            if (!fila.offer(mensagem)) {
+                // cliente não acompanha: desconecta em vez de acumular
+                descartados.increment();
+                encerrar();
+                emitter.complete();
+                return;
+            }
+            agendar();
+        }
+
+        private void agendar() {
+            if (agendado.compareAndSet(false, true)) {
+                envio.execute(this::enviar);
+            }
+        }
+
+        private void enviar() {
+            try {
+                Set<DataWithMediaType> mensagem;
+                while (!encerrado.get() && (mensagem = fila.poll()) != null) {
+                    emitter.send(mensagem);
+                    mensagens.increment();
+                }
+            } catch (IOException | IllegalStateException ex) {
+                // conexão fechada pelo cliente ou emitter já completado
+                encerrar();
+            } finally {
+                agendado.set(false);
+            }
+            // algo pode ter entrado entre o último poll e a liberação da flag
+            if (!encerrado.get() && !fila.isEmpty()) {
+                agendar();
+            }
+        }
+
+        void encerrar() {
+            if (encerrado.compareAndSet(false, true)) {
+                assinantes.remove(this);
+                quantidade.decrementAndGet();
+                fila.clear();
+            }
+        }
+    }
+}
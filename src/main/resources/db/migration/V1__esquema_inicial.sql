@@ -0,0 +1,31 @@
+-- Esquema como o Hibernate (ddl-auto=update) o criava antes do Flyway.
+-- Bancos que já existiam recebem baseline na versão 1 e pulam este script.
+
+CREATE TABLE estabelecimentos (
+    id              BIGINT       NOT NULL AUTO_INCREMENT,
+    nome            VARCHAR(200) NOT NULL,
+    categoria       VARCHAR(100) NOT NULL,
+    endereco        TEXT         NOT NULL,
+    latitude        DOUBLE       NOT NULL,
+    longitude       DOUBLE       NOT NULL,
+    telefone        VARCHAR(20),
+    avaliacao_media DOUBLE,
+    google_place_id VARCHAR(255),
+    created_at      DATETIME(6)  NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_estabelecimentos_google_place_id UNIQUE (google_place_id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4 COLLATE = utf8mb4_unicode_ci;
+
+CREATE TABLE usuarios (
+    id         BIGINT       NOT NULL AUTO_INCREMENT,
+    nome       VARCHAR(100) NOT NULL,
+    email      VARCHAR(100) NOT NULL,
+    cpf        VARCHAR(14)  NOT NULL,
+    telefone   VARCHAR(15),
+    senha      VARCHAR(255) NOT NULL,
+    is_admin   BIT          NOT NULL DEFAULT 0,
+    created_at DATETIME(6)  NOT NULL,
+    updated_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_usuarios_email UNIQUE (email)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4 COLLATE = utf8mb4_unicode_ci;
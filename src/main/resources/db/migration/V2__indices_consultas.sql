@@ -0,0 +1,10 @@
+-- Índices das consultas que hoje varrem a tabela inteira.
+
+-- listarPorCategoria / listarMapa (WHERE categoria = ? ORDER BY id) e contarPorCategoria
+CREATE INDEX idx_estabelecimentos_categoria_id ON estabelecimentos (categoria, id);
+
+-- Consultas por retângulo de coordenadas (faixa de latitude, depois longitude)
+CREATE INDEX idx_estabelecimentos_lat_lng ON estabelecimentos (latitude, longitude);
+
+-- existsByCpf / findByCpf no cadastro
+CREATE INDEX idx_usuarios_cpf ON usuarios (cpf);
@@ -0,0 +1,14 @@
+-- Colunas de busca de usuários: CPF só com dígitos, email em minúsculas e
+-- nome sem acentos. CPF e email são preenchidos aqui, antes da restrição única
+-- da V4; o nome precisa da mesma dobra de acentos do Java (TextoBusca) e é
+-- preenchido pelo UsuarioBuscaBackfill na subida da aplicação.
+ALTER TABLE usuarios ADD COLUMN cpf_normalizado VARCHAR(11);
+ALTER TABLE usuarios ADD COLUMN email_normalizado VARCHAR(100);
+ALTER TABLE usuarios ADD COLUMN nome_normalizado VARCHAR(100);
+
+UPDATE usuarios
+SET cpf_normalizado   = REGEXP_REPLACE(cpf, '[^0-9]', ''),
+    email_normalizado = LOWER(TRIM(email));
+
+CREATE INDEX idx_usuarios_email_normalizado ON usuarios (email_normalizado);
+CREATE INDEX idx_usuarios_nome_normalizado ON usuarios (nome_normalizado);
@@ -0,0 +1,5 @@
+-- O cadastro deixa de consultar email/CPF antes do insert e passa a depender
+-- das restrições únicas. O email já é único (uk_usuarios_email); o CPF passa a
+-- ser, comparado só pelos dígitos. Falha se já houver CPFs repetidos: eles
+-- precisam ser resolvidos antes de aplicar esta migração.
+ALTER TABLE usuarios ADD CONSTRAINT uk_usuarios_cpf_normalizado UNIQUE (cpf_normalizado);
@@ -0,0 +1,31 @@
+-- Sincronização incremental do catálogo (GET /api/estabelecimentos/changes):
+-- versão de alteração por linha, tombstones das exclusões e o contador único.
+
+ALTER TABLE estabelecimentos ADD COLUMN updated_at DATETIME(6);
+ALTER TABLE estabelecimentos ADD COLUMN versao_alteracao BIGINT;
+
+-- Linhas existentes entram na ordem de ID; o contador parte do maior valor
+UPDATE estabelecimentos SET updated_at = created_at, versao_alteracao = id;
+
+ALTER TABLE estabelecimentos MODIFY versao_alteracao BIGINT NOT NULL;
+
+CREATE INDEX idx_estabelecimentos_versao_alteracao ON estabelecimentos (versao_alteracao);
+
+CREATE TABLE estabelecimentos_removidos (
+    id          BIGINT      NOT NULL,
+    versao      BIGINT      NOT NULL,
+    removido_em DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4 COLLATE = utf8mb4_unicode_ci;
+
+CREATE INDEX idx_estabelecimentos_removidos_versao ON estabelecimentos_removidos (versao);
+
+CREATE TABLE catalogo_sequencia (
+    id                  INT    NOT NULL,
+    valor               BIGINT NOT NULL,
+    horizonte_removidos BIGINT NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4 COLLATE = utf8mb4_unicode_ci;
+
+INSERT INTO catalogo_sequencia (id, valor, horizonte_removidos)
+SELECT 1, COALESCE(MAX(versao_alteracao), 0), 0 FROM estabelecimentos;
@@ -0,0 +1,14 @@
+-- Busca de usuários por qualquer palavra do nome: cada linha guarda o nome
+-- dobrado a partir de uma palavra ("joao da silva", "da silva", "silva") e a
+-- busca faz LIKE 'prefixo%' sobre o índice.
+CREATE TABLE usuarios_nome_sufixos (
+    usuario_id BIGINT       NOT NULL,
+    sufixo     VARCHAR(100) NOT NULL,
+    PRIMARY KEY (usuario_id, sufixo),
+    CONSTRAINT fk_usuarios_nome_sufixos_usuario FOREIGN KEY (usuario_id) REFERENCES usuarios (id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4 COLLATE = utf8mb4_unicode_ci;
+
+CREATE INDEX idx_usuarios_nome_sufixos_sufixo ON usuarios_nome_sufixos (sufixo);
+
+-- O UsuarioBuscaBackfill refaz o nome dobrado e os sufixos das linhas sem nome_normalizado
+UPDATE usuarios SET nome_normalizado = NULL;
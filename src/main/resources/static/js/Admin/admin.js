@@ -11,19 +11,47 @@
 /** @type {Array<Object>} Lista de usuários carregados da API */
 let usuarios = [];
 
+/** @type {?string} Cursor da próxima página (null quando não há mais usuários) */
+let proximoCursor = null;
+
+/** Quantidade de usuários pedida por página */
+const TAMANHO_PAGINA = 100;
+
 /**
- * Carrega todos os usuários da API REST.
+ * Carrega a primeira página de usuários da API REST.
  * @async
  * @returns {Promise<void>}
  */
 async function carregarUsuarios() {
-    const resp = await fetch('/api/usuarios');
+    usuarios = [];
+    proximoCursor = null;
+    await carregarPagina();
+}
+
+/**
+ * Carrega a próxima página de usuários e acrescenta à lista já exibida.
+ * O cursor da página seguinte vem no header X-Proximo-Cursor.
+ * @async
+ * @returns {Promise<void>}
+ */
+async function carregarPagina() {
+    const params = new URLSearchParams({ limit: TAMANHO_PAGINA });
+    if (proximoCursor) params.set('after', proximoCursor);
+
+    const resp = await fetch(`/api/usuarios?${params}`, { headers: Auth.authHeaders() });
     if (!resp.ok) {
         console.error('Falha ao carregar usuários');
         return;
     }
-    usuarios = await resp.json();
+    usuarios = usuarios.concat(await resp.json());
+    proximoCursor = resp.headers.get('X-Proximo-Cursor');
     renderUsuarios(usuarios);
+    atualizarBotaoCarregarMais();
+}
+
+function atualizarBotaoCarregarMais() {
+    const botao = document.getElementById('btn-carregar-mais');
+    if (botao) botao.style.display = proximoCursor ? 'inline-block' : 'none';
 }
 
 function renderUsuarios(lista) {
@@ -69,7 +97,7 @@ function renderUsuarios(lista) {
             const id = ev.currentTarget.getAttribute('data-id');
             const confirmacao = confirm('Deseja remover o usuário selecionado?');
             if (!confirmacao) return;
-            const resp = await fetch(`/api/usuarios/${id}`, { method: 'DELETE' });
+            const resp = await fetch(`/api/usuarios/${id}`, { method: 'DELETE', headers: Auth.authHeaders() });
             if (resp.ok) {
                 await carregarUsuarios();
             } else {
@@ -83,18 +111,52 @@ async function buscarUsuarios() {
     const q = document.getElementById('busca').value.trim();
     if (!q) {
         renderUsuarios(usuarios);
+        atualizarBotaoCarregarMais();
         return;
     }
     const url = `/api/usuarios/search?q=${encodeURIComponent(q)}`;
-    const resp = await fetch(url);
+    const resp = await fetch(url, { headers: Auth.authHeaders() });
     if (resp.ok) {
         const data = await resp.json();
         renderUsuarios(data);
+        document.getElementById('btn-carregar-mais').style.display = 'none';
     } else {
         alert('Erro ao buscar usuários');
     }
 }
 
+/**
+ * Carrega os números agregados do painel (contadores mantidos pelo servidor).
+ * @async
+ * @returns {Promise<void>}
+ */
+async function carregarEstatisticas() {
+    const resp = await fetch('/api/admin/stats?dias=7', { headers: Auth.authHeaders() });
+    if (!resp.ok) return;
+    const stats = await resp.json();
+    const cadastrosSemana = Object.values(stats.cadastrosPorDia).reduce((a, b) => a + b, 0);
+
+    // nomes de categoria vêm do banco: só entram no DOM como texto
+    const paragrafo = (texto) => {
+        const p = document.createElement('p');
+        p.textContent = texto;
+        return p;
+    };
+    const categorias = document.createElement('ul');
+    Object.entries(stats.estabelecimentosPorCategoria).forEach(([categoria, total]) => {
+        const li = document.createElement('li');
+        li.textContent = `${categoria}: ${total}`;
+        categorias.appendChild(li);
+    });
+
+    document.getElementById('estatisticas').replaceChildren(
+        paragrafo(`Estabelecimentos: ${stats.totalEstabelecimentos}`),
+        categorias,
+        paragrafo(`Usuários: ${stats.totalUsuarios} (${stats.administradores} admin)`),
+        paragrafo(`Cadastros nos últimos 7 dias: ${cadastrosSemana}`)
+    );
+}
+
 function adicionarUsuario() {
     // Placeholder simples; cadastro real deveria postar para /api/usuarios
     alert('Cadastro de usuário via UI não implementado ainda.');
@@ -104,5 +166,7 @@ document.addEventListener('DOMContentLoaded', () => {
     document.getElementById('inserir-usuario').addEventListener('click', adicionarUsuario);
     document.getElementById('btn-buscar').addEventListener('click', buscarUsuarios);
     document.getElementById('btn-recarregar').addEventListener('click', carregarUsuarios);
+    document.getElementById('btn-carregar-mais').addEventListener('click', carregarPagina);
     carregarUsuarios();
+    carregarEstatisticas();
 });
@@ -2,10 +2,11 @@
  * @fileoverview Script de cadastro de novos usuários.
  * 
  * Gerencia o formulário de cadastro, validação de campos e comunicação com a API.
- * Implementa máscaras automáticas para telefone e CPF.
+ * Implementa máscaras automáticas para telefone e CPF e avisa, antes do envio,
+ * quando o email ou o CPF já estão cadastrados.
  * 
  * @author Equipe Bora Roleta - SENAC 2025
- * @version 1.2
+ * @version 1.3
  */
 
 /**
@@ -44,6 +45,72 @@ document.getElementById("cpf").addEventListener("input", function(e) {
     e.target.maxLength = 14;
 });
 
+/**
+ * Consulta /api/usuarios/disponibilidade para um campo e marca o input como
+ * inválido (setCustomValidity) se o valor já estiver em uso. A maioria das
+ * respostas sai de um filtro em memória no servidor, sem ir ao banco; a
+ * verificação final continua sendo a do próprio cadastro.
+ * @param {HTMLInputElement} input - Campo verificado
+ * @param {string} parametro - "email" ou "cpf"
+ * @param {string} valor - Valor a consultar
+ * @param {string} mensagem - Mensagem exibida quando o valor já existe
+ */
+async function verificarDisponibilidade(input, parametro, valor, mensagem) {
+    try {
+        const response = await fetch(
+            `/api/usuarios/disponibilidade?${parametro}=${encodeURIComponent(valor)}`);
+        if (!response.ok) {
+            return;
+        }
+        const resultado = await response.json();
+        const disponivel = resultado[`${parametro}Disponivel`];
+        // o usuário pode ter continuado digitando enquanto a consulta voltava
+        if (input.dataset.consultado !== valor) {
+            return;
+        }
+        input.setCustomValidity(disponivel === false ? mensagem : "");
+        if (disponivel === false) {
+            input.reportValidity();
+        }
+    } catch (error) {
+        // sem resposta, o próprio cadastro acusa a duplicidade
+        console.error("Erro ao verificar disponibilidade:", error);
+    }
+}
+
+/**
+ * Liga a verificação de disponibilidade a um campo, com espera de 400 ms
+ * depois da última digitação.
+ * @param {string} id - ID do input
+ * @param {string} parametro - Nome do parâmetro na API
+ * @param {function(string): (string|null)} normalizar - Valor a consultar, ou null se ainda incompleto
+ * @param {string} mensagem - Mensagem exibida quando o valor já existe
+ */
+function monitorarDisponibilidade(id, parametro, normalizar, mensagem) {
+    const input = document.getElementById(id);
+    let espera = null;
+    input.addEventListener("input", () => {
+        input.setCustomValidity("");
+        clearTimeout(espera);
+        const valor = normalizar(input.value);
+        if (valor === null) {
+            return;
+        }
+        espera = setTimeout(() => {
+            input.dataset.consultado = valor;
+            verificarDisponibilidade(input, parametro, valor, mensagem);
+        }, 400);
+    });
+}
+
+monitorarDisponibilidade("email", "email",
+    (v) => /^[^@\s]+@[^@\s]+\.[^@\s]+$/.test(v.trim()) ? v.trim().toLowerCase() : null,
+    "Este email já está cadastrado.");
+
+monitorarDisponibilidade("cpf", "cpf",
+    (v) => { const digitos = v.replace(/\D/g, ""); return digitos.length === 11 ? digitos : null; },
+    "Este CPF já está cadastrado.");
+
 document.getElementById("formCadastro").addEventListener("submit", async (e) => {
     e.preventDefault();
 
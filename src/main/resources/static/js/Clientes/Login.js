@@ -1,7 +1,7 @@
 /**
  * @fileoverview Script de controle de login e autenticação de usuários.
  * Gerencia a visualização de senha, validação de formulário e comunicação com API.
- * Suporta login especial de administrador (admin/admin) e usuários do banco de dados.
+ * Suporta login especial de administrador (admin/admin, só em desenvolvimento) e usuários do banco de dados.
  * 
  * @author Equipe Bora Roleta - SENAC
  * @version 1.0
@@ -1,10 +1,11 @@
 /**
  * @fileoverview Integração com Google Maps JavaScript API e Places API.
  * Gerencia inicialização do mapa, geolocalização, busca de estabelecimentos
- * por categoria (Adegas, Pagodes, Barzinhos, Eventos) e renderização de resultados.
+ * por categoria (Adegas, Pagodes, Barzinhos, Eventos), renderização de resultados
+ * e a camada de estabelecimentos do catálogo agrupados pelo servidor.
  * 
  * @author Equipe Bora Roleta - SENAC
- * @version 2.0
+ * @version 2.2
  */
 
 /**
@@ -67,6 +68,86 @@ let marcadoresEventos = [];
  */
 let mapaInicializado = false;
 
+/**
+ * Camada com os estabelecimentos do catálogo, agrupados pelo servidor
+ * (GET /api/estabelecimentos/clusters). O servidor devolve no máximo um
+ * grupo por célula de 64 px, então a quantidade de marcadores depende do
+ * tamanho da tela e não do número de estabelecimentos.
+ * @namespace
+ */
+const ClusterModule = (function () {
+    /** @type {Array<google.maps.Marker>} */
+    let marcadoresClusters = [];
+
+    /** @type {AbortController|null} */
+    let requisicaoAtual = null;
+
+    /**
+     * Busca os grupos da área visível e substitui os marcadores da camada.
+     * Uma requisição ainda pendente é cancelada quando o mapa para de novo.
+     * Pede o formato binário (formatoBinario.js), aceitando JSON como reserva.
+     */
+    async function atualizar() {
+        const limites = map && map.getBounds();
+        if (!limites) return;
+
+        const sw = limites.getSouthWest();
+        const ne = limites.getNorthEast();
+        const bbox = [sw.lat(), sw.lng(), ne.lat(), ne.lng()].map((v) => v.toFixed(6)).join(",");
+        const zoom = map.getZoom();
+
+        if (requisicaoAtual) {
+            requisicaoAtual.abort();
+        }
+        requisicaoAtual = new AbortController();
+
+        try {
+            const response = await fetch(`/api/estabelecimentos/clusters?bbox=${bbox}&zoom=${zoom}`, {
+                signal: requisicaoAtual.signal,
+                headers: { Accept: `${FormatoBinario.MEDIA_TYPE}, application/json;q=0.9` }
+            });
+            if (!response.ok) {
+                throw new Error(`HTTP ${response.status}`);
+            }
+            desenhar(await FormatoBinario.ler(response), zoom);
+        } catch (error) {
+            if (error.name !== "AbortError") {
+                console.error("Erro ao carregar agrupamentos:", error);
+            }
+        }
+    }
+
+    /**
+     * Desenha os grupos: contagem no rótulo; clicar aproxima o mapa no grupo.
+     * @param {Array<{lat: number, lng: number, quantidade: number, categoria: string, id: ?number}>} clusters
+     * @param {number} zoom - Zoom em que os grupos foram calculados
+     */
+    function desenhar(clusters, zoom) {
+        marcadoresClusters.forEach((marker) => marker.setMap(null));
+        marcadoresClusters = clusters.map((cluster) => {
+            const marker = new google.maps.Marker({
+                position: { lat: cluster.lat, lng: cluster.lng },
+                map: map,
+                title: cluster.quantidade > 1
+                    ? `${cluster.quantidade} lugares (mais: ${cluster.categoria})`
+                    : cluster.categoria,
+                label: cluster.quantidade > 1 ? String(cluster.quantidade) : undefined
+            });
+            if (cluster.quantidade > 1) {
+                marker.addListener("click", () => {
+                    map.setCenter(marker.getPosition());
+                    map.setZoom(Math.min(zoom + 2, 22));
+                });
+            }
+            return marker;
+        });
+    }
+
+    return {
+        atualizar
+    };
+})();
+
 /**
  * Módulo responsável por inicializar o mapa e gerenciar estado básico.
  * Implementado como IIFE (Immediately Invoked Function Expression) para encapsular lógica.
@@ -100,6 +181,9 @@ const MapModule = (function () {
             mapTypeControl: false
         });
 
+        // Catálogo próprio agrupado no servidor, redesenhado a cada parada do mapa
+        map.addListener("idle", ClusterModule.atualizar);
+
         mapaInicializado = true;
         return true;
     }
@@ -30,10 +30,32 @@ const Auth = {
         return userData ? JSON.parse(userData) : null;
     },
 
+    /**
+     * Recupera o token de sessão emitido no login
+     */
+    getToken: function() {
+        const user = this.getUser();
+        return user && user.token ? user.token : null;
+    },
+
+    /**
+     * Headers de autenticação para chamadas à API (vazio se não houver sessão)
+     */
+    authHeaders: function() {
+        const token = this.getToken();
+        return token ? { 'Authorization': `Bearer ${token}` } : {};
+    },
+
     /**
      * Remove os dados do usuário e faz logout
      */
     logout: function() {
+        const token = this.getToken();
+        if (token) {
+            // revoga o token no servidor; a sessão local é encerrada de qualquer forma
+            fetch('/api/auth/logout', { method: 'POST', headers: this.authHeaders(), keepalive: true })
+                .catch(() => {});
+        }
         localStorage.removeItem('boraRoleta_user');
         this.updateMenu();
         window.location.href = '/';
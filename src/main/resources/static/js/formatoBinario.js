@@ -0,0 +1,189 @@
+/**
+ * @fileoverview Decodificador do formato binário das listas do mapa
+ * (Accept: application/x-boraroleta-bin). Devolve os mesmos objetos que o
+ * JSON do endpoint, com os mesmos nomes de campo. O layout está documentado
+ * em FormatoBinario.java.
+ *
+ * @author Equipe Bora Roleta - SENAC
+ * @version 1.0
+ */
+
+/**
+ * Decodificador das respostas binárias da API de estabelecimentos.
+ * @namespace
+ */
+const FormatoBinario = (function () {
+    const MEDIA_TYPE = "application/x-boraroleta-bin";
+    const VERSAO = 1;
+    const ESCALA_COORDENADA = 1e6;
+
+    const decodificadorTexto = new TextDecoder("utf-8");
+
+    /**
+     * Cursor de leitura sobre os bytes da resposta. As contas são feitas com
+     * Number (até 2^53) e não com operadores bit a bit, que cortam em 32 bits.
+     * @param {Uint8Array} bytes
+     */
+    function Leitor(bytes) {
+        let posicao = 0;
+
+        function byte() {
+            if (posicao >= bytes.length) {
+                throw new Error("Resposta binária truncada");
+            }
+            return bytes[posicao++];
+        }
+
+        function varint() {
+            let valor = 0;
+            let multiplicador = 1;
+            let b;
+            do {
+                b = byte();
+                valor += (b & 0x7f) * multiplicador;
+                multiplicador *= 128;
+            } while (b & 0x80);
+            return valor;
+        }
+
+        function zigzag() {
+            const n = varint();
+            return n % 2 === 0 ? n / 2 : -(n + 1) / 2;
+        }
+
+        function texto() {
+            const tamanho = varint();
+            if (tamanho === 0) return null;
+            const inicio = posicao;
+            posicao += tamanho - 1;
+            if (posicao > bytes.length) {
+                throw new Error("Resposta binária truncada");
+            }
+            return decodificadorTexto.decode(bytes.subarray(inicio, posicao));
+        }
+
+        return { byte, varint, zigzag, texto };
+    }
+
+    /**
+     * Converte a resposta binária em lista de objetos.
+     * @param {ArrayBuffer} buffer - Corpo da resposta (response.arrayBuffer())
+     * @returns {Array<Object>} Itens com os campos do JSON equivalente
+     */
+    function decodificar(buffer) {
+        const leitor = Leitor(new Uint8Array(buffer));
+        if (leitor.byte() !== 0x42 || leitor.byte() !== 0x52) {
+            throw new Error("Resposta não está no formato binário");
+        }
+        const versao = leitor.byte();
+        if (versao !== VERSAO) {
+            throw new Error(`Versão ${versao} do formato binário não suportada`);
+        }
+        const tipo = leitor.byte();
+        if (tipo === 0) return [];
+
+        const categorias = [null];
+        for (let n = leitor.varint(); n > 0; n--) {
+            categorias.push(leitor.texto());
+        }
+
+        let id = 0;
+        let lat = 0;
+        let lng = 0;
+
+        function proximoId() {
+            id += leitor.zigzag();
+            return id;
+        }
+
+        function proximaCoordenada() {
+            lat += leitor.zigzag();
+            lng += leitor.zigzag();
+            return [lat / ESCALA_COORDENADA, lng / ESCALA_COORDENADA];
+        }
+
+        function avaliacao() {
+            const v = leitor.varint();
+            return v === 0 ? null : (v - 1) / 100;
+        }
+
+        function instante() {
+            const v = leitor.varint();
+            if (v === 0) return null;
+            const n = v - 1;
+            const ms = n % 2 === 0 ? n / 2 : -(n + 1) / 2;
+            // LocalDateTime sem fuso, como no JSON
+            return new Date(ms).toISOString().replace(/(\.000)?Z$/, "");
+        }
+
+        const total = leitor.varint();
+        const itens = new Array(total);
+        for (let i = 0; i < total; i++) {
+            if (tipo === 1) {
+                const itemId = proximoId();
+                const categoria = categorias[leitor.varint()];
+                const [itemLat, itemLng] = proximaCoordenada();
+                itens[i] = { id: itemId, nome: leitor.texto(), categoria, lat: itemLat, lng: itemLng };
+            } else if (tipo === 2) {
+                const itemId = proximoId();
+                const categoria = categorias[leitor.varint()];
+                const [latitude, longitude] = proximaCoordenada();
+                itens[i] = {
+                    id: itemId,
+                    categoria,
+                    latitude,
+                    longitude,
+                    nome: leitor.texto(),
+                    endereco: leitor.texto(),
+                    telefone: leitor.texto(),
+                    avaliacaoMedia: avaliacao(),
+                    googlePlaceId: leitor.texto(),
+                    createdAt: instante()
+                };
+            } else if (tipo === 3) {
+                const itemId = proximoId();
+                const categoria = categorias[leitor.varint()];
+                const [latitude, longitude] = proximaCoordenada();
+                itens[i] = {
+                    id: itemId,
+                    categoria,
+                    latitude,
+                    longitude,
+                    nome: leitor.texto(),
+                    endereco: leitor.texto(),
+                    avaliacaoMedia: avaliacao(),
+                    distanciaMetros: leitor.varint()
+                };
+            } else if (tipo === 4) {
+                const categoria = categorias[leitor.varint()];
+                const [itemLat, itemLng] = proximaCoordenada();
+                const quantidade = leitor.varint();
+                const idMaisUm = leitor.varint();
+                itens[i] = { lat: itemLat, lng: itemLng, quantidade, categoria, id: idMaisUm === 0 ? null : idMaisUm - 1 };
+            } else {
+                throw new Error(`Tipo ${tipo} do formato binário desconhecido`);
+            }
+        }
+        return itens;
+    }
+
+    /**
+     * Lê uma resposta do fetch em binário ou JSON, conforme o Content-Type
+     * que o servidor escolheu.
+     * @param {Response} response
+     * @returns {Promise<Array<Object>>}
+     */
+    async function ler(response) {
+        const tipo = response.headers.get("Content-Type") || "";
+        if (tipo.startsWith(MEDIA_TYPE)) {
+            return decodificar(await response.arrayBuffer());
+        }
+        return response.json();
+    }
+
+    return {
+        MEDIA_TYPE,
+        decodificar,
+        ler
+    };
+})();
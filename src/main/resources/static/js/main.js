@@ -1,48 +1,18 @@
 /**
- * @fileoverview Script principal para carregamento dinâmico de componentes HTML.
- * Responsável por injetar menu, rodapé e conteúdo principal na página.
+ * @fileoverview Script principal das páginas renderizadas pelo Thymeleaf.
+ * Menu, rodapé e conteúdo principal já chegam montados no HTML (fragmentos
+ * em templates/fragments); aqui só é preciso ligar o menu ao estado de login.
  * 
  * @author Equipe Bora Roleta - SENAC
- * @version 1.0
+ * @version 2.0
  */
 
 /**
- * Carrega o componente de menu/navegação da aplicação.
- * Faz uma requisição para o template HTML e injeta no container 'menu'.
- * Após carregar, inicializa o sistema de autenticação.
+ * Inicializa o sistema de autenticação assim que o documento é lido.
+ * Carregado com defer depois de auth.js, então window.Auth já existe.
  */
-fetch("/views/templates/menu.html")
-    .then(response => response.text())
-    .then(data => {
-        document.getElementById("menu").innerHTML = data;
-        
-        // Carregar e inicializar o sistema de autenticação
-        const authScript = document.createElement('script');
-        authScript.src = '/js/auth.js';
-        authScript.onload = () => {
-            // Inicializar Auth após o script ser carregado
-            if (window.Auth) {
-                window.Auth.init();
-            }
-        };
-        document.head.appendChild(authScript);
-    })
-    .catch(error => console.error('Erro ao carregar menu:', error));
-
-/**
- * Carrega o componente de rodapé fixo da aplicação.
- * Faz uma requisição para o template HTML e injeta no container 'footer'.
- */
-fetch("/views/templates/footer.html")
-    .then(response => response.text())
-    .then(data => document.getElementById("footer").innerHTML = data)
-    .catch(error => console.error('Erro ao carregar rodapé:', error));
-
-/**
- * Carrega o conteúdo principal da página inicial (home).
- * Inclui o mapa interativo e os botões de filtro de categorias.
- */
-fetch("/views/home.html")
-    .then(response => response.text())
-    .then(data => document.getElementById("home").innerHTML = data)
-    .catch(error => console.error('Erro ao carregar conteúdo principal:', error));
+document.addEventListener("DOMContentLoaded", () => {
+    if (window.Auth) {
+        window.Auth.init();
+    }
+});
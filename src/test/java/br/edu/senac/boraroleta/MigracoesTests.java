@@ -0,0 +1,69 @@
+package br.edu.senac.boraroleta;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Migrações do Flyway no H2 em modo MySQL: um banco vazio sobe com o esquema
+ * que o Hibernate valida, e um banco do tempo do {@code ddl-auto=update}
+ * recebe baseline na versão 1 e é levado até a última versão.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:migracoes;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+@ActiveProfiles("test")
+class MigracoesTests {
+
+    @Autowired
+    private Flyway flyway;
+
+    @Test
+    void bancoVazioRecebeTodasAsMigracoes() {
+        // o contexto só sobe se o ddl-auto=validate e a VerificacaoSchema aceitarem o esquema
+        assertEquals(0, flyway.info().pending().length);
+    }
+
+    @Test
+    void bancoAnteriorAoFlywayRecebeBaselineNaVersaoUm() {
+        DataSource banco = new DriverManagerDataSource(
+                "jdbc:h2:mem:baseline;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(banco);
+
+        // esquema criado pelo Hibernate antes das migrações, já com dados
+        Flyway.configure().dataSource(banco).target("1").load().migrate();
+        jdbc.update("DROP TABLE flyway_schema_history");
+        jdbc.update("INSERT INTO usuarios (nome, email, cpf, senha, is_admin, created_at) "
+                + "VALUES ('João da Silva', ' Joao@Email.com ', '123.456.789-09', 'x', 0, CURRENT_TIMESTAMP)");
+        jdbc.update("INSERT INTO estabelecimentos (nome, categoria, endereco, latitude, longitude, created_at) "
+                + "VALUES ('Bar', 'bar', 'Rua A', -23.5, -46.6, CURRENT_TIMESTAMP)");
+
+        Flyway.configure().dataSource(banco)
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load()
+                .migrate();
+
+        Map<String, Object> usuario = jdbc.queryForMap(
+                "SELECT cpf_normalizado, email_normalizado, nome_normalizado FROM usuarios");
+        assertEquals("12345678909", usuario.get("cpf_normalizado"));
+        assertEquals("joao@email.com", usuario.get("email_normalizado"));
+        // o nome fica para o UsuarioBuscaBackfill, que usa a dobra de acentos do Java
+        assertNull(usuario.get("nome_normalizado"));
+
+        assertEquals(1L, jdbc.queryForObject("SELECT versao_alteracao FROM estabelecimentos", Long.class));
+        assertEquals(1L, jdbc.queryForObject("SELECT valor FROM catalogo_sequencia WHERE id = 1", Long.class));
+    }
+}
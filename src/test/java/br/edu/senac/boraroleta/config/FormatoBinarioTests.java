@@ -0,0 +1,162 @@
+package br.edu.senac.boraroleta.config;
+
+import br.edu.senac.boraroleta.dto.EstabelecimentoClusterDTO;
+import br.edu.senac.boraroleta.dto.EstabelecimentoMapaDTO;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Ida e volta do {@link FormatoBinario} com um leitor em Java que segue
+ * {@code js/formatoBinario.js} campo a campo.
+ */
+class FormatoBinarioTests {
+
+    @Test
+    void listaVaziaSoTemCabecalho() {
+        assertArrayEquals(new byte[] {'B', 'R', FormatoBinario.VERSAO, FormatoBinario.TIPO_VAZIA},
+                FormatoBinario.codificar(List.of()));
+    }
+
+    @Test
+    void mapaIdaEVolta() {
+        List<EstabelecimentoMapaDTO> mapa = List.of(
+                new EstabelecimentoMapaDTO(10L, "Bar do Zé", "bar", -23.561414, -46.655881),
+                new EstabelecimentoMapaDTO(11L, "Pizzaria", "restaurante", -23.5874, -46.6576),
+                new EstabelecimentoMapaDTO(3L, null, null, 0.0, 179.999999),
+                new EstabelecimentoMapaDTO(12L, "Açaí 🍧", "bar", -90.0, -180.0));
+
+        Leitor leitor = new Leitor(FormatoBinario.codificar(mapa));
+        assertEquals(FormatoBinario.TIPO_MAPA, leitor.cabecalho());
+        List<String> categorias = leitor.categorias();
+        assertEquals(List.of("bar", "restaurante"), categorias.subList(1, categorias.size()));
+
+        int total = (int) leitor.varint();
+        assertEquals(mapa.size(), total);
+        long id = 0;
+        long lat = 0;
+        long lng = 0;
+        for (EstabelecimentoMapaDTO esperado : mapa) {
+            id += leitor.zigzag();
+            String categoria = categorias.get((int) leitor.varint());
+            lat += leitor.zigzag();
+            lng += leitor.zigzag();
+            assertEquals(esperado.getId(), id);
+            assertEquals(esperado.getCategoria(), categoria);
+            assertEquals(esperado.getLat(), lat / 1e6, 1e-9);
+            assertEquals(esperado.getLng(), lng / 1e6, 1e-9);
+            assertEquals(esperado.getNome(), leitor.texto());
+        }
+        assertTrue(leitor.terminou());
+    }
+
+    @Test
+    void idsSequenciaisOcupamUmByte() {
+        List<EstabelecimentoMapaDTO> mapa = new ArrayList<>();
+        for (long i = 1; i <= 100; i++) {
+            mapa.add(new EstabelecimentoMapaDTO(i, "", "bar", -23.5, -46.6));
+        }
+        // cabeçalho, dicionário "bar", total; depois id + categoria + lat + lng + nome vazio
+        int cabecalho = 4 + 1 + 4 + 1;
+        int primeiro = 1 + 1 + 4 + 4 + 1;
+        assertEquals(cabecalho + primeiro + 99 * 5, FormatoBinario.codificar(mapa).length);
+    }
+
+    @Test
+    void clustersIdaEVolta() {
+        List<EstabelecimentoClusterDTO> clusters = List.of(
+                new EstabelecimentoClusterDTO(-23.5, -46.6, 12, null, null),
+                new EstabelecimentoClusterDTO(-23.6, -46.7, 1, "bar", 7L));
+
+        Leitor leitor = new Leitor(FormatoBinario.codificar(clusters));
+        assertEquals(FormatoBinario.TIPO_CLUSTERS, leitor.cabecalho());
+        List<String> categorias = leitor.categorias();
+        assertEquals(2, leitor.varint());
+
+        assertNull(categorias.get((int) leitor.varint()));
+        assertEquals(-23_500_000, leitor.zigzag());
+        assertEquals(-46_600_000, leitor.zigzag());
+        assertEquals(12, leitor.varint());
+        assertEquals(0, leitor.varint());
+
+        assertEquals("bar", categorias.get((int) leitor.varint()));
+        assertEquals(-100_000, leitor.zigzag());
+        assertEquals(-100_000, leitor.zigzag());
+        assertEquals(1, leitor.varint());
+        assertEquals(8, leitor.varint());
+        assertTrue(leitor.terminou());
+    }
+
+    @Test
+    void classeSemFormatoBinario() {
+        assertFalse(FormatoBinario.suporta(String.class));
+        assertThrows(IllegalArgumentException.class, () -> FormatoBinario.codificar(List.of("x")));
+    }
+
+    /** Cursor com as primitivas do decodificador JS. */
+    private static final class Leitor {
+
+        private final byte[] bytes;
+        private int posicao;
+
+        Leitor(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        int cabecalho() {
+            assertEquals('B', bytes[posicao++]);
+            assertEquals('R', bytes[posicao++]);
+            assertEquals(FormatoBinario.VERSAO, bytes[posicao++]);
+            return bytes[posicao++];
+        }
+
+        List<String> categorias() {
+            List<String> categorias = new ArrayList<>();
+            categorias.add(null);
+            for (long n = varint(); n > 0; n--) {
+                categorias.add(texto());
+            }
+            return categorias;
+        }
+
+        long varint() {
+            long valor = 0;
+            int deslocamento = 0;
+            byte b;
+            do {
+                b = bytes[posicao++];
+                valor |= (long) (b & 0x7F) << deslocamento;
+                deslocamento += 7;
+            } while (b < 0);
+            return valor;
+        }
+
+        long zigzag() {
+            long n = varint();
+            return (n >>> 1) ^ -(n & 1);
+        }
+
+        String texto() {
+            int tamanho = (int) varint();
+            if (tamanho == 0) {
+                return null;
+            }
+            String texto = new String(bytes, posicao, tamanho - 1, StandardCharsets.UTF_8);
+            posicao += tamanho - 1;
+            return texto;
+        }
+
+        boolean terminou() {
+            return posicao == bytes.length;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package br.edu.senac.boraroleta.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * Métricas e scrape do Prometheus só respondem na porta de gerenciamento,
+ * nunca na porta pública da aplicação. O export do Prometheus vem desligado
+ * nos testes e é religado aqui.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "management.server.port=0")
+@ActiveProfiles("test")
+@AutoConfigureObservability(tracing = false)
+class PortaGerenciamentoTests {
+
+    @LocalServerPort
+    private int portaPublica;
+
+    @LocalManagementPort
+    private int portaGerenciamento;
+
+    @Autowired
+    private TestRestTemplate rest;
+
+    @Test
+    void metricasSoNaPortaDeGerenciamento() {
+        assertNotEquals(portaPublica, portaGerenciamento);
+        for (String endpoint : new String[] {"/actuator/metrics", "/actuator/prometheus"}) {
+            assertNotEquals(HttpStatus.OK, status(portaPublica, endpoint), endpoint);
+            assertEquals(HttpStatus.OK, status(portaGerenciamento, endpoint), endpoint);
+        }
+    }
+
+    private HttpStatus status(int porta, String caminho) {
+        return HttpStatus.valueOf(rest.getForEntity("http://localhost:" + porta + caminho, String.class)
+                .getStatusCode().value());
+    }
+}
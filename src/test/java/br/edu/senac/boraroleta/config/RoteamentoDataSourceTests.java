@@ -0,0 +1,115 @@
+package br.edu.senac.boraroleta.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Roteamento entre dois bancos H2 separados, cada um com uma linha que diz
+ * de onde a leitura veio.
+ */
+class RoteamentoDataSourceTests {
+
+    private RoteamentoDataSource roteamento;
+
+    @AfterEach
+    void limpar() {
+        RoteamentoDataSource.limparEscrita();
+        if (roteamento != null) {
+            roteamento.close();
+        }
+    }
+
+    @Test
+    void transacaoReadOnlyLeDaReplica() {
+        roteamento = new RoteamentoDataSource(pool("primario"), pool("replica"), 60_000);
+        assertEquals("replica", ler(true));
+        assertEquals("primario", ler(false));
+        // fora de transação não há como saber se é só leitura
+        assertEquals("primario", new JdbcTemplate(roteamento).queryForObject("SELECT nome FROM origem", String.class));
+        assertTrue(roteamento.isReplicaSaudavel());
+    }
+
+    @Test
+    void replicaForaDoArVoltaAoPrimario() {
+        HikariDataSource replica = new HikariDataSource();
+        replica.setJdbcUrl("jdbc:h2:tcp://localhost:1/mem:inexistente");
+        replica.setConnectionTimeout(250);
+        roteamento = new RoteamentoDataSource(pool("primario"), replica, 60_000);
+
+        assertEquals("primario", ler(true));
+        assertFalse(roteamento.isReplicaSaudavel());
+        // depois da queda nem tenta a réplica até a verificação periódica a devolver
+        assertEquals("primario", ler(true));
+    }
+
+    @Test
+    void escritaRecenteMantemALeituraNoPrimario() {
+        roteamento = new RoteamentoDataSource(pool("primario"), pool("replica"), 60_000);
+        RoteamentoDataSource.registrarEscrita(System.currentTimeMillis(), 60_000);
+        assertTrue(RoteamentoDataSource.temEscritaRegistrada());
+        assertEquals("primario", ler(true));
+
+        RoteamentoDataSource.limparEscrita();
+        assertEquals("replica", ler(true));
+    }
+
+    @Test
+    void escritaForaDaJanelaExpiraSemLimpezaExplicita() {
+        roteamento = new RoteamentoDataSource(pool("primario"), pool("replica"), 60_000);
+        // thread sem requisição (inicialização, executor): nada chama limparEscrita()
+        RoteamentoDataSource.registrarEscrita(System.currentTimeMillis() - 5_000, 2_000);
+        assertFalse(RoteamentoDataSource.temEscritaRegistrada());
+        assertEquals("replica", ler(true));
+    }
+
+    @Test
+    void escritaMaisAntigaNaoEncurtaAJanela() {
+        long agora = System.currentTimeMillis();
+        RoteamentoDataSource.registrarEscrita(agora, 60_000);
+        RoteamentoDataSource.registrarEscrita(agora - 5_000, 2_000);
+        assertTrue(RoteamentoDataSource.temEscritaRegistrada());
+    }
+
+    @Test
+    void recargaDepoisDeEscritaDeOutraThreadVaiAoPrimario() {
+        roteamento = new RoteamentoDataSource(pool("primario"), pool("replica"), 60_000);
+        JanelaReplicacao janela = new JanelaReplicacao(60_000);
+        assertEquals("replica", janela.ler(() -> ler(true)));
+
+        janela.registrarEscrita();
+        assertEquals("primario", janela.ler(() -> ler(true)));
+        // a marca vale só dentro da leitura
+        assertFalse(RoteamentoDataSource.temEscritaRegistrada());
+        assertEquals("replica", ler(true));
+
+        JanelaReplicacao fechada = new JanelaReplicacao(-1);
+        fechada.registrarEscrita();
+        assertEquals("replica", fechada.ler(() -> ler(true)));
+    }
+
+    private String ler(boolean readOnly) {
+        TransactionTemplate tx = new TransactionTemplate(new DataSourceTransactionManager(roteamento));
+        tx.setReadOnly(readOnly);
+        return tx.execute(status -> new JdbcTemplate(roteamento).queryForObject("SELECT nome FROM origem", String.class));
+    }
+
+    private static HikariDataSource pool(String nome) {
+        HikariDataSource ds = new HikariDataSource();
+        ds.setJdbcUrl("jdbc:h2:mem:roteamento_" + nome + ";DB_CLOSE_DELAY=-1");
+        ds.setUsername("sa");
+        ds.setPoolName(nome);
+        JdbcTemplate jdbc = new JdbcTemplate(ds);
+        jdbc.execute("CREATE TABLE IF NOT EXISTS origem (nome VARCHAR(20))");
+        jdbc.update("DELETE FROM origem");
+        jdbc.update("INSERT INTO origem VALUES (?)", nome);
+        return ds;
+    }
+}
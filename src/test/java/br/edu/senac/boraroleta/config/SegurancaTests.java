@@ -0,0 +1,46 @@
+package br.edu.senac.boraroleta.config;
+
+import br.edu.senac.boraroleta.service.seguranca.TokenService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SegurancaTests {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Test
+    void importacaoExigeAdmin() throws Exception {
+        mvc.perform(post("/api/estabelecimentos/import")
+                        .contentType("text/csv")
+                        .content("nome,categoria,endereco,latitude,longitude\n"))
+                .andExpect(status().isUnauthorized());
+        mvc.perform(post("/api/estabelecimentos/import")
+                        .header("Authorization", bearer(false))
+                        .contentType("text/csv")
+                        .content("nome,categoria,endereco,latitude,longitude\n"))
+                .andExpect(status().isForbidden());
+        mvc.perform(post("/api/estabelecimentos/import")
+                        .header("Authorization", bearer(true))
+                        .contentType("text/csv")
+                        .content("nome,categoria,endereco,latitude,longitude\n"))
+                .andExpect(status().isOk());
+    }
+
+    private String bearer(boolean admin) {
+        return "Bearer " + tokenService.assinar(tokenService.emitir(1L, admin));
+    }
+}
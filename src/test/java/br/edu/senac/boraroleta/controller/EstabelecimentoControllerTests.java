@@ -0,0 +1,86 @@
+package br.edu.senac.boraroleta.controller;
+
+import br.edu.senac.boraroleta.service.snapshot.CatalogoSnapshot;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Rota {@code /snapshot} sobre um {@link CatalogoSnapshot} controlado pelo teste.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class EstabelecimentoControllerTests {
+
+    private static final byte[] JSON = "[{\"id\":1}]".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] GZIP = {0x1f, (byte) 0x8b, 1, 2, 3};
+    private static final CatalogoSnapshot.Snapshot SNAPSHOT =
+            new CatalogoSnapshot.Snapshot(7, JSON, GZIP, "\"s7\"", "\"s7-gz\"");
+
+    @Autowired
+    private MockMvc mvc;
+
+    @MockitoBean
+    private CatalogoSnapshot catalogoSnapshot;
+
+    @Test
+    void snapshotIndisponivelAntesDaPrimeiraMontagem() throws Exception {
+        when(catalogoSnapshot.atual()).thenReturn(null);
+        mvc.perform(get("/api/estabelecimentos/snapshot"))
+                .andExpect(status().isServiceUnavailable());
+    }
+
+    @Test
+    void cadaCodificacaoTemOSeuETag() throws Exception {
+        when(catalogoSnapshot.atual()).thenReturn(SNAPSHOT);
+
+        mvc.perform(get("/api/estabelecimentos/snapshot"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"s7\""))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(content().bytes(JSON));
+
+        mvc.perform(get("/api/estabelecimentos/snapshot").header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate, br"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"s7-gz\""))
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(content().bytes(GZIP));
+    }
+
+    @Test
+    void naoModificadoSoComOETagDaMesmaCodificacao() throws Exception {
+        when(catalogoSnapshot.atual()).thenReturn(SNAPSHOT);
+
+        mvc.perform(get("/api/estabelecimentos/snapshot")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"s7-gz\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"s7-gz\""));
+        mvc.perform(get("/api/estabelecimentos/snapshot").header(HttpHeaders.IF_NONE_MATCH, "\"s7\""))
+                .andExpect(status().isNotModified());
+
+        // o ETag do gzip não vale para a versão sem compressão, nem o de uma versão antiga
+        mvc.perform(get("/api/estabelecimentos/snapshot").header(HttpHeaders.IF_NONE_MATCH, "\"s7-gz\""))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(JSON));
+        mvc.perform(get("/api/estabelecimentos/snapshot")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"s6-gz\""))
+                .andExpect(status().isOk());
+    }
+}
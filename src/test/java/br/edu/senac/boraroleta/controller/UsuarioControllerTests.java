@@ -0,0 +1,84 @@
+package br.edu.senac.boraroleta.controller;
+
+import br.edu.senac.boraroleta.dto.UsuarioDTO;
+import br.edu.senac.boraroleta.model.Usuario;
+import br.edu.senac.boraroleta.service.UsuarioService;
+import br.edu.senac.boraroleta.service.seguranca.TokenService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class UsuarioControllerTests {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private UsuarioService service;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Test
+    void etagDoDetalheSoMudaComOProprioUsuario() throws Exception {
+        Usuario ana = service.criar(dto("Ana Etag", "ana.etag@email.com", "70000000001"));
+        Usuario bia = service.criar(dto("Bia Etag", "bia.etag@email.com", "70000000002"));
+        String url = "/api/usuarios/" + ana.getId();
+
+        String etag = mvc.perform(get(url).header(HttpHeaders.AUTHORIZATION, admin()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // escrita em outro usuário: o detalhe continua válido
+        service.atualizar(bia.getId(), dto("Bia Etag Alterada", "bia.etag@email.com", "70000000002"));
+        mvc.perform(get(url).header(HttpHeaders.AUTHORIZATION, admin()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        service.atualizar(ana.getId(), dto("Ana Etag Alterada", "ana.etag@email.com", "70000000001"));
+        String novo = mvc.perform(get(url).header(HttpHeaders.AUTHORIZATION, admin())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(etag, novo);
+    }
+
+    @Test
+    void buscaPorEmailUsaOEmailNormalizado() throws Exception {
+        service.criar(dto("Caio Email", "caio.email@email.com", "70000000003"));
+
+        mvc.perform(get("/api/usuarios/email/Caio.Email@EMAIL.com").header(HttpHeaders.AUTHORIZATION, admin()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nome").value("Caio Email"));
+        // a segunda grafia cai na mesma entrada do cache
+        long acertos = service.getCachePorEmail().getAcertos();
+        mvc.perform(get("/api/usuarios/email/caio.email@email.com").header(HttpHeaders.AUTHORIZATION, admin()))
+                .andExpect(status().isOk());
+        assertEquals(acertos + 1, service.getCachePorEmail().getAcertos());
+    }
+
+    private String admin() {
+        return "Bearer " + tokenService.assinar(tokenService.emitir(1L, true));
+    }
+
+    private static UsuarioDTO dto(String nome, String email, String cpf) {
+        UsuarioDTO dto = new UsuarioDTO();
+        dto.setNome(nome);
+        dto.setEmail(email);
+        dto.setCpf(cpf);
+        dto.setSenha("senha123");
+        return dto;
+    }
+}
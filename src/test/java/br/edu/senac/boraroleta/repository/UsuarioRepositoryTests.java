@@ -0,0 +1,87 @@
+package br.edu.senac.boraroleta.repository;
+
+import br.edu.senac.boraroleta.dto.UsuarioRespostaDTO;
+import br.edu.senac.boraroleta.model.Usuario;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class UsuarioRepositoryTests {
+
+    @Autowired
+    private UsuarioRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    void buscaPorNomeAchaQualquerPalavra() {
+        salvar("João da Silva", "joao@email.com", "11111111111");
+        salvar("Maria Souza", "maria@email.com", "22222222222");
+        salvar("Silvana Costa", "silvana@email.com", "33333333333");
+
+        // prefixo do nome inteiro primeiro, depois o de outra palavra
+        assertEquals(List.of("Silvana Costa", "João da Silva"), nomes("silv"));
+        assertEquals(List.of("João da Silva"), nomes("da sil"));
+        assertEquals(List.of("Maria Souza"), nomes("souza"));
+        assertEquals(List.of(), nomes("ilva"));
+    }
+
+    @Test
+    void nomeInteiroVemAntesDeOutraPalavra() {
+        salvar("Ana Lima", "ana@email.com", "44444444444");
+        salvar("Lima Barreto", "lima@email.com", "55555555555");
+
+        assertEquals(List.of("Lima Barreto", "Ana Lima"), nomes("lima"));
+    }
+
+    @Test
+    void trocaDeNomeRefazOsSufixos() {
+        Usuario u = salvar("Pedro Alves", "pedro@email.com", "66666666666");
+        u.setNome("Pedro Rocha");
+        repository.saveAndFlush(u);
+
+        assertEquals(List.of(), nomes("alves"));
+        assertEquals(List.of("Pedro Rocha"), nomes("rocha"));
+    }
+
+    @Test
+    void cadaRamoDaBuscaUsaOIndiceDaSuaColuna() {
+        // o mesmo SQL que o Hibernate gera para cada ramo, sem a projeção
+        for (String sql : List.of(
+                "SELECT u.id FROM usuarios u WHERE u.cpf_normalizado = '12345678909'",
+                "SELECT u.id FROM usuarios u WHERE u.email_normalizado LIKE 'ana!_%' ESCAPE '!'",
+                "SELECT u.id FROM usuarios u WHERE u.id IN (SELECT s.usuario_id FROM usuarios_nome_sufixos s "
+                        + "WHERE s.sufixo LIKE 'silv%' ESCAPE '!')")) {
+            String plano = jdbc.queryForObject("EXPLAIN " + sql, String.class);
+            assertFalse(plano.contains("tableScan"), plano);
+        }
+    }
+
+    private Usuario salvar(String nome, String email, String cpf) {
+        Usuario u = new Usuario();
+        u.setNome(nome);
+        u.setEmail(email);
+        u.setCpf(cpf);
+        u.setSenha("x");
+        return repository.saveAndFlush(u);
+    }
+
+    private List<String> nomes(String nome) {
+        return repository.buscarPorPrefixoNome(nome, nome + "%", Limit.of(10)).stream()
+                .map(UsuarioRespostaDTO::getNome)
+                .toList();
+    }
+}
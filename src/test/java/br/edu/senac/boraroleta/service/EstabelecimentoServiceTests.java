@@ -0,0 +1,67 @@
+package br.edu.senac.boraroleta.service;
+
+import br.edu.senac.boraroleta.dto.EstabelecimentoDTO;
+import br.edu.senac.boraroleta.dto.EstabelecimentoProximoDTO;
+import br.edu.senac.boraroleta.dto.EstabelecimentoRespostaDTO;
+import br.edu.senac.boraroleta.exception.BusinessException;
+import br.edu.senac.boraroleta.model.Estabelecimento;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeout;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class EstabelecimentoServiceTests {
+
+    @Autowired
+    private EstabelecimentoService service;
+
+    @Test
+    void paginaPorCursorSemRepetirNemPular() {
+        Estabelecimento a = service.criar(dto("Pagina A"));
+        Estabelecimento b = service.criar(dto("Pagina B"));
+        Estabelecimento c = service.criar(dto("Pagina C"));
+        long antes = a.getId() - 1;
+
+        List<EstabelecimentoRespostaDTO> primeira = service.listarPagina(antes, 2);
+        assertEquals(List.of(a.getId(), b.getId()), ids(primeira));
+
+        // uma remoção entre as páginas não desloca o cursor
+        service.deletar(b.getId());
+        List<EstabelecimentoRespostaDTO> segunda = service.listarPagina(primeira.get(1).getId(), 2);
+        assertEquals(c.getId(), segunda.get(0).getId());
+
+        assertTrue(service.listarPagina(c.getId(), 2).stream().noneMatch(e -> e.getId() <= c.getId()));
+        assertThrows(BusinessException.class, () -> service.listarPagina(null, 0));
+        assertThrows(BusinessException.class, () -> service.listarPagina(null, Paginacao.LIMITE_MAXIMO + 1));
+    }
+
+    @Test
+    void proximosPertoDoPoloNaoVarreAVoltaInteira() {
+        Estabelecimento polar = service.criar(new EstabelecimentoDTO("Base Polar", "bar", "Estação", 89.995, -170.0));
+
+        List<Long> achados = assertTimeout(Duration.ofSeconds(1),
+                () -> service.buscarProximos(89.99, 10.0, EstabelecimentoService.RAIO_MAXIMO_METROS, null, 10)
+                        .stream().map(EstabelecimentoProximoDTO::getId).toList());
+        assertEquals(List.of(polar.getId()), achados);
+        assertThrows(BusinessException.class,
+                () -> service.buscarProximos(89.99, 10.0, EstabelecimentoService.RAIO_MAXIMO_METROS + 1, null, 10));
+    }
+
+    private static List<Long> ids(List<EstabelecimentoRespostaDTO> lista) {
+        return lista.stream().map(EstabelecimentoRespostaDTO::getId).toList();
+    }
+
+    private static EstabelecimentoDTO dto(String nome) {
+        return new EstabelecimentoDTO(nome, "bar", "Rua A, 1", -23.5, -46.6);
+    }
+}
@@ -0,0 +1,69 @@
+package br.edu.senac.boraroleta.service;
+
+import br.edu.senac.boraroleta.dto.UsuarioDTO;
+import br.edu.senac.boraroleta.dto.UsuarioRespostaDTO;
+import br.edu.senac.boraroleta.exception.BusinessException;
+import br.edu.senac.boraroleta.model.Usuario;
+import br.edu.senac.boraroleta.service.seguranca.TokenService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class UsuarioServiceTests {
+
+    @Autowired
+    private UsuarioService service;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Test
+    void trocaDeSenhaSoRevogaOsTokensSeForGravada() {
+        Usuario dono = service.criar(dto("Davi Senha", "davi.senha@email.com", "71000000001", "senha123"));
+        service.criar(dto("Eva Senha", "eva.senha@email.com", "71000000002", "senha123"));
+        String token = tokenService.assinar(tokenService.emitir(dono.getId(), false));
+
+        // email de outra conta: a atualização falha e as sessões continuam
+        assertThrows(BusinessException.class, () -> service.atualizar(dono.getId(),
+                dto("Davi Senha", "eva.senha@email.com", "71000000001", "novaSenha1")));
+        assertTrue(tokenService.validar(token).isPresent());
+
+        service.atualizar(dono.getId(), dto("Davi Senha", "davi.senha@email.com", "71000000001", "novaSenha1"));
+        assertFalse(tokenService.validar(token).isPresent());
+    }
+
+    @Test
+    void buscaJuntaOsRamosSemRepetirUsuario() {
+        Usuario porEmail = service.criar(dto("Quitéria Ramos", "quiteria.ramos@email.com", "72000000001", "senha123"));
+        Usuario porNome = service.criar(dto("Ana Quiteria", "ana.q@email.com", "72000000002", "senha123"));
+
+        // o primeiro casa por email e por nome, mas aparece uma vez só, na posição do email
+        assertEquals(List.of(porEmail.getId(), porNome.getId()), ids(service.buscar("quiteria", null, null, null, 10)));
+        assertEquals(List.of(porEmail.getId()), ids(service.buscar("quiteria", null, null, null, 1)));
+        // CPF exato vem antes dos outros ramos
+        assertEquals(porNome.getId(), ids(service.buscar("720.000.000-02", null, null, null, 10)).get(0));
+    }
+
+    private static List<Long> ids(List<UsuarioRespostaDTO> lista) {
+        return lista.stream().map(UsuarioRespostaDTO::getId).toList();
+    }
+
+    private static UsuarioDTO dto(String nome, String email, String cpf, String senha) {
+        UsuarioDTO dto = new UsuarioDTO();
+        dto.setNome(nome);
+        dto.setEmail(email);
+        dto.setCpf(cpf);
+        dto.setSenha(senha);
+        return dto;
+    }
+}
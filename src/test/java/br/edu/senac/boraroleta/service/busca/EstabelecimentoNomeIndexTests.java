@@ -0,0 +1,71 @@
+package br.edu.senac.boraroleta.service.busca;
+
+import br.edu.senac.boraroleta.dto.EstabelecimentoBuscaDTO;
+import br.edu.senac.boraroleta.model.Estabelecimento;
+import br.edu.senac.boraroleta.service.EstabelecimentosImportadosEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EstabelecimentoNomeIndexTests {
+
+    private final EstabelecimentoNomeIndex index = new EstabelecimentoNomeIndex();
+
+    @BeforeEach
+    void indexar() {
+        index.indexar(estabelecimento(1L, "Bar do Zé"));
+        index.indexar(estabelecimento(2L, "Pizzaria Bella Napoli"));
+        index.indexar(estabelecimento(3L, "Zé Lanches"));
+        index.indexar(estabelecimento(4L, "Boteco do Zeca"));
+    }
+
+    @Test
+    void nomeExatoVemPrimeiro() {
+        List<EstabelecimentoBuscaDTO> resultado = index.buscar("bar do ze", 10);
+        assertEquals(1L, resultado.get(0).getId());
+        assertEquals(1.0, resultado.get(0).getSimilaridade());
+    }
+
+    @Test
+    void toleraErroDeDigitacao() {
+        assertEquals(2L, index.buscar("pizaria", 10).get(0).getId());
+        assertEquals(2L, index.buscar("Bela Napolli", 10).get(0).getId());
+    }
+
+    @Test
+    void respeitaOLimiteEACoberturaMinima() {
+        assertEquals(1, index.buscar("ze", 1).size());
+        assertTrue(index.buscar("xyzw", 10).isEmpty());
+        assertTrue(index.buscar("!!", 10).isEmpty());
+    }
+
+    @Test
+    void acompanhaAlteracaoERemocao() {
+        index.indexar(estabelecimento(2L, "Cantina Toscana"));
+        assertTrue(index.buscar("pizzaria", 10).isEmpty());
+        assertEquals(2L, index.buscar("cantina", 10).get(0).getId());
+
+        index.remover(2L);
+        assertTrue(index.buscar("cantina", 10).isEmpty());
+
+        // o slot liberado é reaproveitado sem misturar os trigramas antigos
+        index.aoImportar(new EstabelecimentosImportadosEvent(List.of(estabelecimento(5L, "Sorveteria Gelato"))));
+        assertEquals(5L, index.buscar("gelato", 10).get(0).getId());
+        assertTrue(index.buscar("cantina", 10).isEmpty());
+    }
+
+    private static Estabelecimento estabelecimento(Long id, String nome) {
+        Estabelecimento e = new Estabelecimento();
+        e.setId(id);
+        e.setNome(nome);
+        e.setCategoria("bar");
+        e.setEndereco("Rua A");
+        e.setLatitude(-23.5);
+        e.setLongitude(-46.6);
+        return e;
+    }
+}
@@ -0,0 +1,43 @@
+package br.edu.senac.boraroleta.service.busca;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TextoBuscaTests {
+
+    @Test
+    void dobraAcentosCaixaEPontuacao() {
+        assertEquals("bar do ze", TextoBusca.dobrar("  Bar do Zé!! "));
+        assertEquals("acai 24h", TextoBusca.dobrar("Açaí - 24h"));
+        assertEquals("", TextoBusca.dobrar(null));
+        assertEquals("", TextoBusca.dobrar(" -- "));
+    }
+
+    @Test
+    void trigramasIgnoramAcentosEComecamNaPalavra() {
+        assertArrayEquals(TextoBusca.trigramas("bar do ze"), TextoBusca.trigramas("Bar do Zé"));
+        // "  a", " ab", "ab ": dois espaços à esquerda e um à direita
+        assertEquals(3, TextoBusca.trigramas("ab").length);
+        assertEquals(0, TextoBusca.trigramas("  ").length);
+    }
+
+    @Test
+    void trigramasSaoDistintosEOrdenados() {
+        long[] trigramas = TextoBusca.trigramas("aaaa aaaa");
+        for (int i = 1; i < trigramas.length; i++) {
+            assertTrue(trigramas[i - 1] < trigramas[i]);
+        }
+        assertArrayEquals(TextoBusca.trigramas("aaaa"), trigramas);
+    }
+
+    @Test
+    void sufixosComecamEmCadaPalavra() {
+        assertEquals(Set.of("joao da silva", "da silva", "silva"), TextoBusca.sufixosPorPalavra("João da Silva"));
+        assertEquals(Set.of(), TextoBusca.sufixosPorPalavra(""));
+    }
+}
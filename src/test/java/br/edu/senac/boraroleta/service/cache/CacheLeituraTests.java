@@ -0,0 +1,107 @@
+package br.edu.senac.boraroleta.service.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CacheLeituraTests {
+
+    private final CacheLeitura<String, String> cache = new CacheLeitura<>("teste", 2, 60);
+
+    @Test
+    void guardaOValorCarregado() {
+        AtomicInteger cargas = new AtomicInteger();
+        assertEquals("v", cache.obter("k", k -> { cargas.incrementAndGet(); return "v"; }));
+        assertEquals("v", cache.obter("k", k -> { cargas.incrementAndGet(); return "outro"; }));
+        assertEquals(1, cargas.get());
+        assertEquals(1, cache.getAcertos());
+    }
+
+    @Test
+    void naoGuardaNull() {
+        assertNull(cache.obter("k", k -> null));
+        assertEquals("v", cache.obter("k", k -> "v"));
+    }
+
+    @Test
+    void despejaOMenosUsado() {
+        cache.obter("a", k -> "1");
+        cache.obter("b", k -> "2");
+        cache.obter("a", k -> "x");
+        cache.obter("c", k -> "3");
+        assertEquals(2, cache.getTamanho());
+        assertEquals("1", cache.obter("a", k -> "novo"));
+        assertEquals("novo", cache.obter("b", k -> "novo"));
+    }
+
+    @Test
+    void chamadasSimultaneasDividemACarga() throws Exception {
+        CountDownLatch iniciou = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        AtomicInteger cargas = new AtomicInteger();
+        CompletableFuture<String> primeira = CompletableFuture.supplyAsync(() -> cache.obter("k", k -> {
+            cargas.incrementAndGet();
+            iniciou.countDown();
+            aguardar(liberar);
+            return "v";
+        }));
+        assertTrue(iniciou.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> segunda = CompletableFuture.supplyAsync(() -> cache.obter("k", k -> {
+            cargas.incrementAndGet();
+            return "outro";
+        }));
+        while (cache.getCompartilhadas() == 0) {
+            Thread.onSpinWait();
+        }
+        liberar.countDown();
+
+        assertEquals("v", primeira.get(5, TimeUnit.SECONDS));
+        assertEquals("v", segunda.get(5, TimeUnit.SECONDS));
+        assertEquals(1, cargas.get());
+    }
+
+    @Test
+    void quemChegaDepoisDaInvalidacaoNaoAguardaACargaAnterior() throws Exception {
+        CountDownLatch iniciou = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        CompletableFuture<String> antiga = CompletableFuture.supplyAsync(() -> cache.obter("k", k -> {
+            iniciou.countDown();
+            aguardar(liberar);
+            return "velho";
+        }));
+        assertTrue(iniciou.await(5, TimeUnit.SECONDS));
+
+        cache.invalidar("k");
+        // a carga antiga continua presa: esta precisa carregar por conta própria
+        assertEquals("novo", cache.obter("k", k -> "novo"));
+
+        liberar.countDown();
+        assertEquals("velho", antiga.get(5, TimeUnit.SECONDS));
+        assertEquals("novo", cache.obter("k", k -> "outro"));
+    }
+
+    @Test
+    void cargaQueAtravessaUmaInvalidacaoNaoGrava() {
+        assertEquals("velho", cache.obter("k", k -> {
+            cache.invalidar("k");
+            return "velho";
+        }));
+        assertEquals("novo", cache.obter("k", k -> "novo"));
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        }
+    }
+}
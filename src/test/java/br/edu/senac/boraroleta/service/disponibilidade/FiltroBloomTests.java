@@ -0,0 +1,56 @@
+package br.edu.senac.boraroleta.service.disponibilidade;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FiltroBloomTests {
+
+    @Test
+    void nuncaDaFalsoNegativo() {
+        FiltroBloom filtro = new FiltroBloom(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filtro.adicionar("usuario" + i + "@email.com");
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filtro.podeConter("usuario" + i + "@email.com"));
+        }
+        assertEquals(10_000, filtro.getInseridos());
+    }
+
+    @Test
+    void taxaDeFalsoPositivoFicaPertoDaPedida() {
+        FiltroBloom filtro = new FiltroBloom(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filtro.adicionar("usuario" + i + "@email.com");
+        }
+        int falsos = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filtro.podeConter("outro" + i + "@email.com")) {
+                falsos++;
+            }
+        }
+        assertTrue(falsos < 2_000, "falsos positivos: " + falsos);
+    }
+
+    @Test
+    void filtroVazioNaoContemNada() {
+        FiltroBloom filtro = new FiltroBloom(100, 0.01);
+        assertFalse(filtro.podeConter("x"));
+        assertFalse(filtro.podeConter(""));
+    }
+
+    @Test
+    void insercoesConcorrentesNaoPerdemBits() {
+        FiltroBloom filtro = new FiltroBloom(50_000, 0.01);
+        IntStream.range(0, 50_000).parallel().forEach(i -> filtro.adicionar("cpf" + i));
+        for (int i = 0; i < 50_000; i++) {
+            assertTrue(filtro.podeConter("cpf" + i));
+        }
+        assertEquals(50_000, filtro.getInseridos());
+    }
+}
@@ -0,0 +1,93 @@
+package br.edu.senac.boraroleta.service.estatisticas;
+
+import br.edu.senac.boraroleta.dto.EstabelecimentoDTO;
+import br.edu.senac.boraroleta.dto.EstatisticasDTO;
+import br.edu.senac.boraroleta.dto.UsuarioDTO;
+import br.edu.senac.boraroleta.model.Estabelecimento;
+import br.edu.senac.boraroleta.model.Usuario;
+import br.edu.senac.boraroleta.service.EstabelecimentoService;
+import br.edu.senac.boraroleta.service.UsuarioService;
+import br.edu.senac.boraroleta.service.importacao.EstabelecimentoImportService;
+import br.edu.senac.boraroleta.service.importacao.LinhaImportacao;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class EstatisticasServiceTests {
+
+    @Autowired
+    private EstatisticasService estatisticas;
+
+    @Autowired
+    private EstabelecimentoService estabelecimentos;
+
+    @Autowired
+    private EstabelecimentoImportService importacao;
+
+    @Autowired
+    private UsuarioService usuarios;
+
+    @Test
+    void contadoresIncrementaisBatemComARecontagem() {
+        // os contextos de teste dividem o mesmo H2 em create-drop: um contexto novo
+        // recria as tabelas por baixo deste, então parte da recontagem atual
+        estatisticas.carregar();
+        EstatisticasDTO antes = estatisticas.estatisticas(7);
+
+        Estabelecimento a = estabelecimentos.criar(dto("Estat A", "estat-bar"));
+        Estabelecimento b = estabelecimentos.criar(dto("Estat B", "estat-bar"));
+        EstabelecimentoDTO importado = dto("Estat Importado", "estat-bar");
+        importado.setGooglePlaceId("estat-importado");
+        importacao.importar(List.of(new LinhaImportacao(1, importado, null)).iterator(), p -> { });
+        estabelecimentos.atualizar(b.getId(), dto("Estat B", "estat-cafe"));
+        estabelecimentos.deletar(a.getId());
+
+        Usuario fica = usuarios.criar(usuario("Estat Fica", "estat.fica@email.com", "73000000001"));
+        Usuario sai = usuarios.criar(usuario("Estat Sai", "estat.sai@email.com", "73000000002"));
+        usuarios.deletar(sai.getId());
+
+        EstatisticasDTO incremental = estatisticas.estatisticas(7);
+        assertEquals(antes.getTotalEstabelecimentos() + 2, incremental.getTotalEstabelecimentos());
+        assertEquals(1L, incremental.getEstabelecimentosPorCategoria().get("estat-bar"));
+        assertEquals(1L, incremental.getEstabelecimentosPorCategoria().get("estat-cafe"));
+        assertEquals(antes.getTotalUsuarios() + 1, incremental.getTotalUsuarios());
+        String hoje = LocalDate.now().toString();
+        assertEquals(antes.getCadastrosPorDia().get(hoje) + 1, incremental.getCadastrosPorDia().get(hoje));
+
+        // remover o último da categoria tira a categoria do mapa
+        estabelecimentos.deletar(b.getId());
+        assertNull(estatisticas.estatisticas(7).getEstabelecimentosPorCategoria().get("estat-cafe"));
+        usuarios.deletar(fica.getId());
+
+        EstatisticasDTO mantido = estatisticas.estatisticas(7);
+        estatisticas.carregar();
+        EstatisticasDTO recontado = estatisticas.estatisticas(7);
+        assertEquals(recontado.getTotalEstabelecimentos(), mantido.getTotalEstabelecimentos());
+        assertEquals(recontado.getEstabelecimentosPorCategoria(), mantido.getEstabelecimentosPorCategoria());
+        assertEquals(recontado.getTotalUsuarios(), mantido.getTotalUsuarios());
+        assertEquals(recontado.getAdministradores(), mantido.getAdministradores());
+        assertEquals(recontado.getCadastrosPorDia(), mantido.getCadastrosPorDia());
+    }
+
+    private static EstabelecimentoDTO dto(String nome, String categoria) {
+        return new EstabelecimentoDTO(nome, categoria, "Rua Estat, 1", -9.5, -36.5);
+    }
+
+    private static UsuarioDTO usuario(String nome, String email, String cpf) {
+        UsuarioDTO dto = new UsuarioDTO();
+        dto.setNome(nome);
+        dto.setEmail(email);
+        dto.setCpf(cpf);
+        dto.setSenha("senha123");
+        return dto;
+    }
+}
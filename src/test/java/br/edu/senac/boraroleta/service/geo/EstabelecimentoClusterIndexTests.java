@@ -0,0 +1,103 @@
+package br.edu.senac.boraroleta.service.geo;
+
+import br.edu.senac.boraroleta.dto.EstabelecimentoClusterDTO;
+import br.edu.senac.boraroleta.exception.BusinessException;
+import br.edu.senac.boraroleta.model.Estabelecimento;
+import br.edu.senac.boraroleta.service.EstabelecimentoAlteradoEvent;
+import br.edu.senac.boraroleta.service.EstabelecimentosImportadosEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EstabelecimentoClusterIndexTests {
+
+    /** São Paulo e Rio de Janeiro, com folga */
+    private static final Retangulo SUDESTE = new Retangulo(-24, -47, -22, -43);
+
+    private final EstabelecimentoClusterIndex index = new EstabelecimentoClusterIndex();
+
+    @Test
+    void quantidadesSomamOMesmoEmTodoZoom() {
+        // três bares a ~1 km um do outro em São Paulo e um restaurante no Rio
+        index.aoImportar(new EstabelecimentosImportadosEvent(List.of(
+                estabelecimento(1, "bar", -23.55, -46.63),
+                estabelecimento(2, "bar", -23.55, -46.62),
+                estabelecimento(3, "bar", -23.55, -46.61),
+                estabelecimento(4, "restaurante", -22.91, -43.17))));
+
+        List<EstabelecimentoClusterDTO> mundo = index.buscar(SUDESTE, 0, null);
+        assertEquals(1, mundo.size());
+        assertEquals(4, mundo.get(0).getQuantidade());
+        assertEquals("bar", mundo.get(0).getCategoria());
+        assertNull(mundo.get(0).getId());
+
+        int anterior = 0;
+        for (int zoom = 0; zoom <= 10; zoom++) {
+            List<EstabelecimentoClusterDTO> clusters = index.buscar(SUDESTE, zoom, null);
+            assertEquals(4, clusters.stream().mapToInt(EstabelecimentoClusterDTO::getQuantidade).sum());
+            assertTrue(clusters.size() >= anterior, "zoom " + zoom + " juntou clusters");
+            anterior = clusters.size();
+        }
+        assertThrows(BusinessException.class, () -> index.buscar(SUDESTE, 14, null));
+
+        // perto o bastante, cada bar vira o seu marcador e leva o próprio id
+        Retangulo saoPaulo = new Retangulo(-23.56, -46.64, -23.54, -46.60);
+        List<EstabelecimentoClusterDTO> ruas = index.buscar(saoPaulo, 14, null);
+        assertEquals(Set.of(1L, 2L, 3L), ids(ruas));
+        assertTrue(ruas.stream().allMatch(c -> c.getQuantidade() == 1));
+
+        assertEquals(1, index.buscar(SUDESTE, 0, "RESTAURANTE").get(0).getQuantidade());
+    }
+
+    @Test
+    void remocaoEMudancaDeCategoriaAtualizamOsAgregados() {
+        Estabelecimento bar = estabelecimento(1, "bar", -23.55, -46.63);
+        index.aoImportar(new EstabelecimentosImportadosEvent(List.of(bar, estabelecimento(2, "bar", -23.55, -46.62))));
+
+        bar.setCategoria("cafe");
+        index.aoAlterar(new EstabelecimentoAlteradoEvent(EstabelecimentoAlteradoEvent.Tipo.ATUALIZADO, bar, "bar"));
+        assertEquals(1, index.buscar(SUDESTE, 0, "bar").get(0).getQuantidade());
+        assertEquals(Set.of(1L), ids(index.buscar(SUDESTE, 0, "cafe")));
+
+        index.aoAlterar(new EstabelecimentoAlteradoEvent(EstabelecimentoAlteradoEvent.Tipo.REMOVIDO, bar));
+        assertEquals(List.of(), index.buscar(SUDESTE, 0, "cafe"));
+        assertEquals(1, index.tamanho());
+    }
+
+    @Test
+    void retanguloQueCruzaOAntimeridiano() {
+        index.aoImportar(new EstabelecimentosImportadosEvent(List.of(
+                estabelecimento(11, "bar", 10, 179.95),
+                estabelecimento(12, "bar", 10, -179.95),
+                estabelecimento(13, "bar", 10, 0))));
+
+        // de 179° leste a 179° oeste: só uma coluna de cada lado
+        Retangulo fiji = new Retangulo(9, 179, 11, -179);
+        assertEquals(Set.of(11L, 12L), ids(index.buscar(fiji, 7, null)));
+
+        // o mesmo intervalo sem cruzar é a volta quase inteira
+        Retangulo contrario = new Retangulo(9, -179, 11, 179);
+        assertEquals(Set.of(13L), ids(index.buscar(contrario, 7, null)));
+    }
+
+    private static Set<Long> ids(List<EstabelecimentoClusterDTO> clusters) {
+        return clusters.stream().map(EstabelecimentoClusterDTO::getId).collect(Collectors.toSet());
+    }
+
+    private static Estabelecimento estabelecimento(long id, String categoria, double lat, double lng) {
+        Estabelecimento e = new Estabelecimento();
+        e.setId(id);
+        e.setNome("Cluster " + id);
+        e.setCategoria(categoria);
+        e.setLatitude(lat);
+        e.setLongitude(lng);
+        return e;
+    }
+}
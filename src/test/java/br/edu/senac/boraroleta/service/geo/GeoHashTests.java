@@ -0,0 +1,120 @@
+package br.edu.senac.boraroleta.service.geo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GeoHashTests {
+
+    @Test
+    void codificaComoOGeohashPadrao() {
+        assertEquals("u4pruydqqvj", GeoHash.encode(57.64911, 10.40744, 11));
+        assertEquals("u4pru", GeoHash.encode(57.64911, 10.40744, 5));
+        assertEquals("s0000", GeoHash.encode(0.0001, 0.0001, 5));
+    }
+
+    @Test
+    void linhaEColunaBatemComOGeohash() {
+        double lat = -23.5614;
+        double lng = -46.6559;
+        int linha = GeoHash.linha(lat, 6);
+        int coluna = GeoHash.coluna(lng, 6);
+        // o centro da célula cai na mesma célula do geohash
+        assertEquals(GeoHash.encode(lat, lng, 6),
+                GeoHash.encode(GeoHash.centroLatitude(linha, 6), GeoHash.centroLongitude(coluna, 6), 6));
+        assertEquals(GeoHash.chave(linha, coluna), GeoHash.chave(lat, lng, 6));
+    }
+
+    @Test
+    void longitudeDaAVoltaNoAntimeridiano() {
+        assertEquals(0, GeoHash.coluna(-180.0, 5));
+        assertEquals(0, GeoHash.coluna(180.0, 5));
+
+        int ultima = GeoHash.colunas(5) - 1;
+        GeoHash.Janela janela = GeoHash.janela(0, 180.0, 1000, 5);
+        assertEquals(ultima, janela.colunaInicio());
+        assertEquals(2, janela.quantidadeColunas());
+        assertEquals(GeoHash.colunas(3), GeoHash.janela(0, 0, 30_000_000, 3).quantidadeColunas());
+    }
+
+    @Test
+    void latitudeForaDaFaixaFicaNaBorda() {
+        assertEquals(0, GeoHash.linha(-95, 4));
+        assertEquals((1 << GeoHash.bitsLatitude(4)) - 1, GeoHash.linha(95, 4));
+    }
+
+    @Test
+    void distanciaDeUmGrauDeLatitude() {
+        assertEquals(GeoHash.METROS_POR_GRAU, GeoHash.distanciaMetros(0, 0, 1, 0), 1e-6);
+        assertEquals(0.0, GeoHash.distanciaMetros(-23.5, -46.6, -23.5, -46.6), 1e-9);
+        // Paulista -> Ibirapuera, ~3 km
+        double d = GeoHash.distanciaMetros(-23.5614, -46.6559, -23.5874, -46.6576);
+        assertEquals(2900, d, 100);
+    }
+
+    @Test
+    void grausDeLongitudeCrescemComALatitude() {
+        assertEquals(1.0, GeoHash.grausLongitude(GeoHash.METROS_POR_GRAU, 0), 1e-9);
+        assertEquals(2.0, GeoHash.grausLongitude(GeoHash.METROS_POR_GRAU, 60), 1e-9);
+        assertEquals(360.0, GeoHash.grausLongitude(1000, 90));
+        assertNotEquals(GeoHash.grausLongitude(1000, 0), GeoHash.grausLongitude(1000, 45));
+    }
+
+    @Test
+    void janelaAtravessaOAntimeridiano() {
+        GeoHash.Janela janela = GeoHash.janela(0, 179.999, 1000, 6);
+        assertTrue(janela.contem(GeoHash.chave(0, 179.999, 6)));
+        assertTrue(janela.contem(GeoHash.chave(0, -179.999, 6)));
+        assertFalse(janela.contem(GeoHash.chave(0, 179.9, 6)));
+        assertFalse(janela.contem(GeoHash.chave(0.1, 179.999, 6)));
+    }
+
+    @Test
+    void janelaPertoDoPoloPercorreSoAsCelulasOcupadas() {
+        GeoHash.Janela janela = GeoHash.janela(89.99, 10, 50_000, 6);
+        // a volta inteira em longitude em cada linha
+        assertEquals(GeoHash.colunas(6), janela.quantidadeColunas());
+        assertTrue(janela.celulas() > 1_000_000);
+
+        ContaConsultas<String> celulas = new ContaConsultas<>();
+        celulas.put(GeoHash.chave(89.995, -170, 6), "perto do polo");
+        celulas.put(GeoHash.chave(-23.5, -46.6, 6), "longe");
+        List<String> visitadas = new ArrayList<>();
+        janela.visitar(celulas, visitadas::add);
+        assertEquals(List.of("perto do polo"), visitadas);
+        assertEquals(0, celulas.consultas);
+    }
+
+    @Test
+    void janelaPequenaConsultaCelulaPorCelula() {
+        GeoHash.Janela janela = GeoHash.janela(-23.5614, -46.6559, 1000, 6);
+        ContaConsultas<String> celulas = new ContaConsultas<>();
+        for (int i = 0; i < 1000; i++) {
+            celulas.put(GeoHash.chave(-60 + i * 0.1, 0, 6), "vazia " + i);
+        }
+        celulas.put(GeoHash.chave(-23.5614, -46.6559, 6), "centro");
+        List<String> visitadas = new ArrayList<>();
+        janela.visitar(celulas, visitadas::add);
+        assertEquals(List.of("centro"), visitadas);
+        assertEquals(janela.celulas(), celulas.consultas);
+    }
+
+    /** Mapa que conta as consultas por chave. */
+    private static final class ContaConsultas<T> extends HashMap<Long, T> {
+
+        private long consultas;
+
+        @Override
+        public T get(Object chave) {
+            consultas++;
+            return super.get(chave);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package br.edu.senac.boraroleta.service.importacao;
+
+import br.edu.senac.boraroleta.dto.EstabelecimentoDTO;
+import br.edu.senac.boraroleta.dto.ImportacaoProgressoDTO;
+import br.edu.senac.boraroleta.model.Estabelecimento;
+import br.edu.senac.boraroleta.service.EstabelecimentoAlteradoEvent;
+import br.edu.senac.boraroleta.service.EstabelecimentosImportadosEvent;
+import br.edu.senac.boraroleta.service.busca.EstabelecimentoNomeIndex;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@RecordApplicationEvents
+class EstabelecimentoImportServiceTests {
+
+    @Autowired
+    private EstabelecimentoImportService importService;
+
+    @Autowired
+    private EstabelecimentoNomeIndex nomeIndex;
+
+    @Autowired
+    private ApplicationEvents eventos;
+
+    @Test
+    void umEventoPorLoteComTodosOsIds() {
+        List<LinhaImportacao> linhas = List.of(
+                linha(1, "Bar Importado Um", "importado-1"),
+                linha(2, "Bar Importado Dois", "importado-2"),
+                linha(3, "Bar Importado Repetido", "importado-1"),
+                new LinhaImportacao(4, null, "coluna faltando"));
+        List<ImportacaoProgressoDTO> progresso = new ArrayList<>();
+
+        importService.importar(linhas.iterator(), progresso::add);
+
+        List<EstabelecimentosImportadosEvent> lotes = eventos.stream(EstabelecimentosImportadosEvent.class).toList();
+        assertEquals(1, lotes.size());
+        assertEquals(0, eventos.stream(EstabelecimentoAlteradoEvent.class).count());
+        List<Estabelecimento> inseridos = lotes.get(0).getEstabelecimentos();
+        assertEquals(2, inseridos.size());
+        inseridos.forEach(e -> assertNotNull(e.getId()));
+
+        ImportacaoProgressoDTO fim = progresso.get(progresso.size() - 1);
+        assertTrue(fim.isConcluido());
+        assertEquals(2, fim.getInseridos());
+        assertEquals(1, fim.getDuplicados());
+        assertEquals(1, fim.getRejeitados());
+
+        // o índice em memória recebeu o lote depois do commit
+        assertEquals("Bar Importado Dois", nomeIndex.buscar("importado dois", 1).get(0).getNome());
+    }
+
+    private static LinhaImportacao linha(long numero, String nome, String placeId) {
+        EstabelecimentoDTO dto = new EstabelecimentoDTO();
+        dto.setNome(nome);
+        dto.setCategoria("bar");
+        dto.setEndereco("Rua " + numero);
+        dto.setLatitude(-23.5 + numero / 1000.0);
+        dto.setLongitude(-46.6);
+        dto.setGooglePlaceId(placeId);
+        return new LinhaImportacao(numero, dto, null);
+    }
+}
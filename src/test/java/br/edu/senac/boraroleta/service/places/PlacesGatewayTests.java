@@ -0,0 +1,74 @@
+package br.edu.senac.boraroleta.service.places;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeout;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Places API que aceita a conexão e nunca responde: um socket local sem
+ * {@code accept()}, cuja fila de conexões o sistema operacional completa sozinho.
+ */
+@SpringBootTest(properties = {
+        "places.client=google",
+        "google.maps.api-key=chave-de-teste",
+        "places.timeout-ms=300"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class PlacesGatewayTests {
+
+    private static ServerSocket placesParada;
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private PlacesGateway gateway;
+
+    @DynamicPropertySource
+    static void placesApi(DynamicPropertyRegistry registry) {
+        try {
+            placesParada = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        registry.add("places.google.url", () -> "http://127.0.0.1:" + placesParada.getLocalPort());
+    }
+
+    @AfterAll
+    static void fechar() throws IOException {
+        placesParada.close();
+    }
+
+    @Test
+    void prazoEstouradoViraBadGatewaySemFicarNoCache() {
+        assertTimeout(Duration.ofSeconds(3), () -> {
+            mvc.perform(get("/api/places/proximos").param("lat", "-23.5").param("lng", "-46.6")
+                            .param("categoria", "Adegas"))
+                    .andExpect(status().isBadGateway());
+            // a falha não é guardada: a mesma célula tenta a API de novo
+            mvc.perform(get("/api/places/proximos").param("lat", "-23.5").param("lng", "-46.6")
+                            .param("categoria", "Adegas"))
+                    .andExpect(status().isBadGateway());
+        });
+        assertEquals(0, gateway.getTamanhoCache());
+        assertEquals(2, gateway.getFaltas());
+    }
+}
@@ -0,0 +1,53 @@
+package br.edu.senac.boraroleta.service.roleta;
+
+import br.edu.senac.boraroleta.dto.EstabelecimentoDTO;
+import br.edu.senac.boraroleta.dto.EstabelecimentoProximoDTO;
+import br.edu.senac.boraroleta.model.Estabelecimento;
+import br.edu.senac.boraroleta.service.EstabelecimentoService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeout;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class RoletaServiceTests {
+
+    @Autowired
+    private RoletaService roleta;
+
+    @Autowired
+    private EstabelecimentoService estabelecimentos;
+
+    @Test
+    void recargaMontaAsTabelasComOsPontosDoIndiceGeografico() {
+        Estabelecimento bar = estabelecimentos.criar(new EstabelecimentoDTO("Roleta Bar", "bar", "Rua R, 1", -10.5, -40.5));
+        Estabelecimento cafe = estabelecimentos.criar(new EstabelecimentoDTO("Roleta Café", "cafe", "Rua R, 2", -10.501, -40.5));
+
+        roleta.carregar();
+
+        assertEquals(Set.of(bar.getId(), cafe.getId()), ids(roleta.girar(-10.5, -40.5, 1000, null, 5)));
+        assertEquals(Set.of(cafe.getId()), ids(roleta.girar(-10.5, -40.5, 1000, List.of("CAFE"), 5)));
+    }
+
+    @Test
+    void giroPertoDoPoloNaoVarreAVoltaInteira() {
+        Estabelecimento polar = estabelecimentos.criar(new EstabelecimentoDTO("Roleta Polar", "bar", "Estação", -89.995, 100.0));
+
+        Set<Long> sorteados = assertTimeout(Duration.ofSeconds(1),
+                () -> ids(roleta.girar(-89.99, -80.0, RoletaService.RAIO_MAXIMO_METROS, null, 3)));
+        assertEquals(Set.of(polar.getId()), sorteados);
+    }
+
+    private static Set<Long> ids(List<EstabelecimentoProximoDTO> lista) {
+        return lista.stream().map(EstabelecimentoProximoDTO::getId).collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,51 @@
+package br.edu.senac.boraroleta.service.roleta;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TabelaAliasTests {
+
+    private static final int SORTEIOS = 200_000;
+
+    @Test
+    void sorteiaProporcionalAoPeso() {
+        double[] pesos = {1, 2, 3, 4};
+        int[] contagem = sortear(new TabelaAlias(pesos), pesos.length);
+        for (int i = 0; i < pesos.length; i++) {
+            assertEquals(pesos[i] / 10, (double) contagem[i] / SORTEIOS, 0.01);
+        }
+    }
+
+    @Test
+    void pesoZeroNuncaESorteado() {
+        int[] contagem = sortear(new TabelaAlias(new double[] {0, 1, 0, 1}), 4);
+        assertEquals(0, contagem[0]);
+        assertEquals(0, contagem[2]);
+        assertEquals(0.5, (double) contagem[1] / SORTEIOS, 0.01);
+    }
+
+    @Test
+    void pesosMuitoDesiguais() {
+        int[] contagem = sortear(new TabelaAlias(new double[] {1000, 1}), 2);
+        assertEquals(1.0 / 1001, (double) contagem[1] / SORTEIOS, 0.001);
+    }
+
+    @Test
+    void umUnicoItemSempreSai() {
+        TabelaAlias tabela = new TabelaAlias(new double[] {0.3});
+        assertEquals(1, tabela.tamanho());
+        assertEquals(SORTEIOS, sortear(tabela, 1)[0]);
+    }
+
+    private static int[] sortear(TabelaAlias tabela, int n) {
+        Random random = new Random(42);
+        int[] contagem = new int[n];
+        for (int i = 0; i < SORTEIOS; i++) {
+            contagem[tabela.sortear(random)]++;
+        }
+        return contagem;
+    }
+}
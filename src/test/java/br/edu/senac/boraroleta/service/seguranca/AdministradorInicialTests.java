@@ -0,0 +1,94 @@
+package br.edu.senac.boraroleta.service.seguranca;
+
+import br.edu.senac.boraroleta.dto.LoginDTO;
+import br.edu.senac.boraroleta.dto.LoginResponseDTO;
+import br.edu.senac.boraroleta.dto.UsuarioDTO;
+import br.edu.senac.boraroleta.model.Usuario;
+import br.edu.senac.boraroleta.repository.UsuarioRepository;
+import br.edu.senac.boraroleta.service.UsuarioService;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Banco próprio: o contexto sobe vazio e o administrador sai da configuração.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:admin_inicial;DB_CLOSE_DELAY=-1",
+        "seguranca.admin-inicial.email=Raiz@BoraRoleta.com",
+        "seguranca.admin-inicial.senha=senha-inicial-123",
+        "seguranca.admin-inicial.cpf=52998224725"
+})
+@ActiveProfiles("test")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class AdministradorInicialTests {
+
+    @Autowired
+    private AdministradorInicial administradorInicial;
+
+    @Autowired
+    private UsuarioService usuarioService;
+
+    @Autowired
+    private UsuarioRepository repository;
+
+    @Test
+    @Order(1)
+    void criaOAdministradorUmaVezSo() throws Exception {
+        assertEquals(1, repository.contarAdministradores());
+        LoginDTO credenciais = new LoginDTO();
+        credenciais.setEmail("Raiz@BoraRoleta.com");
+        credenciais.setSenha("senha-inicial-123");
+        LoginResponseDTO login = usuarioService.autenticar(credenciais).get();
+        assertTrue(login.isAdmin());
+
+        // com administrador no banco, uma nova subida não grava nada
+        long usuarios = repository.count();
+        administradorInicial.criarSeNecessario();
+        assertEquals(usuarios, repository.count());
+    }
+
+    @Test
+    void naoPromoveUsuarioComumComOMesmoEmail() {
+        AdministradorInicial outro = copiaCom("comum@boraroleta.com", "senha-inicial-123");
+        Usuario comum = usuarioService.criar(
+                new UsuarioDTO("Usuário Comum", "comum@boraroleta.com", "11144477735", null, "senha123"));
+        removerAdministradores();
+
+        outro.criarSeNecessario();
+        assertFalse(repository.findById(comum.getId()).orElseThrow().isAdmin());
+        assertEquals(0, repository.contarAdministradores());
+    }
+
+    @Test
+    void senhaCurtaImpedeASubida() {
+        removerAdministradores();
+        AdministradorInicial curta = copiaCom("curta@boraroleta.com", "123");
+        assertThrows(IllegalStateException.class, curta::criarSeNecessario);
+        assertEquals(0, repository.contarAdministradores());
+    }
+
+    private void removerAdministradores() {
+        repository.deleteAll(repository.findAll().stream().filter(Usuario::isAdmin).toList());
+    }
+
+    private AdministradorInicial copiaCom(String email, String senha) {
+        AdministradorInicial copia = new AdministradorInicial();
+        for (String campo : new String[] {"repository", "usuarioService", "validator", "nome", "cpf"}) {
+            ReflectionTestUtils.setField(copia, campo, ReflectionTestUtils.getField(administradorInicial, campo));
+        }
+        ReflectionTestUtils.setField(copia, "email", email);
+        ReflectionTestUtils.setField(copia, "senha", senha);
+        return copia;
+    }
+}
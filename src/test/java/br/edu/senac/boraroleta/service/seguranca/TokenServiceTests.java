@@ -0,0 +1,76 @@
+package br.edu.senac.boraroleta.service.seguranca;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenServiceTests {
+
+    private final TokenService service = new TokenService("segredo-de-teste", 60);
+
+    @Test
+    void tokenAssinadoEValidado() {
+        SessaoToken sessao = service.emitir(42, true);
+        Optional<SessaoToken> lida = service.validar(service.assinar(sessao));
+        assertEquals(Optional.of(sessao), lida);
+        assertEquals(60 * 60_000, sessao.expiraEm() - sessao.emitidoEm());
+        assertNotEquals(sessao.jti(), service.emitir(42, true).jti());
+    }
+
+    @Test
+    void rejeitaTokenAlterado() {
+        String token = service.assinar(service.emitir(42, false));
+        // payload de outro usuário, admin, com a assinatura original
+        String outroCorpo = service.assinar(service.emitir(1, true)).split("\\.")[0];
+        assertFalse(service.validar(outroCorpo + token.substring(token.indexOf('.'))).isPresent());
+        assertFalse(service.validar(token.substring(0, token.length() - 2) + "xx").isPresent());
+    }
+
+    @Test
+    void rejeitaTokenDeOutroSegredo() {
+        TokenService outro = new TokenService("outro-segredo", 60);
+        assertFalse(service.validar(outro.assinar(outro.emitir(42, false))).isPresent());
+    }
+
+    @Test
+    void rejeitaTokenExpirado() {
+        long agora = System.currentTimeMillis();
+        SessaoToken vencida = new SessaoToken(42, false, agora - 120_000, agora - 60_000, "jti");
+        assertFalse(service.validar(service.assinar(vencida)).isPresent());
+    }
+
+    @Test
+    void rejeitaTokenMalformado() {
+        assertFalse(service.validar(null).isPresent());
+        assertFalse(service.validar("").isPresent());
+        assertFalse(service.validar("semponto").isPresent());
+        assertFalse(service.validar(".assinatura").isPresent());
+        assertFalse(service.validar("corpo.").isPresent());
+        assertFalse(service.validar("%%%.%%%").isPresent());
+    }
+
+    @Test
+    void revogaUmTokenSemAfetarOsOutros() {
+        SessaoToken logout = service.emitir(42, false);
+        SessaoToken outraAba = service.emitir(42, false);
+        service.revogar(logout);
+        assertFalse(service.validar(service.assinar(logout)).isPresent());
+        assertTrue(service.validar(service.assinar(outraAba)).isPresent());
+    }
+
+    @Test
+    void revogaTodosOsTokensDoUsuario() {
+        String primeiro = service.assinar(service.emitir(42, false));
+        String segundo = service.assinar(service.emitir(42, false));
+        String deOutro = service.assinar(service.emitir(7, false));
+        service.revogarUsuario(42);
+        assertFalse(service.validar(primeiro).isPresent());
+        assertFalse(service.validar(segundo).isPresent());
+        assertTrue(service.validar(deOutro).isPresent());
+    }
+}
@@ -0,0 +1,100 @@
+package br.edu.senac.boraroleta.service.sincronizacao;
+
+import br.edu.senac.boraroleta.dto.AlteracoesCatalogoDTO;
+import br.edu.senac.boraroleta.dto.EstabelecimentoDTO;
+import br.edu.senac.boraroleta.dto.EstabelecimentoRespostaDTO;
+import br.edu.senac.boraroleta.exception.BusinessException;
+import br.edu.senac.boraroleta.model.Estabelecimento;
+import br.edu.senac.boraroleta.service.EstabelecimentoService;
+import br.edu.senac.boraroleta.service.Paginacao;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class AlteracoesCatalogoTests {
+
+    @Autowired
+    private EstabelecimentoService service;
+
+    @Test
+    void sincronizacaoDevolveSoAsAlteracoesDesdeOToken() {
+        String token = sincronizarTudo();
+
+        Estabelecimento alterado = service.criar(dto("Delta Alterado"));
+        Estabelecimento removido = service.criar(dto("Delta Removido"));
+        Estabelecimento antigo = service.criar(dto("Delta Antigo"));
+        token = sincronizar(token).getToken();
+
+        service.atualizar(alterado.getId(), dto("Delta Alterado 2"));
+        service.deletar(removido.getId());
+
+        AlteracoesCatalogoDTO delta = sincronizar(token);
+        assertFalse(delta.isReiniciar());
+        assertEquals(List.of(alterado.getId()), ids(delta.getAlterados()));
+        assertEquals("Delta Alterado 2", delta.getAlterados().get(0).getNome());
+        assertEquals(List.of(removido.getId()), delta.getRemovidos());
+        assertFalse(ids(delta.getAlterados()).contains(antigo.getId()));
+
+        // nada mudou desde o último token
+        AlteracoesCatalogoDTO vazio = sincronizar(delta.getToken());
+        assertTrue(vazio.getAlterados().isEmpty());
+        assertTrue(vazio.getRemovidos().isEmpty());
+        assertEquals(delta.getToken(), vazio.getToken());
+    }
+
+    @Test
+    void sincronizacaoPaginadaNaoPerdeAlteracoes() {
+        String token = sincronizarTudo();
+        Estabelecimento primeiro = service.criar(dto("Lote 1"));
+        Estabelecimento segundo = service.criar(dto("Lote 2"));
+        Estabelecimento terceiro = service.criar(dto("Lote 3"));
+
+        AlteracoesCatalogoDTO pagina = service.listarAlteracoes(token, 2);
+        assertTrue(pagina.isMaisPaginas());
+        assertEquals(List.of(primeiro.getId(), segundo.getId()), ids(pagina.getAlterados()));
+
+        pagina = service.listarAlteracoes(pagina.getToken(), 2);
+        assertFalse(pagina.isMaisPaginas());
+        assertEquals(List.of(terceiro.getId()), ids(pagina.getAlterados()));
+    }
+
+    @Test
+    void tokenDoFuturoPedeCargaCompleta() {
+        // token de outro banco (ex.: restaurado de backup) à frente do contador
+        AlteracoesCatalogoDTO pagina = service.listarAlteracoes("zzzzzzzz", 10);
+        assertTrue(pagina.isReiniciar());
+        assertThrows(BusinessException.class, () -> service.listarAlteracoes("???", 10));
+    }
+
+    private String sincronizarTudo() {
+        AlteracoesCatalogoDTO pagina = service.listarAlteracoes(null, Paginacao.LIMITE_MAXIMO);
+        while (pagina.isMaisPaginas()) {
+            pagina = service.listarAlteracoes(pagina.getToken(), Paginacao.LIMITE_MAXIMO);
+        }
+        return pagina.getToken();
+    }
+
+    private AlteracoesCatalogoDTO sincronizar(String token) {
+        AlteracoesCatalogoDTO pagina = service.listarAlteracoes(token, Paginacao.LIMITE_MAXIMO);
+        assertFalse(pagina.isMaisPaginas());
+        return pagina;
+    }
+
+    private static List<Long> ids(List<EstabelecimentoRespostaDTO> lista) {
+        return lista.stream().map(EstabelecimentoRespostaDTO::getId).toList();
+    }
+
+    private static EstabelecimentoDTO dto(String nome) {
+        return new EstabelecimentoDTO(nome, "bar", "Rua A, 1", -23.5, -46.6);
+    }
+}
@@ -0,0 +1,65 @@
+package br.edu.senac.boraroleta.service.snapshot;
+
+import br.edu.senac.boraroleta.dto.EstabelecimentoDTO;
+import br.edu.senac.boraroleta.service.EstabelecimentoService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Predicate;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class CatalogoSnapshotTests {
+
+    @Autowired
+    private CatalogoSnapshot catalogoSnapshot;
+
+    @Autowired
+    private EstabelecimentoService service;
+
+    @Test
+    void escritaReconstroiOSnapshotComNovaVersao() throws Exception {
+        CatalogoSnapshot.Snapshot antes = aguardar(s -> true);
+        service.criar(new EstabelecimentoDTO("Snapshot Novo", "bar", "Rua S, 1", -12.0, -38.0));
+
+        CatalogoSnapshot.Snapshot depois = aguardar(s -> s.versao() > antes.versao());
+        String json = new String(depois.json(), StandardCharsets.UTF_8);
+        assertTrue(json.startsWith("[") && json.contains("\"Snapshot Novo\""));
+        assertArrayEquals(depois.json(), descomprimir(depois.gzip()));
+
+        String tag = Long.toString(depois.versao(), 36);
+        assertEquals("\"s" + tag + "\"", depois.etagJson());
+        assertEquals("\"s" + tag + "-gz\"", depois.etagGzip());
+    }
+
+    private CatalogoSnapshot.Snapshot aguardar(Predicate<CatalogoSnapshot.Snapshot> condicao)
+            throws InterruptedException {
+        long limite = System.currentTimeMillis() + 10_000;
+        while (System.currentTimeMillis() < limite) {
+            CatalogoSnapshot.Snapshot atual = catalogoSnapshot.atual();
+            if (atual != null && condicao.test(atual)) {
+                return atual;
+            }
+            Thread.sleep(50);
+        }
+        return fail("Snapshot não foi montado a tempo");
+    }
+
+    private static byte[] descomprimir(byte[] gzip) throws IOException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip))) {
+            return in.readAllBytes();
+        }
+    }
+}
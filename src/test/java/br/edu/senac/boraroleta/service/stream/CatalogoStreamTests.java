@@ -0,0 +1,129 @@
+package br.edu.senac.boraroleta.service.stream;
+
+import br.edu.senac.boraroleta.dto.EstabelecimentoDTO;
+import br.edu.senac.boraroleta.model.Estabelecimento;
+import br.edu.senac.boraroleta.service.EstabelecimentoAlteradoEvent;
+import br.edu.senac.boraroleta.service.EstabelecimentoService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.concurrent.locks.Lock;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * Feed SSE com fila de uma mensagem por assinante: basta uma mensagem
+ * parada na fila para a seguinte derrubar a conexão.
+ */
+@SpringBootTest(properties = "catalogo.stream.buffer=1")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CatalogoStreamTests {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private CatalogoStream stream;
+
+    @Autowired
+    private EstabelecimentoService service;
+
+    @Test
+    void entregaSoOQueCasaComCategoriaERetangulo() throws Exception {
+        MvcResult assinatura = assinar("/api/estabelecimentos/stream?categorias=Stream-Bar&bbox=-5.1,-35.1,-4.9,-34.9");
+        try {
+            aguardar(assinatura, "event:conectado");
+            service.criar(dto("Fora da Categoria", "stream-cafe", -5.0, -35.0));
+            service.criar(dto("Fora do Retangulo", "stream-bar", -6.0, -35.0));
+            Estabelecimento dentro = service.criar(dto("Dentro", "STREAM-BAR", -5.0, -35.0));
+
+            String eventos = aguardar(assinatura, "\"id\":" + dentro.getId());
+            assertTrue(eventos.contains("event:criado"));
+            assertFalse(eventos.contains("Fora da Categoria"));
+            assertFalse(eventos.contains("Fora do Retangulo"));
+        } finally {
+            assinatura.getRequest().getAsyncContext().complete();
+        }
+    }
+
+    @Test
+    void trocaDeCategoriaChegaComoRemovido() throws Exception {
+        Estabelecimento e = service.criar(dto("Muda de Categoria", "stream-pub", -7.0, -37.0));
+        MvcResult pub = assinar("/api/estabelecimentos/stream?categorias=stream-pub");
+        MvcResult todas = assinar("/api/estabelecimentos/stream?bbox=-7.1,-37.1,-6.9,-36.9");
+        try {
+            aguardar(pub, "event:conectado");
+            aguardar(todas, "event:conectado");
+            service.atualizar(e.getId(), dto("Muda de Categoria", "stream-lanchonete", -7.0, -37.0));
+
+            String paraPub = aguardar(pub, "event:removido");
+            assertTrue(paraPub.contains("{\"id\":" + e.getId() + "}"));
+            assertFalse(paraPub.contains("event:atualizado"));
+            // quem não filtra categoria continua vendo o estabelecimento
+            String paraTodas = aguardar(todas, "event:atualizado");
+            assertTrue(paraTodas.contains("stream-lanchonete"));
+            assertFalse(paraTodas.contains("event:removido"));
+        } finally {
+            pub.getRequest().getAsyncContext().complete();
+            todas.getRequest().getAsyncContext().complete();
+        }
+    }
+
+    @Test
+    void assinanteLentoComAFilaCheiaEDesconectado() throws Exception {
+        int antes = stream.getAssinantes();
+        SseEmitter emitter = stream.assinar(null, null);
+        assertEquals(antes + 1, stream.getAssinantes());
+
+        // segura a escrita no emitter: a thread de envio para no send() e a fila não esvazia
+        Lock escrita = (Lock) ReflectionTestUtils.getField(emitter, "writeLock");
+        escrita.lock();
+        try {
+            Estabelecimento e = new Estabelecimento();
+            e.setId(-1L);
+            e.setNome("Lento");
+            e.setCategoria("stream-lento");
+            e.setLatitude(-8.0);
+            e.setLongitude(-38.0);
+            for (int i = 0; i < 3 && stream.getAssinantes() > antes; i++) {
+                stream.aoAlterar(new EstabelecimentoAlteradoEvent(EstabelecimentoAlteradoEvent.Tipo.ATUALIZADO, e));
+            }
+            assertEquals(antes, stream.getAssinantes());
+        } finally {
+            escrita.unlock();
+        }
+    }
+
+    private MvcResult assinar(String url) throws Exception {
+        return mvc.perform(get(url)).andExpect(request().asyncStarted()).andReturn();
+    }
+
+    private static String aguardar(MvcResult assinatura, String trecho) throws Exception {
+        long limite = System.currentTimeMillis() + 5_000;
+        while (System.currentTimeMillis() < limite) {
+            String eventos = assinatura.getResponse().getContentAsString();
+            if (eventos.contains(trecho)) {
+                return eventos;
+            }
+            Thread.sleep(20);
+        }
+        return fail("Evento não chegou: " + trecho + " em " + assinatura.getResponse().getContentAsString());
+    }
+
+    private static EstabelecimentoDTO dto(String nome, String categoria, double lat, double lng) {
+        return new EstabelecimentoDTO(nome, categoria, "Rua Stream, 1", lat, lng);
+    }
+}